@@ -781,6 +781,17 @@ public interface Graph<V, E> extends Weighted, Labeled<V, E> {
      */
     boolean isSafeMode();
 
+    /**
+     * Returns a counter that is incremented whenever the structure of the
+     * graph or the weights of its edges are modified: adding or removing
+     * vertices and edges, renumbering the vertices or setting edge weights.
+     * Algorithms that store results computed for this graph can use it in
+     * order to detect that their results are no longer valid.
+     *
+     * @return the number of modifications performed on this graph.
+     */
+    long modificationCount();
+
     /**
      * Sets the maximum number of numerical values that can be stored on edges.
      * Each such value must have an index corresponding to a number between 0
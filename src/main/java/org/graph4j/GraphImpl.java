@@ -78,6 +78,7 @@ class GraphImpl<V, E> implements Graph<V, E> {
     protected static final int DEFAULT_AVG_DEGREE = 10;
     //
     protected boolean safeMode = true;
+    protected long modCount; //the number of structural or weight modifications
 
     protected GraphImpl() {
     }
@@ -337,6 +338,7 @@ class GraphImpl<V, E> implements Graph<V, E> {
             }
         }
         resetCache();
+        modCount++;
     }
 
     private void resetCache() {
@@ -442,6 +444,7 @@ class GraphImpl<V, E> implements Graph<V, E> {
             maxVertexNumber = v;
         }
         //adjListMatrix = null;
+        modCount++;
         return numVertices++;
     }
 
@@ -460,6 +463,7 @@ class GraphImpl<V, E> implements Graph<V, E> {
         swapVertexWithLast(vi);
         numVertices--;
         maxVertexNumber = null;
+        modCount++;
         //
         if (vertexIndex == null) {
             initVertexIndex();
@@ -602,6 +606,7 @@ class GraphImpl<V, E> implements Graph<V, E> {
             }
         }
         numEdges++;
+        modCount++;
         return posuv;
     }
 
@@ -662,6 +667,7 @@ class GraphImpl<V, E> implements Graph<V, E> {
             }
         }
         numEdges--;
+        modCount++;
         //adjListMatrix = null;
     }
 
@@ -689,6 +695,7 @@ class GraphImpl<V, E> implements Graph<V, E> {
         }
         numEdges -= degree[vi];
         degree[vi] = 0; //bulk
+        modCount++;
     }
 
     //Removes u from the adjacency list of v        
@@ -706,7 +713,9 @@ class GraphImpl<V, E> implements Graph<V, E> {
             }
         }
         if (adjMap != null && adjMap[vi] != null) {
-            if (!allowingMultipleEdges || multiplicity(v, u) == 0) {
+            if (allowingMultipleEdges) {
+                adjMap[vi] = null; //the positions of the parallel edges changed, rebuilt when needed
+            } else {
                 adjMap[vi].remove(u);
             }
         }
@@ -724,6 +733,9 @@ class GraphImpl<V, E> implements Graph<V, E> {
             adjPos[vi][pos] = adjPos[vi][lastPos];
         }    
         onAdjListPosChange(vi, wi, pos); //override for directed
+        if (adjMap != null && adjMap[vi] != null) {
+            adjMap[vi].add(w, pos);
+        }
         
         if (edgeData != null) {
             for (int k = 0; k < edgeData.length; k++) {
@@ -983,6 +995,9 @@ class GraphImpl<V, E> implements Graph<V, E> {
                 edgeData[dataType][i][pos] = value;
             }
         }
+        if (dataType == WEIGHT) {
+            modCount++;
+        }
     }
 
     @Override
@@ -1039,6 +1054,9 @@ class GraphImpl<V, E> implements Graph<V, E> {
         int u = adjList[vi][pos];
         int ui = indexOf(u);
         edgeData[dataType][vi][pos] = value;
+        if (dataType == WEIGHT) {
+            modCount++;
+        }
         if (v != u && !directed) {
             edgeData[dataType][ui][adjPos[vi][pos]] = value;
         }
@@ -1230,6 +1248,11 @@ class GraphImpl<V, E> implements Graph<V, E> {
         return allowingSelfLoops;
     }
 
+    @Override
+    public long modificationCount() {
+        return modCount;
+    }
+
     @Override
     public boolean isSafeMode() {
         return safeMode;
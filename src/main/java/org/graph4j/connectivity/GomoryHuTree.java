@@ -0,0 +1,399 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.connectivity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.GraphBuilder;
+import org.graph4j.Network;
+import static org.graph4j.Network.CAPACITY;
+import static org.graph4j.Network.FLOW;
+import org.graph4j.NetworkBuilder;
+import org.graph4j.flow.MaximumFlowAlgorithm;
+import org.graph4j.util.Validator;
+
+/**
+ * Gusfield's algorithm for computing the Gomory-Hu tree of an undirected
+ * graph. The Gomory-Hu tree has the same vertices as the graph, and for any
+ * two vertices s and t, the minimum weight edge on the tree path between them
+ * has the same weight as the minimum s-t cut in the graph; removing that edge
+ * from the tree splits the vertices into the two sides of the cut. The weights
+ * of the edges are the capacities, if the graph is not edge weighted all the
+ * capacities are 1.
+ *
+ * <p>
+ * The tree is created using n-1 maximum flow computations, without
+ * contracting the graph. Afterwards, the minimum cut value of any pair of
+ * vertices is determined in O(l) time, where l is the length of the tree path
+ * between them, and the sides of the cut are created only on demand.
+ *
+ * <p>
+ * The maximum flows are computed in parallel, each thread having its own copy
+ * of the network. The flow between a vertex and its current parent is
+ * computed speculatively, ahead of the sequential steps of the algorithm; if
+ * the parent changes before the result is used, the flow is computed again.
+ *
+ * D. Gusfield, "Very simple methods for all pairs network flow analysis", SIAM
+ * Journal on Computing, 1990.
+ *
+ * @see EdgeConnectivityAlgorithm
+ * @author Cristian Frăsinaru
+ */
+public class GomoryHuTree extends GraphAlgorithm {
+
+    private final int numThreads;
+    private int[] parent; //the index of the parent in the tree, -1 for the root
+    private double[] weight; //the weight of the edge between a vertex and its parent
+    private int[] depth;
+    private int[] firstChild;
+    private int[] nextSibling;
+
+    /**
+     * Creates an algorithm for computing the Gomory-Hu tree of a graph, using
+     * all the available processors.
+     *
+     * @param graph the input graph.
+     */
+    public GomoryHuTree(Graph graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an algorithm for computing the Gomory-Hu tree of a graph, using
+     * the specified number of threads for the maximum flow computations.
+     *
+     * @param graph the input graph.
+     * @param numThreads the number of threads.
+     */
+    public GomoryHuTree(Graph graph, int numThreads) {
+        super(graph);
+        Validator.requireUndirected(graph);
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.numThreads = numThreads;
+    }
+
+    /**
+     * Returns the weight of a minimum cut separating the source and the
+     * target, that is the maximum flow between them.
+     *
+     * @param source the source vertex number.
+     * @param target the target vertex number.
+     * @return the weight of a minimum cut separating the source and the
+     * target.
+     */
+    public double getMinimumCutValue(int source, int target) {
+        int ei = lightestEdge(source, target);
+        return weight[ei];
+    }
+
+    /**
+     * Returns a minimum cut separating the source and the target. The left
+     * side of the cut contains the source.
+     *
+     * @param source the source vertex number.
+     * @param target the target vertex number.
+     * @return a minimum cut separating the source and the target.
+     */
+    public EdgeCut getMinimumCut(int source, int target) {
+        int ei = lightestEdge(source, target);
+        return createCut(ei, graph.indexOf(source));
+    }
+
+    /**
+     * Returns a minimum cut of the graph, corresponding to the lightest edge
+     * of the Gomory-Hu tree.
+     *
+     * @return a minimum cut of the graph, or {@code null} if the graph has
+     * less than two vertices.
+     */
+    public EdgeCut getMinimumCut() {
+        compute();
+        int best = -1;
+        for (int vi = 0; vi < parent.length; vi++) {
+            if (parent[vi] >= 0 && (best < 0 || weight[vi] < weight[best])) {
+                best = vi;
+            }
+        }
+        return best < 0 ? null : createCut(best, best);
+    }
+
+    /**
+     * Creates the Gomory-Hu tree, as a weighted graph having the same vertices
+     * as the input graph.
+     *
+     * @return the Gomory-Hu tree.
+     */
+    public Graph getTree() {
+        compute();
+        var tree = GraphBuilder.verticesFrom(graph).buildGraph();
+        for (int vi = 0; vi < parent.length; vi++) {
+            if (parent[vi] >= 0) {
+                tree.addEdge(graph.vertexAt(vi), graph.vertexAt(parent[vi]), weight[vi]);
+            }
+        }
+        return tree;
+    }
+
+    //the index of the tree vertex whose parent edge is the lightest on the path
+    private int lightestEdge(int source, int target) {
+        Validator.containsVertex(graph, source);
+        Validator.containsVertex(graph, target);
+        if (source == target) {
+            throw new IllegalArgumentException(
+                    "The source and target vertices must be different.");
+        }
+        compute();
+        int vi = graph.indexOf(source);
+        int ui = graph.indexOf(target);
+        int best = -1;
+        while (vi != ui) {
+            if (depth[vi] < depth[ui]) {
+                int temp = vi;
+                vi = ui;
+                ui = temp;
+            }
+            if (best < 0 || weight[vi] < weight[best]) {
+                best = vi;
+            }
+            vi = parent[vi];
+        }
+        return best;
+    }
+
+    //the cut obtained by removing the edge between ei and its parent
+    private EdgeCut createCut(int ei, int si) {
+        int n = parent.length;
+        boolean[] below = new boolean[n];
+        int[] stack = new int[n];
+        int top = 0, count = 0;
+        stack[top++] = ei;
+        while (top > 0) {
+            int vi = stack[--top];
+            below[vi] = true;
+            count++;
+            for (int ci = firstChild[vi]; ci >= 0; ci = nextSibling[ci]) {
+                stack[top++] = ci;
+            }
+        }
+        boolean side = below[si];
+        int[] left = new int[side ? count : n - count];
+        int k = 0;
+        for (int vi = 0; vi < n; vi++) {
+            if (below[vi] == side) {
+                left[k++] = graph.vertexAt(vi);
+            }
+        }
+        return new EdgeCut(graph, left, weight[ei]);
+    }
+
+    private void compute() {
+        if (parent != null) {
+            return;
+        }
+        int n = graph.numVertices();
+        int[] p = new int[n];
+        double[] fl = new double[n];
+        if (n > 1) {
+            gusfield(p, fl);
+        }
+        if (n > 0) {
+            p[0] = -1;
+        }
+        //the tree structure
+        this.firstChild = new int[n];
+        this.nextSibling = new int[n];
+        this.depth = new int[n];
+        Arrays.fill(firstChild, -1);
+        for (int vi = 1; vi < n; vi++) {
+            nextSibling[vi] = firstChild[p[vi]];
+            firstChild[p[vi]] = vi;
+        }
+        int[] stack = new int[n];
+        int top = 0;
+        if (n > 0) {
+            stack[top++] = 0;
+        }
+        while (top > 0) {
+            int vi = stack[--top];
+            for (int ci = firstChild[vi]; ci >= 0; ci = nextSibling[ci]) {
+                depth[ci] = depth[vi] + 1;
+                stack[top++] = ci;
+            }
+        }
+        this.weight = fl;
+        this.parent = p;
+    }
+
+    private void gusfield(int[] p, double[] fl) {
+        int n = p.length;
+        var network = createNetwork();
+        int numWorkers = Math.min(numThreads, n - 1);
+        Worker[] workers = new Worker[numWorkers];
+        workers[0] = new Worker(network);
+        for (int w = 1; w < numWorkers; w++) {
+            workers[w] = new Worker(network.copy());
+        }
+        //p[0] = 0, so the root never changes
+        Cut[] batch = new Cut[numWorkers];
+        for (int s = 1; s < n; s += numWorkers) {
+            int from = s;
+            int size = Math.min(numWorkers, n - s);
+            if (size == 1) {
+                batch[0] = workers[0].cut(s, p[s]);
+            } else {
+                var next = new AtomicInteger();
+                List<Callable<Object>> tasks = new ArrayList<>();
+                for (int w = 0; w < size; w++) {
+                    var worker = workers[w];
+                    tasks.add(() -> {
+                        int i;
+                        while ((i = next.getAndIncrement()) < size) {
+                            batch[i] = worker.cut(from + i, p[from + i]);
+                        }
+                        return null;
+                    });
+                }
+                invokeAll(tasks);
+            }
+            for (int i = 0; i < size; i++) {
+                int si = from + i;
+                var cut = batch[i];
+                if (cut.target != p[si]) {
+                    //the parent has changed after the speculative computation
+                    cut = workers[0].cut(si, p[si]);
+                }
+                int ti = cut.target;
+                fl[si] = cut.value;
+                boolean[] side = cut.side;
+                for (int vi = 0; vi < n; vi++) {
+                    if (vi != si && side[vi] && p[vi] == ti) {
+                        p[vi] = si;
+                    }
+                }
+                if (side[p[ti]]) {
+                    p[si] = p[ti];
+                    p[ti] = si;
+                    fl[si] = fl[ti];
+                    fl[ti] = cut.value;
+                }
+            }
+        }
+    }
+
+    //the capacities are the edge weights, parallel edges are merged
+    private Network createNetwork() {
+        Network network = NetworkBuilder.verticesFrom(graph).buildNetwork();
+        network.setSafeMode(false);
+        for (int v : graph.vertices()) {
+            for (var it = graph.neighborIterator(v); it.hasNext();) {
+                int u = it.next();
+                if (u == v) {
+                    continue;
+                }
+                double capacity = it.getEdgeWeight();
+                if (network.containsEdge(v, u)) {
+                    capacity += network.getEdgeData(CAPACITY, v, u);
+                    network.setEdgeData(CAPACITY, v, u, capacity);
+                } else {
+                    network.addEdge(v, u, capacity);
+                }
+            }
+        }
+        return network;
+    }
+
+    private void invokeAll(List<Callable<Object>> tasks) {
+        try {
+            for (Future<?> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    //a minimum cut between two vertices, given by their indices
+    private static class Cut {
+
+        final int target;
+        final double value;
+        final boolean[] side; //the vertices on the source side
+
+        Cut(int target, double value, boolean[] side) {
+            this.target = target;
+            this.value = value;
+            this.side = side;
+        }
+    }
+
+    //computes maximum flows on its own copy of the network
+    private class Worker {
+
+        final Network network;
+        final int[] queue;
+
+        Worker(Network network) {
+            this.network = network;
+            this.queue = new int[network.numVertices()];
+        }
+
+        Cut cut(int si, int ti) {
+            network.setSource(graph.vertexAt(si));
+            network.setSink(graph.vertexAt(ti));
+            network.resetEdgeData(FLOW, 0);
+            double value = MaximumFlowAlgorithm.getInstance(network).getMaximumFlowValue();
+            //the vertices reachable from the source in the residual network
+            boolean[] side = new boolean[queue.length];
+            int head = 0, tail = 0;
+            queue[tail++] = si;
+            side[si] = true;
+            while (head < tail) {
+                int v = network.vertexAt(queue[head++]);
+                for (var it = network.successorIterator(v); it.hasNext();) {
+                    int ui = network.indexOf(it.next());
+                    if (!side[ui] && it.getEdgeData(FLOW) < it.getEdgeData(CAPACITY)) {
+                        side[ui] = true;
+                        queue[tail++] = ui;
+                    }
+                }
+                for (var it = network.predecessorIterator(v); it.hasNext();) {
+                    int ui = network.indexOf(it.next());
+                    if (!side[ui] && it.getEdgeData(FLOW) > 0) {
+                        side[ui] = true;
+                        queue[tail++] = ui;
+                    }
+                }
+            }
+            return new Cut(ti, value, side);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.connectivity;
+
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.UnionFind;
+import org.graph4j.util.Validator;
+
+/**
+ * Maintains the connected components of a graph while it is modified, using a
+ * {@link UnionFind} structure over the vertex indices. In case of directed
+ * graphs, the weakly connected components are maintained.
+ *
+ * <p>
+ * The graph should be modified using the methods of this class:
+ * {@link #addVertex()}, {@link #addVertex(int)} and
+ * {@link #addEdge(int, int)} update the components in almost constant time.
+ * The queries ({@link #isConnected(int, int)}, {@link #numComponents()},
+ * {@link #componentSize(int)}) also take almost constant time.
+ *
+ * <p>
+ * Deletions are also supported, by rebuilding the structure:
+ * {@link #removeEdge(int, int)} and {@link #removeVertex(int)} only mark the
+ * components as invalid, and they are recomputed in O(|V| + |E|) time before
+ * the next query. A batch of deletions triggers a single rebuild. The
+ * modifications of the graph made directly, bypassing this class, are
+ * detected using {@link Graph#modificationCount()} and they also trigger a
+ * rebuild.
+ *
+ * @see ConnectivityAlgorithm
+ * @author Cristian Frăsinaru
+ */
+public class IncrementalConnectivity extends GraphAlgorithm {
+
+    private UnionFind uf;
+    private long expectedModCount;
+    private int numRebuilds;
+
+    /**
+     * Creates a structure maintaining the connected components of a graph.
+     *
+     * @param graph the input graph.
+     */
+    public IncrementalConnectivity(Graph graph) {
+        super(graph);
+        rebuild();
+    }
+
+    /**
+     * Adds a new vertex to the graph, as a new connected component.
+     *
+     * @return the number of the added vertex.
+     * @see Graph#addVertex()
+     */
+    public int addVertex() {
+        boolean valid = isValid();
+        int v = graph.addVertex();
+        addedVertex(valid);
+        return v;
+    }
+
+    /**
+     * Adds a new vertex to the graph, having a specified number, as a new
+     * connected component.
+     *
+     * @param v a vertex number that does not exist in the graph.
+     * @return the index of the added vertex.
+     * @see Graph#addVertex(int)
+     */
+    public int addVertex(int v) {
+        boolean valid = isValid();
+        int vi = graph.addVertex(v);
+        addedVertex(valid);
+        return vi;
+    }
+
+    private void addedVertex(boolean valid) {
+        if (valid) {
+            uf.add();
+            expectedModCount = graph.modificationCount();
+        }
+    }
+
+    /**
+     * Adds an edge to the graph, merging the components of its endpoints.
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     * @return the position of {@code u} in the adjacency list of {@code v} if
+     * the edge was added, or {@code -1} if the edge was not added.
+     * @see Graph#addEdge(int, int)
+     */
+    public int addEdge(int v, int u) {
+        boolean valid = isValid();
+        int pos = graph.addEdge(v, u);
+        if (valid) {
+            union(graph.indexOf(v), graph.indexOf(u));
+            expectedModCount = graph.modificationCount();
+        }
+        return pos;
+    }
+
+    /**
+     * Removes an edge from the graph. The components are recomputed before
+     * the next query.
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     * @see Graph#removeEdge(int, int)
+     */
+    public void removeEdge(int v, int u) {
+        graph.removeEdge(v, u);
+    }
+
+    /**
+     * Removes a vertex from the graph. The components are recomputed before
+     * the next query.
+     *
+     * @param v a vertex number.
+     * @see Graph#removeVertex(int)
+     */
+    public void removeVertex(int v) {
+        graph.removeVertex(v);
+    }
+
+    private boolean isValid() {
+        return expectedModCount == graph.modificationCount();
+    }
+
+    private void union(int vi, int ui) {
+        int root1 = uf.find(vi);
+        int root2 = uf.find(ui);
+        if (root1 != root2) {
+            uf.union(root1, root2);
+        }
+    }
+
+    //recomputes the components from scratch
+    private void rebuild() {
+        int n = graph.numVertices();
+        this.uf = new UnionFind(n);
+        for (int vi = 0; vi < n; vi++) {
+            for (int u : graph.neighbors(graph.vertexAt(vi))) {
+                int ui = graph.indexOf(u);
+                if (ui > vi || directed) {
+                    union(vi, ui);
+                }
+            }
+        }
+        expectedModCount = graph.modificationCount();
+        numRebuilds++;
+    }
+
+    private void update() {
+        if (!isValid()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Determines if there is a path from v to u in the graph (ignoring the
+     * direction of the edges, in case of directed graphs).
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     * @return {@code true} if v and u are in the same connected component.
+     */
+    public boolean isConnected(int v, int u) {
+        Validator.containsVertex(graph, v);
+        Validator.containsVertex(graph, u);
+        update();
+        return uf.find(graph.indexOf(v)) == uf.find(graph.indexOf(u));
+    }
+
+    /**
+     *
+     * @return {@code true} if the graph is connected.
+     */
+    public boolean isConnected() {
+        update();
+        return uf.numSets() <= 1;
+    }
+
+    /**
+     *
+     * @return the number of connected components.
+     */
+    public int numComponents() {
+        update();
+        return uf.numSets();
+    }
+
+    /**
+     * Returns the number of vertices in the connected component of a vertex.
+     *
+     * @param v a vertex number.
+     * @return the size of the connected component containing v.
+     */
+    public int componentSize(int v) {
+        Validator.containsVertex(graph, v);
+        update();
+        return uf.size(graph.indexOf(v));
+    }
+
+    /**
+     * Returns an identifier of the connected component of a vertex. Two
+     * vertices are in the same component if and only if they have the same
+     * identifier. The identifiers may change after the graph is modified.
+     *
+     * @param v a vertex number.
+     * @return the identifier of the connected component containing v.
+     */
+    public int componentOf(int v) {
+        Validator.containsVertex(graph, v);
+        update();
+        return uf.find(graph.indexOf(v));
+    }
+
+    /**
+     *
+     * @return the number of times the components were recomputed from
+     * scratch, including the initial computation.
+     */
+    public int numRebuilds() {
+        return numRebuilds;
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.connectivity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.AdjacencyArrays;
+import org.graph4j.util.Validator;
+import org.graph4j.util.VertexSet;
+
+/**
+ * Determines the connected components of a graph in parallel, using the
+ * Afforest algorithm. In case of directed graphs, the weakly connected
+ * components are determined.
+ *
+ * <p>
+ * The components are maintained as a lock-free union-find structure: each
+ * vertex points to another vertex in its component, the roots pointing to
+ * themselves, and two trees are linked by atomically setting the parent of the
+ * root with the larger index. First, each vertex is linked only with its first
+ * two neighbors, which, in most graphs, is enough to create a giant component.
+ * The largest component is then approximated by sampling, and the remaining
+ * edges are processed only for the vertices outside of it. The vertices are
+ * processed in chunks, by a number of workers running in the common fork-join
+ * pool.
+ *
+ * <p>
+ * The components are numbered in the increasing order of the smallest index
+ * of their vertices, so the connected sets are created in the same order as
+ * the ones of {@link ConnectivityAlgorithm}.
+ *
+ * M. Sutton, T. Ben-Nun, A. Barak, "Optimizing Parallel Graph Connectivity
+ * Computation via Subgraph Sampling", IPDPS 2018.
+ *
+ * @see ConnectivityAlgorithm
+ * @author Cristian Frăsinaru
+ */
+public class ParallelConnectivityAlgorithm extends GraphAlgorithm {
+
+    private static final int NEIGHBOR_ROUNDS = 2;
+    private static final int NUM_SAMPLES = 1024;
+    private static final int CHUNK_SIZE = 4096;
+    private final int numThreads;
+    private AtomicIntegerArray parent;
+    private int[] vertexComp;
+    private int numComponents;
+    private List<VertexSet> connectedSets;
+
+    /**
+     * Creates an algorithm using all the available processors.
+     *
+     * @param graph the input graph.
+     */
+    public ParallelConnectivityAlgorithm(Graph graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an algorithm using the specified number of threads.
+     *
+     * @param graph the input graph.
+     * @param numThreads the number of threads.
+     */
+    public ParallelConnectivityAlgorithm(Graph graph, int numThreads) {
+        super(graph);
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.numThreads = numThreads;
+    }
+
+    private void compute() {
+        int n = graph.numVertices();
+        var succ = AdjacencyArrays.successors(graph);
+        int[] offsets = succ.offsets();
+        int[] targets = succ.targets();
+        this.parent = new AtomicIntegerArray(n);
+        parallel(n, vi -> parent.set(vi, vi));
+        //link each vertex with its first neighbors
+        for (int r = 0; r < NEIGHBOR_ROUNDS; r++) {
+            final int round = r;
+            parallel(n, vi -> {
+                if (offsets[vi] + round < offsets[vi + 1]) {
+                    link(vi, targets[offsets[vi] + round]);
+                }
+            });
+            parallel(n, this::compress);
+        }
+        //the edges of the vertices outside the largest component
+        //in case of directed graphs, an edge may be seen only from its source
+        int largest = directed ? -1 : sampleFrequentRoot(n);
+        parallel(n, vi -> {
+            if (parent.get(vi) == largest) {
+                return;
+            }
+            for (int p = offsets[vi] + NEIGHBOR_ROUNDS, end = offsets[vi + 1]; p < end; p++) {
+                link(vi, targets[p]);
+            }
+        });
+        parallel(n, this::compress);
+        //number the components
+        this.vertexComp = new int[n];
+        int[] rootComp = new int[n];
+        numComponents = 0;
+        for (int vi = 0; vi < n; vi++) {
+            int root = parent.get(vi);
+            if (root == vi) {
+                rootComp[vi] = numComponents++;
+            }
+            vertexComp[vi] = rootComp[root];
+        }
+        this.parent = null;
+    }
+
+    //links the trees containing vi and ui
+    private void link(int vi, int ui) {
+        int p1 = parent.get(vi);
+        int p2 = parent.get(ui);
+        while (p1 != p2) {
+            int high = Math.max(p1, p2);
+            int low = Math.min(p1, p2);
+            int pHigh = parent.get(high);
+            if (pHigh == low) {
+                break;
+            }
+            if (pHigh == high && parent.compareAndSet(high, high, low)) {
+                break;
+            }
+            p1 = parent.get(parent.get(high));
+            p2 = parent.get(low);
+        }
+    }
+
+    //makes vi point directly to its root
+    private void compress(int vi) {
+        while (parent.get(vi) != parent.get(parent.get(vi))) {
+            parent.set(vi, parent.get(parent.get(vi)));
+        }
+    }
+
+    private int sampleFrequentRoot(int n) {
+        if (n == 0) {
+            return -1;
+        }
+        var rnd = new SplittableRandom(n);
+        var counts = new HashMap<Integer, Integer>();
+        int best = -1, bestCount = 0;
+        for (int i = 0; i < NUM_SAMPLES; i++) {
+            int root = parent.get(rnd.nextInt(n));
+            int count = counts.merge(root, 1, Integer::sum);
+            if (count > bestCount) {
+                bestCount = count;
+                best = root;
+            }
+        }
+        return best;
+    }
+
+    //performs the action for all vertex indices, in parallel
+    private void parallel(int n, IntConsumer action) {
+        int numChunks = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int numTasks = Math.min(numThreads, numChunks);
+        if (numTasks <= 1) {
+            for (int vi = 0; vi < n; vi++) {
+                action.accept(vi);
+            }
+            return;
+        }
+        var next = new AtomicInteger();
+        List<Callable<Object>> tasks = new ArrayList<>(numTasks);
+        for (int t = 0; t < numTasks; t++) {
+            tasks.add(() -> {
+                int from;
+                while ((from = next.getAndAdd(CHUNK_SIZE)) < n) {
+                    for (int vi = from, to = Math.min(from + CHUNK_SIZE, n); vi < to; vi++) {
+                        action.accept(vi);
+                    }
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<?> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the component of each vertex. The components are numbered from
+     * 0 to {@code numComponents() - 1}.
+     *
+     * @return the components of the vertices, indexed by vertex indices.
+     */
+    public int[] getVertexComponents() {
+        if (vertexComp == null) {
+            compute();
+        }
+        return vertexComp;
+    }
+
+    /**
+     *
+     * @return the number of connected components.
+     */
+    public int countConnectedComponents() {
+        getVertexComponents();
+        return numComponents;
+    }
+
+    /**
+     * A graph is connected if there is a path from any vertex to any other
+     * vertex in the graph.
+     *
+     * @return {@code true} if the graph is connected.
+     */
+    public boolean isConnected() {
+        return countConnectedComponents() <= 1;
+    }
+
+    /**
+     * Determines if there is a path from v to u in the graph (ignoring the
+     * direction of the edges, in case of directed graphs).
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     * @return {@code true} if v and u are connected, {@code false} otherwise.
+     */
+    public boolean hasPath(int v, int u) {
+        Validator.containsVertex(graph, v);
+        Validator.containsVertex(graph, u);
+        int[] comp = getVertexComponents();
+        return comp[graph.indexOf(v)] == comp[graph.indexOf(u)];
+    }
+
+    /**
+     * Returns the vertex sets of the connected components, in the increasing
+     * order of the smallest index of their vertices.
+     *
+     * @return the list of the connected sets.
+     */
+    public List<VertexSet> getConnectedSets() {
+        if (connectedSets != null) {
+            return connectedSets;
+        }
+        int[] comp = getVertexComponents();
+        int[] size = new int[numComponents];
+        for (int c : comp) {
+            size[c]++;
+        }
+        VertexSet[] sets = new VertexSet[numComponents];
+        for (int c = 0; c < numComponents; c++) {
+            sets[c] = new VertexSet(graph, size[c]);
+        }
+        for (int vi = 0, n = comp.length; vi < n; vi++) {
+            sets[comp[vi]].add(graph.vertexAt(vi));
+        }
+        this.connectedSets = List.of(sets);
+        return connectedSets;
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.connectivity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+import org.graph4j.Digraph;
+import org.graph4j.util.AdjacencyArrays;
+
+/**
+ * Determines the strongly connected components of a digraph in parallel,
+ * using the method described by Hong et al. for small-world graphs, which
+ * usually contain one giant component and many trivial ones.
+ *
+ * <ol>
+ * <li>Trimming: the vertices without active predecessors or without active
+ * successors are trivial components; removing them may create new such
+ * vertices, so they are removed level by level, in parallel, using atomic
+ * degree counters.</li>
+ * <li>Forward-backward: the vertices both reachable from a pivot and reaching
+ * it form its component; the pivot is the vertex with the maximum product of
+ * its degrees, which is likely to belong to the giant component. The two
+ * searches are parallel breadth first searches.</li>
+ * <li>The remaining vertices are trimmed again and then partitioned in weakly
+ * connected sets, considering only the edges whose endpoints were both
+ * reached, or both not reached, by each of the two searches. No component can
+ * cross these sets, so they are searched independently, in parallel, using
+ * Pearce's algorithm.</li>
+ * </ol>
+ * The vertices are processed in chunks, by a number of workers running in the
+ * common fork-join pool. The components are numbered in an arbitrary order.
+ *
+ * S. Hong, N. C. Rodia, K. Olukotun, "On fast parallel detection of strongly
+ * connected components (SCC) in small-world graphs", SC 2013.
+ *
+ * @see PearceStrongConnectivity
+ * @author Cristian Frăsinaru
+ */
+public class ParallelStrongConnectivity extends StrongConnectivityBase {
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final int TRIVIAL = -2; //marks the trimmed vertices
+    private final int numThreads;
+    private int n;
+    private int[] succOffsets, succTargets;
+    private int[] predOffsets, predTargets;
+    private AtomicIntegerArray comp; //-1 for active vertices
+    private AtomicIntegerArray inDegree, outDegree;
+    private int[][] buffers;
+    private int[] bufferSize;
+
+    /**
+     * Creates an algorithm using all the available processors.
+     *
+     * @param digraph the input digraph.
+     */
+    public ParallelStrongConnectivity(Digraph digraph) {
+        this(digraph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an algorithm using the specified number of threads.
+     *
+     * @param digraph the input digraph.
+     * @param numThreads the number of threads.
+     */
+    public ParallelStrongConnectivity(Digraph digraph, int numThreads) {
+        super(digraph);
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.numThreads = numThreads;
+    }
+
+    @Override
+    protected void compute() {
+        this.n = graph.numVertices();
+        var succ = AdjacencyArrays.successors(graph);
+        var pred = succ.transpose();
+        succOffsets = succ.offsets();
+        succTargets = succ.targets();
+        predOffsets = pred.offsets();
+        predTargets = pred.targets();
+        comp = new AtomicIntegerArray(n);
+        inDegree = new AtomicIntegerArray(n);
+        outDegree = new AtomicIntegerArray(n);
+        buffers = new int[numThreads][16];
+        bufferSize = new int[numThreads];
+        parallel(n, vi -> comp.set(vi, -1));
+        var nextComp = new AtomicInteger();
+
+        trim();
+        int pivot = selectPivot();
+        if (pivot >= 0) {
+            //the component of the pivot
+            var fw = reach(pivot, succOffsets, succTargets);
+            var bw = reach(pivot, predOffsets, predTargets);
+            int pivotComp = nextComp.getAndIncrement();
+            parallel(n, vi -> {
+                if (fw[vi] && bw[vi]) {
+                    comp.set(vi, pivotComp);
+                }
+            });
+            trim();
+            searchRemaining(fw, bw, nextComp);
+        }
+        //the trivial components
+        vertexComp = new int[n];
+        int count = nextComp.get();
+        for (int vi = 0; vi < n; vi++) {
+            int c = comp.get(vi);
+            vertexComp[vi] = c == TRIVIAL ? count++ : c;
+        }
+        numComponents = count;
+        comp = inDegree = outDegree = null;
+        buffers = null;
+    }
+
+    //removes the vertices without active predecessors or active successors
+    private void trim() {
+        parallel(n, vi -> {
+            if (comp.get(vi) == -1) {
+                inDegree.set(vi, countActive(vi, predOffsets, predTargets));
+                outDegree.set(vi, countActive(vi, succOffsets, succTargets));
+            }
+        });
+        int[] frontier = new int[n];
+        int size = 0;
+        for (int vi = 0; vi < n; vi++) {
+            if (comp.get(vi) == -1 && (inDegree.get(vi) == 0 || outDegree.get(vi) == 0)) {
+                comp.set(vi, TRIVIAL);
+                frontier[size++] = vi;
+            }
+        }
+        int[] next = new int[n];
+        while (size > 0) {
+            int[] current = frontier;
+            int numVertices = size;
+            size = expand(numVertices, (worker, i) -> {
+                int vi = current[i];
+                for (int p = succOffsets[vi]; p < succOffsets[vi + 1]; p++) {
+                    int ui = succTargets[p];
+                    if (inDegree.decrementAndGet(ui) == 0 && comp.compareAndSet(ui, -1, TRIVIAL)) {
+                        add(worker, ui);
+                    }
+                }
+                for (int p = predOffsets[vi]; p < predOffsets[vi + 1]; p++) {
+                    int ui = predTargets[p];
+                    if (outDegree.decrementAndGet(ui) == 0 && comp.compareAndSet(ui, -1, TRIVIAL)) {
+                        add(worker, ui);
+                    }
+                }
+            }, next);
+            int[] temp = frontier;
+            frontier = next;
+            next = temp;
+        }
+    }
+
+    private int countActive(int vi, int[] offsets, int[] targets) {
+        int count = 0;
+        for (int p = offsets[vi]; p < offsets[vi + 1]; p++) {
+            if (comp.get(targets[p]) == -1) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int selectPivot() {
+        int pivot = -1;
+        long best = -1;
+        for (int vi = 0; vi < n; vi++) {
+            if (comp.get(vi) == -1) {
+                long product = (long) inDegree.get(vi) * outDegree.get(vi);
+                if (product > best) {
+                    best = product;
+                    pivot = vi;
+                }
+            }
+        }
+        return pivot;
+    }
+
+    //parallel BFS from the pivot, using only the active vertices
+    private boolean[] reach(int pivot, int[] offsets, int[] targets) {
+        var visited = new AtomicIntegerArray(n);
+        int[] frontier = new int[n];
+        int[] next = new int[n];
+        frontier[0] = pivot;
+        visited.set(pivot, 1);
+        int size = 1;
+        while (size > 0) {
+            int[] current = frontier;
+            size = expand(size, (worker, i) -> {
+                int vi = current[i];
+                for (int p = offsets[vi]; p < offsets[vi + 1]; p++) {
+                    int ui = targets[p];
+                    if (comp.get(ui) == -1 && visited.get(ui) == 0 && visited.compareAndSet(ui, 0, 1)) {
+                        add(worker, ui);
+                    }
+                }
+            }, next);
+            int[] temp = frontier;
+            frontier = next;
+            next = temp;
+        }
+        boolean[] result = new boolean[n];
+        parallel(n, vi -> result[vi] = visited.get(vi) == 1);
+        return result;
+    }
+
+    //partitions the remaining vertices and searches each set with Pearce's algorithm
+    private void searchRemaining(boolean[] fw, boolean[] bw, AtomicInteger nextComp) {
+        //weakly connected sets, using a lock-free union-find
+        var parent = new AtomicIntegerArray(n);
+        parallel(n, vi -> parent.set(vi, vi));
+        parallel(n, vi -> {
+            if (comp.get(vi) != -1) {
+                return;
+            }
+            for (int p = succOffsets[vi]; p < succOffsets[vi + 1]; p++) {
+                int ui = succTargets[p];
+                if (comp.get(ui) == -1 && fw[ui] == fw[vi] && bw[ui] == bw[vi]) {
+                    link(parent, vi, ui);
+                }
+            }
+        });
+        int[] group = new int[n];
+        parallel(n, vi -> {
+            int root = vi;
+            while (parent.get(root) != root) {
+                root = parent.get(root);
+            }
+            group[vi] = comp.get(vi) == -1 ? root : -1;
+        });
+        //the vertices, sorted by their groups
+        int[] start = new int[n + 1];
+        for (int vi = 0; vi < n; vi++) {
+            if (group[vi] >= 0) {
+                start[group[vi] + 1]++;
+            }
+        }
+        for (int vi = 0; vi < n; vi++) {
+            start[vi + 1] += start[vi];
+        }
+        int[] vertices = new int[start[n]];
+        int[] pos = Arrays.copyOf(start, n);
+        for (int vi = 0; vi < n; vi++) {
+            if (group[vi] >= 0) {
+                vertices[pos[group[vi]]++] = vi;
+            }
+        }
+        int[] roots = new int[n];
+        int count = 0;
+        for (int vi = 0; vi < n; vi++) {
+            if (start[vi + 1] > start[vi]) {
+                roots[count++] = vi;
+            }
+        }
+        int numGroups = count;
+        //the groups are searched in parallel, sharing the arrays indexed by vertices
+        int[] rindex = new int[n];
+        int[] nextPos = new int[n];
+        boolean[] isRoot = new boolean[n];
+        int numTasks = Math.min(numThreads, numGroups);
+        var nextGroup = new AtomicInteger();
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int t = 0; t < numTasks; t++) {
+            tasks.add(() -> {
+                var search = new PearceSearch(succOffsets, succTargets, rindex, nextPos, isRoot, group);
+                int g;
+                while ((g = nextGroup.getAndIncrement()) < numGroups) {
+                    int from = start[roots[g]], to = start[roots[g] + 1];
+                    int numFound = search.run(vertices, from, to);
+                    int base = nextComp.getAndAdd(numFound);
+                    for (int i = from; i < to; i++) {
+                        int vi = vertices[i];
+                        comp.set(vi, base + (to - from) - rindex[vi]);
+                    }
+                }
+                return null;
+            });
+        }
+        invokeAll(tasks);
+    }
+
+    private void link(AtomicIntegerArray parent, int vi, int ui) {
+        int p1 = parent.get(vi);
+        int p2 = parent.get(ui);
+        while (p1 != p2) {
+            int high = Math.max(p1, p2);
+            int low = Math.min(p1, p2);
+            int pHigh = parent.get(high);
+            if (pHigh == low) {
+                break;
+            }
+            if (pHigh == high && parent.compareAndSet(high, high, low)) {
+                break;
+            }
+            p1 = parent.get(parent.get(high));
+            p2 = parent.get(low);
+        }
+    }
+
+    //processes the positions of a frontier, collecting the next frontier
+    private interface FrontierAction {
+
+        void accept(int worker, int i);
+    }
+
+    private void add(int worker, int ui) {
+        int[] local = buffers[worker];
+        int size = bufferSize[worker];
+        if (size == local.length) {
+            local = buffers[worker] = Arrays.copyOf(local, 2 * size);
+        }
+        local[size] = ui;
+        bufferSize[worker] = size + 1;
+    }
+
+    private int expand(int size, FrontierAction action, int[] next) {
+        int numChunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int numTasks = Math.min(numThreads, numChunks);
+        var nextChunk = new AtomicInteger();
+        List<Callable<Object>> tasks = new ArrayList<>(numTasks);
+        for (int t = 0; t < numTasks; t++) {
+            final int worker = t;
+            bufferSize[worker] = 0;
+            tasks.add(() -> {
+                int c;
+                while ((c = nextChunk.getAndIncrement()) < numChunks) {
+                    for (int i = c * CHUNK_SIZE, end = Math.min(i + CHUNK_SIZE, size); i < end; i++) {
+                        action.accept(worker, i);
+                    }
+                }
+                return null;
+            });
+        }
+        invokeAll(tasks);
+        int total = 0;
+        for (int t = 0; t < numTasks; t++) {
+            System.arraycopy(buffers[t], 0, next, total, bufferSize[t]);
+            total += bufferSize[t];
+        }
+        return total;
+    }
+
+    //performs the action for all vertex indices, in parallel
+    private void parallel(int count, IntConsumer action) {
+        int numChunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int numTasks = Math.min(numThreads, numChunks);
+        var next = new AtomicInteger();
+        List<Callable<Object>> tasks = new ArrayList<>(numTasks);
+        for (int t = 0; t < numTasks; t++) {
+            tasks.add(() -> {
+                int from;
+                while ((from = next.getAndAdd(CHUNK_SIZE)) < count) {
+                    for (int vi = from, to = Math.min(from + CHUNK_SIZE, count); vi < to; vi++) {
+                        action.accept(vi);
+                    }
+                }
+                return null;
+            });
+        }
+        invokeAll(tasks);
+    }
+
+    private void invokeAll(List<Callable<Object>> tasks) {
+        if (tasks.size() == 1) {
+            try {
+                tasks.get(0).call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            return;
+        }
+        try {
+            for (Future<?> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.connectivity;
+
+import java.util.Arrays;
+
+/**
+ * The iterative version of Pearce's algorithm, working on a subset of the
+ * vertices of a digraph, given by their indices. The arrays indexed by vertex
+ * indices are shared, so distinct searches on disjoint subsets can be
+ * performed in parallel; each search has its own stacks.
+ *
+ * <p>
+ * After the search, {@code rindex[v]} identifies the component of v: the
+ * first component found receives the value {@code k}, the next one
+ * {@code k - 1}, and so on, where k is the number of vertices in the subset.
+ *
+ * @author Cristian Frăsinaru
+ */
+class PearceSearch {
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] rindex; //0 for unvisited vertices
+    private final int[] nextPos;
+    private final boolean[] root;
+    private final int[] group; //only the edges inside a group are considered, may be null
+    private int[] callStack = new int[16];
+    private int[] stack = new int[16];
+
+    PearceSearch(int[] offsets, int[] targets, int[] rindex, int[] nextPos, boolean[] root, int[] group) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.rindex = rindex;
+        this.nextPos = nextPos;
+        this.root = root;
+        this.group = group;
+    }
+
+    //searches the vertices[from..to-1], returns the number of components
+    int run(int[] vertices, int from, int to) {
+        int k = to - from;
+        if (callStack.length < k) {
+            callStack = new int[k];
+            stack = new int[k];
+        }
+        int index = 1;
+        int c = k;
+        int sp = 0;
+        for (int i = from; i < to; i++) {
+            int s = vertices[i];
+            if (rindex[s] != 0) {
+                continue;
+            }
+            int top = 0;
+            callStack[top++] = s;
+            rindex[s] = index++;
+            root[s] = true;
+            nextPos[s] = offsets[s];
+            while (top > 0) {
+                int v = callStack[top - 1];
+                if (nextPos[v] < offsets[v + 1]) {
+                    int w = targets[nextPos[v]];
+                    if (group == null || group[w] == group[v]) {
+                        if (rindex[w] == 0) {
+                            callStack[top++] = w;
+                            rindex[w] = index++;
+                            root[w] = true;
+                            nextPos[w] = offsets[w];
+                            continue; //the edge is examined again, after returning
+                        }
+                        if (rindex[w] < rindex[v]) {
+                            rindex[v] = rindex[w];
+                            root[v] = false;
+                        }
+                    }
+                    nextPos[v]++;
+                    continue;
+                }
+                top--;
+                if (root[v]) {
+                    index--;
+                    while (sp > 0 && rindex[v] <= rindex[stack[sp - 1]]) {
+                        rindex[stack[--sp]] = c;
+                        index--;
+                    }
+                    rindex[v] = c--;
+                } else {
+                    stack[sp++] = v;
+                }
+            }
+        }
+        return k - c;
+    }
+
+    //creates the subset of all the vertices
+    static int[] range(int n) {
+        int[] vertices = new int[n];
+        Arrays.setAll(vertices, i -> i);
+        return vertices;
+    }
+}
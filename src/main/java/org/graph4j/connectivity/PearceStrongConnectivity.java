@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.connectivity;
+
+import org.graph4j.Digraph;
+import org.graph4j.util.AdjacencyArrays;
+
+/**
+ * Pearce's algorithm for determining the strongly connected components of a
+ * digraph. It is a variant of Tarjan's algorithm that stores all the
+ * information about a vertex in a single integer (rindex), and it is
+ * implemented iteratively, on the adjacency arrays of the digraph, so it does
+ * not create any objects during the search and it is not limited by the size
+ * of the call stack.
+ *
+ * <p>
+ * The components are numbered in the order they are found, which is a reverse
+ * topological order of the condensation.
+ *
+ * D. J. Pearce, "A space-efficient algorithm for finding strongly connected
+ * components", Information Processing Letters, 2016.
+ *
+ * @see TarjanStrongConnectivity
+ * @author Cristian Frăsinaru
+ */
+public class PearceStrongConnectivity extends StrongConnectivityBase {
+
+    /**
+     *
+     * @param digraph the input digraph.
+     */
+    public PearceStrongConnectivity(Digraph digraph) {
+        super(digraph);
+    }
+
+    @Override
+    protected void compute() {
+        int n = graph.numVertices();
+        var succ = AdjacencyArrays.successors(graph);
+        int[] rindex = new int[n];
+        var search = new PearceSearch(succ.offsets(), succ.targets(),
+                rindex, new int[n], new boolean[n], null);
+        numComponents = search.run(PearceSearch.range(n), 0, n);
+        for (int vi = 0; vi < n; vi++) {
+            rindex[vi] = n - rindex[vi];
+        }
+        vertexComp = rindex;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.connectivity;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.graph4j.Digraph;
+import org.graph4j.DirectedGraphAlgorithm;
+import org.graph4j.GraphBuilder;
+import org.graph4j.util.AdjacencyArrays;
+import org.graph4j.util.VertexSet;
+
+/**
+ * Base class for the strong connectivity algorithms that compute the component
+ * of each vertex in an array, using the adjacency arrays of the digraph. The
+ * vertex sets, the subgraphs and the condensation are created only on demand.
+ *
+ * @author Cristian Frăsinaru
+ */
+public abstract class StrongConnectivityBase extends DirectedGraphAlgorithm
+        implements StrongConnectivityAlgorithm {
+
+    protected int[] vertexComp; //which component a vertex belongs to
+    protected int numComponents;
+    private List<VertexSet> compSets;
+
+    /**
+     *
+     * @param digraph the input digraph.
+     */
+    public StrongConnectivityBase(Digraph digraph) {
+        super(digraph);
+    }
+
+    /**
+     * Computes the {@code vertexComp} array and the number of components. The
+     * components must be numbered from 0 to {@code numComponents - 1}.
+     */
+    protected abstract void compute();
+
+    /**
+     * Returns the strongly connected component of each vertex. The
+     * components are numbered from 0 to {@code numComponents() - 1}.
+     *
+     * @return the components of the vertices, indexed by vertex indices.
+     */
+    public int[] getVertexComponents() {
+        if (vertexComp == null) {
+            compute();
+        }
+        return vertexComp;
+    }
+
+    /**
+     *
+     * @return the number of strongly connected components.
+     */
+    public int numComponents() {
+        getVertexComponents();
+        return numComponents;
+    }
+
+    @Override
+    public boolean isStronglyConnected() {
+        if (stronglyConnected == null) {
+            stronglyConnected = numComponents() <= 1;
+        }
+        return stronglyConnected;
+    }
+
+    @Override
+    public List<VertexSet> getStronglyConnectedSets() {
+        if (compSets != null) {
+            return compSets;
+        }
+        int[] comp = getVertexComponents();
+        int[] size = new int[numComponents];
+        for (int c : comp) {
+            size[c]++;
+        }
+        VertexSet[] sets = new VertexSet[numComponents];
+        for (int c = 0; c < numComponents; c++) {
+            sets[c] = new VertexSet(graph, size[c]);
+        }
+        for (int vi = 0, n = comp.length; vi < n; vi++) {
+            sets[comp[vi]].add(graph.vertexAt(vi));
+        }
+        this.compSets = List.of(sets);
+        return compSets;
+    }
+
+    @Override
+    public List<Digraph> getStronglyConnectedComponents() {
+        List<Digraph> subgraphs = new ArrayList<>();
+        for (var set : getStronglyConnectedSets()) {
+            subgraphs.add(graph.subgraph(set));
+        }
+        return subgraphs;
+    }
+
+    @Override
+    public Digraph<Digraph, Integer> createCondensation() {
+        int[] comp = getVertexComponents();
+        Digraph<Digraph, Integer> condensation
+                = GraphBuilder.labeledVertices(getStronglyConnectedComponents())
+                        .buildDigraph();
+        var succ = AdjacencyArrays.successors(graph);
+        int[] offsets = succ.offsets();
+        int[] targets = succ.targets();
+        for (int vi = 0, n = comp.length; vi < n; vi++) {
+            for (int p = offsets[vi]; p < offsets[vi + 1]; p++) {
+                int scv = comp[vi];
+                int scu = comp[targets[p]];
+                if (scu != scv) {
+                    if (!condensation.containsEdge(scv, scu)) {
+                        condensation.addEdge(scv, scu, 1);
+                    } else {
+                        condensation.setEdgeLabel(scv, scu, 1 + condensation.getEdgeLabel(scv, scu));
+                    }
+                }
+            }
+        }
+        return condensation;
+    }
+}
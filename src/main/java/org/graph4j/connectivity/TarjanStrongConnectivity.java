@@ -157,7 +157,7 @@ public class TarjanStrongConnectivity
             int vi = graph.indexOf(from.vertex());
             int ui = graph.indexOf(to.vertex());
             if (instack[ui]) {
-                low[vi] = low[ui]; //can actually reach the root of the cc
+                low[vi] = Math.min(low[vi], low[ui]); //can actually reach the root of the cc
             }
         }
 
@@ -18,6 +18,12 @@ package org.graph4j.connectivity;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.graph4j.Graph;
 import org.graph4j.GraphAlgorithm;
 import org.graph4j.GraphTests;
@@ -37,10 +43,22 @@ import org.graph4j.util.VertexSet;
  * a minimum size set of vertices whose removal disconnects two vertices, the
  * vertex connectivity number.
  *
+ * <p>
+ * The vertex connectivity number is computed using Even's algorithm: the
+ * neighbors of a vertex of minimum degree form an initial cut, and only the
+ * pairs having the first vertex among the first k+1 vertices of the graph are
+ * examined, where k is the size of the smallest cut found so far. The search
+ * stops as soon as there are no such pairs left. The pairs may be examined in
+ * parallel, each thread having its own copy of the flow network.
+ *
+ * S. Even, "An algorithm for determining whether the connectivity of a graph
+ * is at least k", SIAM Journal on Computing, 1975.
+ *
  * @author Cristian Frăsinaru
  */
 public class VertexConnectivityAlgorithm extends GraphAlgorithm {
 
+    private final int numThreads;
     private Network network;
     private VertexSet globalMinCut;
     private Integer connectivityNumber;
@@ -52,7 +70,23 @@ public class VertexConnectivityAlgorithm extends GraphAlgorithm {
      * @param graph the input graph.
      */
     public VertexConnectivityAlgorithm(Graph graph) {
+        this(graph, 1);
+    }
+
+    /**
+     * Creates an algorithm for determining the vertex connectivity of a graph,
+     * using the specified number of threads for computing the minimum vertex
+     * cut.
+     *
+     * @param graph the input graph.
+     * @param numThreads the number of threads.
+     */
+    public VertexConnectivityAlgorithm(Graph graph, int numThreads) {
         super(graph);
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.numThreads = numThreads;
         createNetwork();
     }
 
@@ -211,10 +245,14 @@ public class VertexConnectivityAlgorithm extends GraphAlgorithm {
         network.setSink(at);
         network.resetEdgeData(FLOW, 0);
         var alg = MaximumFlowAlgorithm.getInstance(network);
-        EdgeSet edgeCut = alg.getMinimumCutEdges();
+        return createVertexCut(alg.getMinimumCutEdges());
+    }
+
+    //the edges of the cut are (a_v, b_v)
+    private VertexSet createVertexCut(EdgeSet edgeCut) {
         VertexSet vertexCut = new VertexSet(graph, edgeCut.size());
         for (var e : edgeCut) {
-            vertexCut.add(Math.min(e.source(), e.target()));
+            vertexCut.add(graph.vertexAt(Math.min(e.source(), e.target())));
         }
         return vertexCut;
     }
@@ -250,33 +288,91 @@ public class VertexConnectivityAlgorithm extends GraphAlgorithm {
      * @return a set of vertices of minimum size whose removal disconnects the
      * graph or {@code null} if no such set exists.
      */
-    //SLOW
     public VertexSet getMinimumCut() {
         if (computed) {
             return globalMinCut;
         }
+        computed = true;
         int n = graph.numVertices();
-        long m = graph.numEdges();
-        int k = (int) Math.ceil(2 * m / n) + 1;
-        this.globalMinCut = null;
-        for (int i = 0; i < k; i++) {
-            int s = graph.vertexAt(i);
-            for (int j = 0; j < n; j++) {
-                int t = graph.vertexAt(j);
-                if (s == t || graph.containsEdge(s, t)) {
-                    continue;
-                }
-                VertexSet cut = getMinimumCut(s, t);
-                if (globalMinCut == null || cut.size() < globalMinCut.size()) {
-                    globalMinCut = cut;
-                }
+        if (n == 0 || graph.isComplete()) {
+            return null;
+        }
+        //the neighbors of a vertex of minimum degree
+        int minVertex = graph.vertexAt(0);
+        for (int v : graph.vertices()) {
+            if (graph.degree(v) < graph.degree(minVertex)) {
+                minVertex = v;
             }
         }
-        computed = true;
+        globalMinCut = new VertexSet(graph, graph.neighbors(minVertex));
+        //the pairs (i,j), i < j, are numbered i * n + j
+        var best = new AtomicInteger(globalMinCut.size());
+        var next = new AtomicLong();
+        int numTasks = Math.min(numThreads, n);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int t = 0; t < numTasks; t++) {
+            Network net = t == 0 ? network : network.copy();
+            net.setSafeMode(false);
+            tasks.add(() -> {
+                long pair;
+                while ((pair = next.getAndIncrement()) / n <= best.get()) {
+                    int i = (int) (pair / n);
+                    int j = (int) (pair % n);
+                    if (i >= n - 1) {
+                        break;
+                    }
+                    //(b_i, a_j) exists iff i and j are adjacent, the graph itself is not thread safe
+                    if (j <= i || net.containsEdge(n + i, j)) {
+                        continue;
+                    }
+                    net.setSource(n + i); //b_i
+                    net.setSink(j); //a_j
+                    net.resetEdgeData(FLOW, 0);
+                    var alg = MaximumFlowAlgorithm.getInstance(net);
+                    if ((int) alg.getMaximumFlowValue() < best.get()) {
+                        updateMinimumCut(createVertexCut(alg.getMinimumCutEdges()), best);
+                    }
+                }
+                return null;
+            });
+        }
+        invokeAll(tasks);
         connectivityNumber = globalMinCut.size();
         return globalMinCut;
     }
 
+    private synchronized void updateMinimumCut(VertexSet cut, AtomicInteger best) {
+        if (cut.size() < globalMinCut.size()) {
+            globalMinCut = cut;
+            best.set(cut.size());
+        }
+    }
+
+    private void invokeAll(List<Callable<Object>> tasks) {
+        if (tasks.size() == 1) {
+            try {
+                tasks.get(0).call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            return;
+        }
+        try {
+            for (Future<?> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
     /**
      * Computes the vertex connectivity number, that is the minimum size of a
      * set of vertices whose removal disconnects the graph. If the graph is
@@ -22,6 +22,8 @@ import org.graph4j.util.Cycle;
 import org.graph4j.Graph;
 import org.graph4j.GraphAlgorithm;
 import org.graph4j.shortestpath.AllPairsShortestPath;
+import org.graph4j.shortestpath.DistanceMatrix;
+import org.graph4j.shortestpath.MultiSourceBFS;
 import org.graph4j.shortestpath.SinglePairShortestPath;
 import org.graph4j.shortestpath.SingleSourceShortestPath;
 import org.graph4j.util.VertexSet;
@@ -161,10 +163,19 @@ public class GraphMetrics extends GraphAlgorithm {
         if (ecc != null) {
             return ecc;
         }
+        int n = graph.numVertices();
+        if (dist == null && !graph.hasEdgeWeights()) {
+            //no need to store the distances
+            int[] e = new MultiSourceBFS(graph).eccentricities();
+            this.ecc = new double[n];
+            for (int i = 0; i < n; i++) {
+                ecc[i] = e[i] == DistanceMatrix.INFINITY ? Double.POSITIVE_INFINITY : e[i];
+            }
+            return ecc;
+        }
         if (dist == null) {
             distances();
         }
-        int n = graph.numVertices();
         this.ecc = new double[n];
         Arrays.fill(ecc, Double.NEGATIVE_INFINITY);
         for (int i = 0; i < n; i++) {
@@ -388,6 +399,9 @@ public class GraphMetrics extends GraphAlgorithm {
      * @return the average path length.
      */
     public double averagePathLength() {
+        if (dist == null && !graph.hasEdgeWeights()) {
+            return new MultiSourceBFS(graph).averagePathLength();
+        }
         if (dist == null) {
             distances();
             //dist = new DistancesCalculator(graph).calculate();
@@ -23,6 +23,7 @@ import org.graph4j.traversal.BFSIterator;
 import org.graph4j.traversal.DFSIterator;
 import org.graph4j.traversal.LexBFSIterator;
 import org.graph4j.traversal.MaximumCardinalityIterator;
+import org.graph4j.traversal.PartitionRefinementSearch;
 
 /**
  * Contains static methods that create various vertex orderings.
@@ -79,18 +80,13 @@ public class VertexOrderings {
      * produced by the Lexicographic Breadth-First Search algorithm.
      *
      * @see LexBFSIterator
+     * @see PartitionRefinementSearch
      * @param graph the input graph.
      * @return the ordering produced by the LexBFS algorithm, starting from the
      * specified vertex.
      */
     public static int[] lexBFS(Graph graph) {
-        int[] vertices = new int[graph.numVertices()];
-        var it = new LexBFSIterator(graph);
-        int i = 0;
-        while (it.hasNext()) {
-            vertices[i++] = it.next().vertex();
-        }
-        return vertices;
+        return new PartitionRefinementSearch(graph).lexBFS();
     }
 
     /**
@@ -98,18 +94,13 @@ public class VertexOrderings {
      * produced by the Maximum Cardinality Search (MCS) algorithm.
      *
      * @see MaximumCardinalityIterator
+     * @see PartitionRefinementSearch
      * @param graph the input graph.
      * @return the ordering produced by the MCS algorithm, starting from the
      * specified vertex.
      */
     public static int[] maximumCardinality(Graph graph) {
-        int[] vertices = new int[graph.numVertices()];
-        var it = new MaximumCardinalityIterator(graph);
-        int i = 0;
-        while (it.hasNext()) {
-            vertices[i++] = it.next();
-        }
-        return vertices;
+        return new PartitionRefinementSearch(graph).maximumCardinality();
     }
    
     /**
@@ -29,6 +29,7 @@ public class AStarAlgorithm extends GraphAlgorithm implements SinglePairShortest
     protected int[] size;
     protected boolean[] solved;
     protected int numSolved;
+    private double[] estimate; //computed once, when a vertex is first reached
     private VertexHeap heap;
     private final AStarEstimator heuristic;
 
@@ -87,13 +88,16 @@ public class AStarAlgorithm extends GraphAlgorithm implements SinglePairShortest
         this.before = new int[n];
         this.size = new int[n];
         this.solved = new boolean[n];
+        this.estimate = new double[n];
         this.numSolved = 0;
         Arrays.fill(cost, Double.POSITIVE_INFINITY);
         Arrays.fill(before, -1);
-        cost[graph.indexOf(source)] = 0;
+        int si = graph.indexOf(source);
+        int ti = graph.indexOf(target);
+        cost[si] = 0;
+        estimate[si] = heuristic.estimate(si, ti);
         this.heap = new VertexHeap(graph,
-                (i, j) -> (int) Math.signum(cost[i] + heuristic.estimate(i, target)
-                        - cost[j] - heuristic.estimate(j, target)));
+                (i, j) -> (int) Math.signum(cost[i] + estimate[i] - cost[j] - estimate[j]));
 
         while (true) {
             int vi = heap.poll();
@@ -115,6 +119,9 @@ public class AStarAlgorithm extends GraphAlgorithm implements SinglePairShortest
                             "Negative weighted edges are not permited: " + graph.edge(v, u));
                 }
                 if (cost[ui] > cost[vi] + weight) {
+                    if (cost[ui] == Double.POSITIVE_INFINITY) {
+                        estimate[ui] = heuristic.estimate(ui, ti);
+                    }
                     cost[ui] = cost[vi] + weight;
                     before[ui] = vi;
                     size[ui] = size[vi] + 1;
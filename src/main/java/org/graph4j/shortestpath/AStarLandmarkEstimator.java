@@ -0,0 +1,344 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.graph4j.Digraph;
+import org.graph4j.Graph;
+import org.graph4j.util.Validator;
+import org.graph4j.util.VertexHeap;
+
+/**
+ * ALT (A*, Landmarks, Triangle inequality) estimator. A small set of vertices,
+ * called landmarks, is selected and the distances from each landmark to all
+ * the vertices (and from all the vertices to each landmark, in case of directed
+ * graphs) are precomputed. For any landmark L, the triangle inequality gives
+ * the lower bounds {@code d(v,t) >= d(L,t) - d(L,v)} and
+ * {@code d(v,t) >= d(v,L) - d(t,L)}, the estimate being the maximum of these
+ * bounds over all landmarks. The estimator is admissible, so it can be used
+ * by {@link AStarAlgorithm} on graphs that have no geometry. It is also
+ * consistent, up to floating-point rounding: each bound is lowered by a few
+ * ulps, as a safety margin for the distances stored as floats.
+ *
+ * <p>
+ * The landmarks are selected using the <i>farthest</i> strategy: each new
+ * landmark is the vertex that is farthest away from the already selected ones.
+ * The distance tables are stored as {@code float} values, one row per
+ * landmark, and they can be saved and loaded using {@link #write(OutputStream)}
+ * and {@link #read(Graph, InputStream)}. The tables are computed in parallel,
+ * one Dijkstra search per landmark and direction.
+ *
+ * <p>
+ * The graph must not contain negative weighted edges. The estimates are valid
+ * only as long as the graph is not modified.
+ *
+ * A. V. Goldberg, C. Harrelson, "Computing the shortest path: A* search meets
+ * graph theory", SODA 2005.
+ *
+ * @see AStarAlgorithm
+ * @author Cristian Frăsinaru
+ */
+public class AStarLandmarkEstimator implements AStarEstimator {
+
+    private final Graph graph;
+    private final int[] landmarks; //vertex numbers
+    private float[][] from; //from[k][vi] = d(landmark k, v)
+    private float[][] to; //to[k][vi] = d(v, landmark k), same as from if undirected
+
+    /**
+     * Creates an estimator using a specified number of landmarks, selected
+     * with the farthest strategy.
+     *
+     * @param graph the input graph.
+     * @param numLandmarks the number of landmarks.
+     */
+    public AStarLandmarkEstimator(Graph graph, int numLandmarks) {
+        Validator.requireNonEmpty(graph);
+        if (numLandmarks <= 0 || numLandmarks > graph.numVertices()) {
+            throw new IllegalArgumentException(
+                    "Invalid number of landmarks: " + numLandmarks);
+        }
+        this.graph = graph;
+        this.landmarks = new int[numLandmarks];
+        this.from = new float[numLandmarks][];
+        selectFarthest();
+        computeTables(false);
+    }
+
+    /**
+     * Creates an estimator using the specified landmarks.
+     *
+     * @param graph the input graph.
+     * @param landmarks an array of vertex numbers.
+     */
+    public AStarLandmarkEstimator(Graph graph, int[] landmarks) {
+        Validator.requireNonEmpty(graph);
+        Validator.containsVertices(graph, landmarks);
+        Validator.hasNoDuplicates(landmarks);
+        if (landmarks.length == 0) {
+            throw new IllegalArgumentException("At least one landmark is required.");
+        }
+        this.graph = graph;
+        this.landmarks = landmarks.clone();
+        this.from = new float[landmarks.length][];
+        computeTables(true);
+    }
+
+    private AStarLandmarkEstimator(Graph graph, int[] landmarks, float[][] from, float[][] to) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns the landmarks used by this estimator.
+     *
+     * @return the vertex numbers of the landmarks.
+     */
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * Returns the graph for which the estimator was created.
+     *
+     * @return the input graph.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double estimate(int vertex, int target) {
+        double best = 0;
+        for (int k = 0, numLandmarks = landmarks.length; k < numLandmarks; k++) {
+            float[] fk = from[k];
+            float[] tk = to[k];
+            best = Math.max(best, bound(fk[target], fk[vertex]));
+            //in undirected graphs, both d(L,t) - d(L,v) and d(L,v) - d(L,t)
+            best = Math.max(best, bound(tk[vertex], tk[target]));
+        }
+        return best;
+    }
+
+    //a lower bound of a - b, taking into account the float rounding errors
+    private static double bound(float a, float b) {
+        if (a == Float.POSITIVE_INFINITY || b == Float.POSITIVE_INFINITY) {
+            return 0;
+        }
+        return a - b - Math.ulp(a) - Math.ulp(b);
+    }
+
+    //the first landmark is the farthest vertex from a vertex of maximum degree
+    //the next ones maximize the minimum distance to the already selected landmarks
+    private void selectFarthest() {
+        int n = graph.numVertices();
+        boolean[] isLandmark = new boolean[n];
+        float[] minDist = dijkstra(maxDegreeIndex(), false);
+        for (int k = 0; k < landmarks.length; k++) {
+            int selected = -1;
+            for (int i = 0; i < n; i++) {
+                if (isLandmark[i]) {
+                    continue;
+                }
+                //unreachable vertices are preferred, in order to cover other components
+                if (selected < 0 || minDist[i] > minDist[selected]) {
+                    selected = i;
+                }
+            }
+            isLandmark[selected] = true;
+            landmarks[k] = graph.vertexAt(selected);
+            from[k] = dijkstra(selected, false);
+            if (k == 0) {
+                minDist = from[k].clone();
+            } else {
+                for (int i = 0; i < n; i++) {
+                    minDist[i] = Math.min(minDist[i], from[k][i]);
+                }
+            }
+        }
+    }
+
+    private int maxDegreeIndex() {
+        int best = 0;
+        for (int i = 1, n = graph.numVertices(); i < n; i++) {
+            if (graph.degree(graph.vertexAt(i)) > graph.degree(graph.vertexAt(best))) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    //computes the missing rows of the tables, in parallel
+    private void computeTables(boolean computeFrom) {
+        int k = landmarks.length;
+        boolean directed = graph.isDirected();
+        this.to = directed ? new float[k][] : from;
+        var executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < k; i++) {
+            final int pos = i;
+            final int li = graph.indexOf(landmarks[i]);
+            if (computeFrom) {
+                futures.add(executor.submit(() -> {
+                    from[pos] = dijkstra(li, false);
+                }));
+            }
+            if (directed) {
+                futures.add(executor.submit(() -> {
+                    to[pos] = dijkstra(li, true);
+                }));
+            }
+        }
+        executor.shutdown();
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The computation of the landmark distances was interrupted.", e);
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    //Dijkstra from the vertex with the specified index, on the graph or its transpose
+    private float[] dijkstra(int si, boolean reverse) {
+        int n = graph.numVertices();
+        double[] cost = new double[n];
+        boolean[] solved = new boolean[n];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        cost[si] = 0;
+        var heap = new VertexHeap(graph, false, (i, j) -> (int) Math.signum(cost[i] - cost[j]));
+        heap.add(si);
+        while (!heap.isEmpty()) {
+            int vi = heap.poll();
+            solved[vi] = true;
+            int v = graph.vertexAt(vi);
+            for (var it = reverse ? ((Digraph) graph).predecessorIterator(v) : graph.neighborIterator(v); it.hasNext();) {
+                int ui = graph.indexOf(it.next());
+                if (solved[ui]) {
+                    continue;
+                }
+                double weight = it.getEdgeWeight();
+                if (weight < 0) {
+                    throw new IllegalArgumentException(
+                            "Negative weighted edges are not permited: " + weight);
+                }
+                if (cost[ui] > cost[vi] + weight) {
+                    cost[ui] = cost[vi] + weight;
+                    heap.addOrUpdate(ui);
+                }
+            }
+        }
+        float[] dist = new float[n];
+        for (int i = 0; i < n; i++) {
+            dist[i] = (float) cost[i];
+        }
+        return dist;
+    }
+
+    /**
+     * Writes the landmarks and the distance tables to the specified stream. The
+     * stream is not closed.
+     *
+     * @param out the output stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void write(OutputStream out) throws IOException {
+        var data = new DataOutputStream(out);
+        int n = graph.numVertices();
+        data.writeInt(n);
+        data.writeBoolean(to != from);
+        data.writeInt(landmarks.length);
+        for (int k = 0; k < landmarks.length; k++) {
+            data.writeInt(landmarks[k]);
+            writeRow(data, from[k]);
+            if (to != from) {
+                writeRow(data, to[k]);
+            }
+        }
+        data.flush();
+    }
+
+    private void writeRow(DataOutputStream data, float[] row) throws IOException {
+        for (float d : row) {
+            data.writeFloat(d);
+        }
+    }
+
+    /**
+     * Reads an estimator previously saved with {@link #write(OutputStream)}.
+     * The graph must be the same as the one used when creating the estimator.
+     * The stream is not closed.
+     *
+     * @param graph the input graph.
+     * @param in the input stream.
+     * @return the estimator.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static AStarLandmarkEstimator read(Graph graph, InputStream in) throws IOException {
+        var data = new DataInputStream(in);
+        int n = data.readInt();
+        boolean directed = data.readBoolean();
+        if (n != graph.numVertices() || directed != graph.isDirected()) {
+            throw new IllegalArgumentException(
+                    "The stored landmark tables do not correspond to the graph.");
+        }
+        int k = data.readInt();
+        int[] landmarks = new int[k];
+        float[][] from = new float[k][];
+        float[][] to = directed ? new float[k][] : from;
+        for (int i = 0; i < k; i++) {
+            landmarks[i] = data.readInt();
+            Validator.containsVertex(graph, landmarks[i]);
+            from[i] = readRow(data, n);
+            if (directed) {
+                to[i] = readRow(data, n);
+            }
+        }
+        return new AStarLandmarkEstimator(graph, landmarks, from, to);
+    }
+
+    private static float[] readRow(DataInputStream data, int n) throws IOException {
+        float[] row = new float[n];
+        for (int i = 0; i < n; i++) {
+            row[i] = data.readFloat();
+        }
+        return row;
+    }
+}
@@ -35,6 +35,7 @@ public class BFSSingleSourceShortestPath extends GraphAlgorithm
     protected final int source;
     protected double[] dist;
     protected int[] before;
+    private boolean complete; //all the paths were computed
 
     /**
      * Creates an algorithm to find all shortest paths starting in the specified
@@ -91,9 +92,18 @@ public class BFSSingleSourceShortestPath extends GraphAlgorithm
         return dist;
     }
 
+    @Override
+    public ShortestPathTree getShortestPathTree() {
+        if (before == null || !complete) {
+            compute(-1);
+        }
+        return new ShortestPathTree(graph, source, dist, before, null);
+    }
+
     //computes the paths from the source
     //if the target is specified (>=0) it stops as soon as it is solved
     protected void compute(int target) {
+        complete = target < 0;
         int n = graph.numVertices();
         this.dist = new double[n];
         this.before = new int[n];
@@ -111,7 +121,7 @@ public class BFSSingleSourceShortestPath extends GraphAlgorithm
             int ui = graph.indexOf(u);
             dist[ui] = node.level();
             if (node.parent() != null) {
-                before[ui] = node.parent().vertex();
+                before[ui] = graph.indexOf(node.parent().vertex());
             }
             if (u == target) {
                 break;
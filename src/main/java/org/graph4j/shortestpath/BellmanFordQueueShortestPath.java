@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.Arrays;
+import org.graph4j.Graph;
+import org.graph4j.util.AdjacencyArrays;
+import org.graph4j.util.Cycle;
+
+/**
+ * Queue-based version of the Bellman-Ford-Moore algorithm (also known as SPFA),
+ * using Tarjan's subtree disassembly. Only the vertices whose cost has
+ * improved are scanned, in FIFO order.
+ *
+ * <p>
+ * The current shortest path tree is maintained as a list of vertices, in
+ * preorder. When the cost of a vertex u improves, all its descendants are
+ * removed from the tree and they become inactive (they are not scanned until
+ * their cost improves again), since their current costs are no longer
+ * accurate. If the vertex whose edge improved the cost of u is itself a
+ * descendant of u, a negative cost cycle has been found. Therefore, negative
+ * cycles are detected as soon as they appear in the tree, without waiting for
+ * n passes.
+ *
+ * <p>
+ * The worst case complexity is O(nm), but the algorithm is usually much faster
+ * in practice.
+ *
+ * B. V. Cherkassky, A. V. Goldberg, "Negative-cycle detection algorithms",
+ * Mathematical Programming, 1999.
+ *
+ * @author Cristian Frăsinaru
+ */
+public class BellmanFordQueueShortestPath extends BellmanFordShortestPath {
+
+    /**
+     * Creates an algorithm to find all shortest paths starting in the source.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     */
+    public BellmanFordQueueShortestPath(Graph graph, int source) {
+        super(graph, source);
+    }
+
+    @Override
+    protected void compute() {
+        int n = graph.numVertices();
+        var adj = AdjacencyArrays.successors(graph, true);
+        int[] offsets = adj.offsets();
+        int[] targets = adj.targets();
+        double[] weights = adj.weights();
+        this.cost = new double[n];
+        this.before = new int[n];
+        this.size = new int[n];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(before, -1);
+
+        //the shortest path tree, as a doubly linked list in preorder
+        int[] next = new int[n];
+        int[] prev = new int[n];
+        int[] depth = new int[n];
+        boolean[] inTree = new boolean[n];
+        //circular FIFO queue; the vertices that leave the tree stay in the queue
+        int[] queue = new int[n];
+        boolean[] inQueue = new boolean[n];
+        int head = 0, count = 0;
+
+        int si = graph.indexOf(source);
+        cost[si] = 0;
+        next[si] = si;
+        prev[si] = si;
+        inTree[si] = true;
+        queue[0] = si;
+        inQueue[si] = true;
+        count = 1;
+        while (count > 0) {
+            int vi = queue[head];
+            head = (head + 1) % n;
+            count--;
+            inQueue[vi] = false;
+            if (!inTree[vi]) {
+                continue;
+            }
+            for (int p = offsets[vi], end = offsets[vi + 1]; p < end; p++) {
+                int ui = targets[p];
+                double newCost = cost[vi] + weights[p];
+                if (newCost >= cost[ui]) {
+                    continue;
+                }
+                if (inTree[ui]) {
+                    //remove the subtree of u, checking if it contains v
+                    if (ui == vi) {
+                        throw new NegativeCycleException(createCycle(ui, vi));
+                    }
+                    int xi = next[ui];
+                    while (xi != si && depth[xi] > depth[ui]) {
+                        if (xi == vi) {
+                            throw new NegativeCycleException(createCycle(ui, vi));
+                        }
+                        inTree[xi] = false;
+                        xi = next[xi];
+                    }
+                    //unlink u and its subtree
+                    next[prev[ui]] = xi;
+                    prev[xi] = prev[ui];
+                }
+                cost[ui] = newCost;
+                before[ui] = vi;
+                size[ui] = size[vi] + 1;
+                //insert u as the first child of v
+                inTree[ui] = true;
+                depth[ui] = depth[vi] + 1;
+                next[ui] = next[vi];
+                prev[next[vi]] = ui;
+                next[vi] = ui;
+                prev[ui] = vi;
+                if (!inQueue[ui]) {
+                    queue[(head + count) % n] = ui;
+                    count++;
+                    inQueue[ui] = true;
+                }
+            }
+        }
+    }
+
+    //the tree path from u to v, closed by the edge vu
+    private Cycle createCycle(int ui, int vi) {
+        var cycle = new Cycle(graph);
+        int xi = vi;
+        while (xi != ui) {
+            cycle.add(graph.vertexAt(xi));
+            xi = before[xi];
+        }
+        cycle.add(graph.vertexAt(ui));
+        cycle.reverse();
+        return cycle;
+    }
+}
@@ -30,17 +30,20 @@ import org.graph4j.util.Validator;
  * weights to be negative numbers, but no negative-weight cycles may exist.
  *
  * The complexity of this implementation is O(nm), where m is the number of
- * edges and n the number of vertices.
+ * edges and n the number of vertices. The computation stops as soon as a pass
+ * does not improve any of the costs.
  *
+ * @see BellmanFordQueueShortestPath
+ * @see ParallelBellmanFordShortestPath
  * @author Cristian Frăsinaru
  */
 public class BellmanFordShortestPath extends GraphAlgorithm
         implements SingleSourceShortestPath {
 
-    private final int source;
-    private double[] cost;
-    private int[] before;
-    private int[] size;
+    protected final int source;
+    protected double[] cost;
+    protected int[] before;
+    protected int[] size; //the number of edges of the paths
 
     /**
      * Creates an algorithm to find all shortest paths starting in the source.
@@ -89,8 +92,16 @@ public class BellmanFordShortestPath extends GraphAlgorithm
         return cost;
     }
 
+    @Override
+    public ShortestPathTree getShortestPathTree() {
+        if (cost == null) {
+            compute();
+        }
+        return new ShortestPathTree(graph, source, cost, before, size);
+    }
+
     //computes the paths and stores them in the map
-    private void compute() {
+    protected void compute() {
         int n = graph.numVertices();
         this.cost = new double[n];
         this.before = new int[n];
@@ -108,7 +119,7 @@ public class BellmanFordShortestPath extends GraphAlgorithm
         System.arraycopy(cost, 0, tempCost, 0, n);
 
         //one more step than necessary, in order to detect negative cycles
-        for (int k = 0; k < n; k++) {
+        for (int k = 0; k < n && !changed.isEmpty(); k++) {
             //only paths of lenght k + 1 are allowed (starting in source)
             tempChanged.clear();
             for (int vi : changed.vertices()) {
@@ -135,7 +146,7 @@ public class BellmanFordShortestPath extends GraphAlgorithm
         }
     }
 
-    private Path createPathEndingIn(int vi) {
+    protected Path createPathEndingIn(int vi) {
         var path = new Path(graph, size[vi] + 1);
         while (vi >= 0) {
             path.add(graph.vertexAt(vi));
@@ -145,12 +156,17 @@ public class BellmanFordShortestPath extends GraphAlgorithm
         return path;
     }
 
-    private Cycle createCycleEndingIn(int vi) {
+    //vi was improved in the n-th pass, so walking back n times ends in a cycle
+    protected Cycle createCycleEndingIn(int vi) {
+        for (int i = 0, n = graph.numVertices(); i < n; i++) {
+            vi = before[vi];
+        }
         var cycle = new Cycle(graph);
         while (!cycle.contains(graph.vertexAt(vi))) {
             cycle.add(graph.vertexAt(vi));
             vi = before[vi];
         }
+        cycle.reverse();
         return cycle;
     }
 
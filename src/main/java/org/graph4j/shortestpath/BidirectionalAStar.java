@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.Arrays;
+import org.graph4j.Digraph;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.Path;
+import org.graph4j.util.Validator;
+import org.graph4j.util.VertexHeap;
+
+/**
+ * Bidirectional version of the A* algorithm. A forward search starts from the
+ * source and a backward search (on the transpose graph, in case of directed
+ * graphs) starts from the target, both of them guided by an estimator.
+ *
+ * <p>
+ * In order for the two searches to be able to stop as soon as their frontiers
+ * meet, they use <i>consistent</i> potentials, as described by Ikeda et al.:
+ * the forward potential is {@code pf(v) = (h(v,t) - h(s,v)) / 2} and the
+ * backward potential is {@code pr(v) = -pf(v)}, where h is the estimator. The
+ * estimator must therefore give lower bounds for the distances between any
+ * pair of vertices (not only towards the target), for example
+ * {@link AStarLandmarkEstimator} or {@link AStarEuclideanEstimator}. The search
+ * stops when the sum of the smallest keys in the two queues is greater or equal
+ * than the weight of the best path found so far.
+ *
+ * <p>
+ * The edge weights must not be negative. In order to tolerate small rounding
+ * errors of the estimator, a vertex is reconsidered if its cost improves after
+ * it was removed from the queue.
+ *
+ * T. Ikeda, M.-Y. Hsu, H. Imai, S. Nishimura, H. Shimoura, T. Hashimoto, K.
+ * Tenmoku, K. Mitoh, "A fast algorithm for finding better routes by AI search
+ * techniques", Vehicle Navigation and Information Systems Conference, 1994.
+ *
+ * @see BidirectionalDijkstra
+ * @see AStarAlgorithm
+ * @author Cristian Frăsinaru
+ */
+public class BidirectionalAStar extends GraphAlgorithm implements SinglePairShortestPath {
+
+    private final int source;
+    private final int target;
+    private final int[] vertices;
+    private final AStarEstimator heuristic;
+    //
+    private Path bestPath;
+    private double bestWeight;
+    private boolean computed;
+    private double[] potential; //the forward potential, computed when a vertex is first reached
+
+    /**
+     * Creates an algorithm to find the shortest path between source and target.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     * @param target the target vertex number.
+     * @param heuristic an estimator of the distance between any two vertices.
+     */
+    public BidirectionalAStar(Graph graph, int source, int target, AStarEstimator heuristic) {
+        super(graph);
+        Validator.containsVertex(graph, source);
+        Validator.containsVertex(graph, target);
+        if (heuristic == null) {
+            throw new IllegalArgumentException("The heuristic must not be null");
+        }
+        this.vertices = graph.vertices();
+        this.source = source;
+        this.target = target;
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public int getTarget() {
+        return target;
+    }
+
+    @Override
+    public Path findPath() {
+        if (source == target) {
+            return new Path(graph, new int[]{source});
+        }
+        if (!computed) {
+            compute();
+        }
+        return bestPath;
+    }
+
+    @Override
+    public double getPathWeight() {
+        if (source == target) {
+            return 0;
+        }
+        if (!computed) {
+            compute();
+        }
+        return bestWeight;
+    }
+
+    private double potential(int vi, int si, int ti) {
+        if (Double.isNaN(potential[vi])) {
+            potential[vi] = (heuristic.estimate(vi, ti) - heuristic.estimate(si, vi)) / 2;
+        }
+        return potential[vi];
+    }
+
+    private void compute() {
+        this.computed = true;
+        this.bestWeight = Double.POSITIVE_INFINITY; //bestPath is null
+        int n = vertices.length;
+        double[] costF = new double[n];
+        double[] costB = new double[n];
+        int[] beforeF = new int[n];
+        int[] beforeB = new int[n];
+        this.potential = new double[n];
+        Arrays.fill(costF, Double.POSITIVE_INFINITY);
+        Arrays.fill(costB, Double.POSITIVE_INFINITY);
+        Arrays.fill(potential, Double.NaN);
+        //
+        int si = graph.indexOf(source);
+        int ti = graph.indexOf(target);
+        costF[si] = 0;
+        costB[ti] = 0;
+        beforeF[si] = -1;
+        beforeB[ti] = -1;
+        potential(si, si, ti);
+        potential(ti, si, ti);
+        //the keys: costF + pf and costB + pr = costB - pf
+        VertexHeap heapF = new VertexHeap(graph, false,
+                (i, j) -> (int) Math.signum((costF[i] + potential[i]) - (costF[j] + potential[j])));
+        VertexHeap heapB = new VertexHeap(graph, false,
+                (i, j) -> (int) Math.signum((costB[i] - potential[i]) - (costB[j] - potential[j])));
+        heapF.add(si);
+        heapB.add(ti);
+
+        int meeting = -1;
+        boolean forward = true;
+        while (!heapF.isEmpty() && !heapB.isEmpty()) {
+            int topF = heapF.peek();
+            int topB = heapB.peek();
+            if ((costF[topF] + potential[topF]) + (costB[topB] - potential[topB]) >= bestWeight) {
+                break;
+            }
+            if (forward) {
+                int vi = heapF.poll();
+                int v = vertices[vi];
+                for (var it = graph.neighborIterator(v); it.hasNext();) {
+                    int u = it.next(); //v->u
+                    int ui = graph.indexOf(u);
+                    double weight = it.getEdgeWeight();
+                    if (weight < 0) {
+                        throw new IllegalArgumentException(
+                                "Negative weighted edges are not permited: " + graph.edge(v, u));
+                    }
+                    double newCostF = costF[vi] + weight;
+                    if (costF[ui] > newCostF) {
+                        potential(ui, si, ti);
+                        costF[ui] = newCostF;
+                        beforeF[ui] = vi;
+                        heapF.addOrUpdate(ui);
+                        if (newCostF + costB[ui] < bestWeight) {
+                            bestWeight = newCostF + costB[ui];
+                            meeting = ui;
+                        }
+                    }
+                }
+            } else {
+                int wi = heapB.poll();
+                int w = vertices[wi];
+                for (var it = directed ? ((Digraph) graph).predecessorIterator(w) : graph.neighborIterator(w); it.hasNext();) {
+                    int u = it.next(); //u->w
+                    int ui = graph.indexOf(u);
+                    double weight = it.getEdgeWeight();
+                    if (weight < 0) {
+                        throw new IllegalArgumentException(
+                                "Negative weighted edges are not permited: " + graph.edge(u, w));
+                    }
+                    double newCostB = costB[wi] + weight;
+                    if (costB[ui] > newCostB) {
+                        potential(ui, si, ti);
+                        costB[ui] = newCostB;
+                        beforeB[ui] = wi;
+                        heapB.addOrUpdate(ui);
+                        if (newCostB + costF[ui] < bestWeight) {
+                            bestWeight = newCostB + costF[ui];
+                            meeting = ui;
+                        }
+                    }
+                }
+            }
+            forward = !forward;
+        }
+
+        if (meeting < 0) {
+            return;
+        }
+        //s --- meeting --- t
+        bestPath = new Path(graph);
+        for (int vi = meeting; vi >= 0; vi = beforeF[vi]) {
+            bestPath.add(vertices[vi]);
+        }
+        bestPath.reverse();
+        for (int wi = beforeB[meeting]; wi >= 0; wi = beforeB[wi]) {
+            bestPath.add(vertices[wi]);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.Arrays;
+import org.graph4j.Digraph;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.NeighborIterator;
+import org.graph4j.util.Path;
+import org.graph4j.util.Validator;
+
+/**
+ * Determines the path with the fewest edges connecting two vertices, using two
+ * breadth-first searches: a forward one, starting from the source, and a
+ * backward one (on the transpose graph, in case of directed graphs), starting
+ * from the target. At each step, the search having the smaller frontier
+ * expands a whole level. The algorithm stops as soon as the two searches meet.
+ *
+ * <p>
+ * If the shortest path has length d, each search explores roughly a ball of
+ * radius d/2, instead of a single ball of radius d. The edge weights, if any,
+ * are ignored.
+ *
+ * @see BFSSinglePairShortestPath
+ * @author Cristian Frăsinaru
+ */
+public class BidirectionalBFS extends GraphAlgorithm implements SinglePairShortestPath {
+
+    private final int source;
+    private final int target;
+    private Path bestPath;
+    private boolean computed;
+
+    /**
+     * Creates an algorithm to find the path with the fewest edges between two
+     * specified vertices.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     * @param target the target vertex number.
+     */
+    public BidirectionalBFS(Graph graph, int source, int target) {
+        super(graph);
+        Validator.containsVertex(graph, source);
+        Validator.containsVertex(graph, target);
+        this.source = source;
+        this.target = target;
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public int getTarget() {
+        return target;
+    }
+
+    @Override
+    public Path findPath() {
+        if (!computed) {
+            compute();
+        }
+        return bestPath;
+    }
+
+    /**
+     * Returns the number of edges of the shortest path.
+     *
+     * @return the number of edges of the shortest path from the source to the
+     * target, or {@link Double#POSITIVE_INFINITY} if no path exists.
+     */
+    @Override
+    public double getPathWeight() {
+        Path path = findPath();
+        return path == null ? Double.POSITIVE_INFINITY : path.length();
+    }
+
+    private void compute() {
+        computed = true;
+        if (source == target) {
+            bestPath = new Path(graph, new int[]{source});
+            return;
+        }
+        int n = graph.numVertices();
+        int[] distF = new int[n];
+        int[] distB = new int[n];
+        int[] beforeF = new int[n];
+        int[] beforeB = new int[n];
+        Arrays.fill(distF, -1);
+        Arrays.fill(distB, -1);
+        int si = graph.indexOf(source);
+        int ti = graph.indexOf(target);
+        distF[si] = 0;
+        distB[ti] = 0;
+        beforeF[si] = -1;
+        beforeB[ti] = -1;
+        //each queue holds the current level between head and tail
+        int[] queueF = new int[n];
+        int[] queueB = new int[n];
+        int headF = 0, tailF = 0, headB = 0, tailB = 0;
+        queueF[tailF++] = si;
+        queueB[tailB++] = ti;
+
+        int best = Integer.MAX_VALUE;
+        int meetF = -1, meetB = -1; //the edge connecting the two searches
+        while (headF < tailF && headB < tailB) {
+            boolean forward = tailF - headF <= tailB - headB;
+            int[] queue = forward ? queueF : queueB;
+            int[] dist = forward ? distF : distB;
+            int[] other = forward ? distB : distF;
+            int[] before = forward ? beforeF : beforeB;
+            int head = forward ? headF : headB;
+            int tail = forward ? tailF : tailB;
+            int levelEnd = tail;
+            for (; head < levelEnd; head++) {
+                int vi = queue[head];
+                int v = graph.vertexAt(vi);
+                NeighborIterator it = forward || !directed
+                        ? graph.neighborIterator(v)
+                        : ((Digraph) graph).predecessorIterator(v);
+                while (it.hasNext()) {
+                    int ui = graph.indexOf(it.next());
+                    if (dist[ui] < 0) {
+                        dist[ui] = dist[vi] + 1;
+                        before[ui] = vi;
+                        queue[tail++] = ui;
+                    }
+                    if (other[ui] >= 0 && dist[vi] + 1 + other[ui] < best) {
+                        best = dist[vi] + 1 + other[ui];
+                        meetF = forward ? vi : ui;
+                        meetB = forward ? ui : vi;
+                    }
+                }
+            }
+            if (forward) {
+                headF = head;
+                tailF = tail;
+            } else {
+                headB = head;
+                tailB = tail;
+            }
+            if (best < Integer.MAX_VALUE) {
+                break;
+            }
+        }
+        if (best == Integer.MAX_VALUE) {
+            return; //bestPath is null
+        }
+        int[] path = new int[best + 1];
+        int pos = distF[meetF];
+        for (int vi = meetF; vi >= 0; vi = beforeF[vi]) {
+            path[pos--] = graph.vertexAt(vi);
+        }
+        pos = distF[meetF] + 1;
+        for (int vi = meetB; vi >= 0; vi = beforeB[vi]) {
+            path[pos++] = graph.vertexAt(vi);
+        }
+        bestPath = new Path(graph, path);
+    }
+}
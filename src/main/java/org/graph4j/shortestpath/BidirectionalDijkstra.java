@@ -29,6 +29,7 @@ import org.graph4j.util.VertexHeap;
  * starting from a source vertex and a reverse (backward) search on the
  * transpose graph starting from the target vertex.
  *
+ * @see BidirectionalAStar
  * @author Cristian Frăsinaru
  */
 public class BidirectionalDijkstra extends GraphAlgorithm implements SinglePairShortestPath {
@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.Cycle;
+import org.graph4j.util.Path;
+import org.graph4j.util.Validator;
+
+/**
+ * Cache-blocked (tiled) parallel version of the Floyd-Warshall algorithm. The
+ * distance matrix is stored as a flat {@code double} array, in row-major order,
+ * and it is divided in square blocks. For each diagonal block, the computation
+ * has three stages: the diagonal block is updated using itself, then the blocks
+ * in the same row and column are updated using the diagonal block, and finally
+ * all the remaining blocks are updated using the blocks computed in the second
+ * stage. The blocks of the second and third stages are independent, so they
+ * are processed in parallel.
+ *
+ * <p>
+ * The complexity is still O(n^3), but the blocks fit in the processor caches
+ * and the work is spread across all the available processors. It is best
+ * suited for dense graphs. The predecessor matrix, required in order to create
+ * the paths, is computed only if {@link #findPath(int, int)} is invoked.
+ *
+ * G. Venkataraman, S. Sahni, S. Mukhopadhyaya, "A Blocked All-Pairs
+ * Shortest-Path Algorithm", Journal of Experimental Algorithmics, 2003.
+ *
+ * @see FloydWarshallShortestPath
+ * @author Cristian Frăsinaru
+ */
+public class BlockedFloydWarshallShortestPath extends GraphAlgorithm
+        implements AllPairsShortestPath {
+
+    /**
+     * The default size of a block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+    private final int blockSize;
+    private final int numThreads;
+    private final int n;
+    private double[] cost; //cost[i * n + j]
+    private int[] before; //before[i * n + j] = the index of the vertex before j on the path from i to j
+
+    /**
+     * Creates an algorithm using the default block size and all the available
+     * processors.
+     *
+     * @param graph the input graph.
+     */
+    public BlockedFloydWarshallShortestPath(Graph graph) {
+        this(graph, DEFAULT_BLOCK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an algorithm using the specified block size and number of
+     * threads.
+     *
+     * @param graph the input graph.
+     * @param blockSize the size of a block.
+     * @param numThreads the number of threads.
+     */
+    public BlockedFloydWarshallShortestPath(Graph graph, int blockSize, int numThreads) {
+        super(graph);
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Invalid block size: " + blockSize);
+        }
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.n = graph.numVertices();
+        if ((long) n * n > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The graph is too large: " + n + " vertices");
+        }
+        this.blockSize = blockSize;
+        this.numThreads = numThreads;
+    }
+
+    @Override
+    public Path findPath(int source, int target) {
+        Validator.containsVertex(graph, source);
+        Validator.containsVertex(graph, target);
+        if (before == null) {
+            compute(true);
+        }
+        int si = graph.indexOf(source);
+        int ti = graph.indexOf(target);
+        if (cost[si * n + ti] == Double.POSITIVE_INFINITY) {
+            return new Path(graph, new int[]{});
+        }
+        var path = new Path(graph);
+        while (ti != si) {
+            path.add(graph.vertexAt(ti));
+            ti = before[si * n + ti];
+        }
+        path.add(graph.vertexAt(si));
+        path.reverse();
+        return path;
+    }
+
+    @Override
+    public double getPathWeight(int source, int target) {
+        Validator.containsVertex(graph, source);
+        Validator.containsVertex(graph, target);
+        if (cost == null) {
+            compute(false);
+        }
+        return cost[graph.indexOf(source) * n + graph.indexOf(target)];
+    }
+
+    /**
+     * Returns the weights of the shortest paths, as a flat array in row-major
+     * order: the weight of the path from the vertex with the index i to the
+     * vertex with the index j is at the position {@code i * n + j}.
+     *
+     * @return the weights of the shortest paths, as a flat array.
+     */
+    public double[] getFlatPathWeights() {
+        if (cost == null) {
+            compute(false);
+        }
+        return cost;
+    }
+
+    /**
+     * {@inheritDoc} The matrix is created by copying the flat array returned by
+     * {@link #getFlatPathWeights()}.
+     */
+    @Override
+    public double[][] getPathWeights() {
+        double[] flat = getFlatPathWeights();
+        double[][] weights = new double[n][];
+        for (int i = 0; i < n; i++) {
+            weights[i] = Arrays.copyOfRange(flat, i * n, (i + 1) * n);
+        }
+        return weights;
+    }
+
+    private void init(boolean withPaths) {
+        this.cost = new double[n * n];
+        this.before = withPaths ? new int[n * n] : null;
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        if (withPaths) {
+            Arrays.fill(before, -1);
+        }
+        for (int vi = 0; vi < n; vi++) {
+            cost[vi * n + vi] = 0;
+            for (var it = graph.neighborIterator(graph.vertexAt(vi)); it.hasNext();) {
+                int ui = graph.indexOf(it.next());
+                double weight = it.getEdgeWeight();
+                if (weight < cost[vi * n + ui]) {
+                    cost[vi * n + ui] = weight;
+                    if (withPaths && ui != vi) {
+                        before[vi * n + ui] = vi;
+                    }
+                }
+            }
+        }
+    }
+
+    private void compute(boolean withPaths) {
+        init(withPaths);
+        int numBlocks = (n + blockSize - 1) / blockSize;
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            for (int kb = 0; kb < numBlocks; kb++) {
+                final int k = kb;
+                //stage 1: the diagonal block
+                update(k, k, k);
+                //stage 2: the blocks in the row and in the column of the diagonal block
+                List<Callable<Object>> tasks = new ArrayList<>();
+                for (int b = 0; b < numBlocks; b++) {
+                    if (b == k) {
+                        continue;
+                    }
+                    final int other = b;
+                    tasks.add(Executors.callable(() -> update(k, other, k)));
+                    tasks.add(Executors.callable(() -> update(other, k, k)));
+                }
+                invokeAll(executor, tasks);
+                //stage 3: the remaining blocks, one task for each row of blocks
+                tasks.clear();
+                for (int b = 0; b < numBlocks; b++) {
+                    if (b == k) {
+                        continue;
+                    }
+                    final int ib = b;
+                    tasks.add(Executors.callable(() -> {
+                        for (int jb = 0; jb < numBlocks; jb++) {
+                            if (jb != k) {
+                                update(ib, jb, k);
+                            }
+                        }
+                    }));
+                }
+                invokeAll(executor, tasks);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        checkNegativeCycles(withPaths);
+    }
+
+    private void invokeAll(ExecutorService executor, List<Callable<Object>> tasks) {
+        try {
+            for (Future<?> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    //updates the block (ib, jb) using the intermediate vertices of the block kb
+    private void update(int ib, int jb, int kb) {
+        int iFrom = ib * blockSize, iTo = Math.min(iFrom + blockSize, n);
+        int jFrom = jb * blockSize, jTo = Math.min(jFrom + blockSize, n);
+        int kFrom = kb * blockSize, kTo = Math.min(kFrom + blockSize, n);
+        for (int k = kFrom; k < kTo; k++) {
+            int kRow = k * n;
+            for (int i = iFrom; i < iTo; i++) {
+                int iRow = i * n;
+                double cik = cost[iRow + k];
+                if (cik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int j = jFrom; j < jTo; j++) {
+                    double newCost = cik + cost[kRow + j];
+                    if (cost[iRow + j] > newCost) {
+                        cost[iRow + j] = newCost;
+                        if (before != null) {
+                            before[iRow + j] = before[kRow + j];
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void checkNegativeCycles(boolean withPaths) {
+        for (int i = 0; i < n; i++) {
+            if (cost[i * n + i] >= 0) {
+                continue;
+            }
+            if (!withPaths) {
+                //the predecessors are needed in order to create the cycle
+                compute(true);
+                return;
+            }
+            var cycle = new Cycle(graph);
+            int ui = i;
+            while (!cycle.contains(graph.vertexAt(ui))) {
+                cycle.add(graph.vertexAt(ui));
+                ui = before[i * n + ui];
+            }
+            if (directed || cycle.length() > 2) {
+                throw new NegativeCycleException(cycle);
+            }
+        }
+    }
+}
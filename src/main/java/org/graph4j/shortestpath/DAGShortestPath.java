@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.Arrays;
+import org.graph4j.Digraph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.traversal.TopologicalOrderIterator;
+import org.graph4j.util.Path;
+import org.graph4j.util.Validator;
+
+/**
+ * Determines the shortest (or the longest) paths starting in a source, in a
+ * directed acyclic graph. The vertices are processed in topological order and
+ * the edges leaving each vertex are relaxed only once, so the algorithm runs in
+ * O(n + m) time, without using a heap. The edge weights may be negative.
+ *
+ * <p>
+ * The longest paths are well defined in DAGs; in case of project scheduling,
+ * where the weights are the durations of the tasks, they represent the
+ * <i>critical paths</i>.
+ *
+ * <p>
+ * For the vertices that are not reachable from the source, the weight of the
+ * path is {@code Double.POSITIVE_INFINITY}, in both modes. If the digraph is
+ * not acyclic, an {@code IllegalArgumentException} is thrown.
+ *
+ * @see ParallelDAGShortestPath
+ * @author Cristian Frăsinaru
+ */
+public class DAGShortestPath extends GraphAlgorithm implements SingleSourceShortestPath {
+
+    protected final int source;
+    protected final boolean longest;
+    protected double[] cost;
+    protected int[] before;
+    protected int[] size; //the number of edges of the paths
+
+    /**
+     * Creates an algorithm to find all the shortest paths starting in the
+     * source.
+     *
+     * @param graph the input directed acyclic graph.
+     * @param source the source vertex number.
+     */
+    public DAGShortestPath(Digraph graph, int source) {
+        this(graph, source, false);
+    }
+
+    /**
+     * Creates an algorithm to find all the shortest or all the longest paths
+     * starting in the source.
+     *
+     * @param graph the input directed acyclic graph.
+     * @param source the source vertex number.
+     * @param longest {@code true} for computing the longest paths,
+     * {@code false} for computing the shortest ones.
+     */
+    public DAGShortestPath(Digraph graph, int source, boolean longest) {
+        super(graph);
+        Validator.containsVertex(graph, source);
+        this.source = source;
+        this.longest = longest;
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     *
+     * @return {@code true} if the algorithm computes the longest paths.
+     */
+    public boolean isLongest() {
+        return longest;
+    }
+
+    @Override
+    public Path findPath(int target) {
+        Validator.containsVertex(graph, target);
+        if (cost == null) {
+            compute();
+        }
+        int vi = graph.indexOf(target);
+        if (cost[vi] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        var path = new Path(graph, size[vi] + 1);
+        for (; vi >= 0; vi = before[vi]) {
+            path.add(graph.vertexAt(vi));
+        }
+        path.reverse();
+        return path;
+    }
+
+    @Override
+    public double getPathWeight(int target) {
+        Validator.containsVertex(graph, target);
+        if (cost == null) {
+            compute();
+        }
+        return cost[graph.indexOf(target)];
+    }
+
+    @Override
+    public double[] getPathWeights() {
+        if (cost == null) {
+            compute();
+        }
+        return cost;
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree() {
+        if (cost == null) {
+            compute();
+        }
+        return new ShortestPathTree(graph, source, cost, before, size);
+    }
+
+    //the initial cost of the vertices not yet reached
+    protected double unreached() {
+        return longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+    }
+
+    protected boolean isBetter(double newCost, double oldCost) {
+        return longest ? newCost > oldCost : newCost < oldCost;
+    }
+
+    protected void init() {
+        int n = graph.numVertices();
+        this.cost = new double[n];
+        this.before = new int[n];
+        this.size = new int[n];
+        Arrays.fill(cost, unreached());
+        Arrays.fill(before, -1);
+        cost[graph.indexOf(source)] = 0;
+    }
+
+    protected void compute() {
+        init();
+        var digraph = (Digraph) graph;
+        double none = unreached();
+        for (var topo = new TopologicalOrderIterator(digraph); topo.hasNext();) {
+            int v = topo.next();
+            int vi = graph.indexOf(v);
+            if (cost[vi] == none) {
+                continue;
+            }
+            for (var it = digraph.successorIterator(v); it.hasNext();) {
+                int ui = graph.indexOf(it.next());
+                double newCost = cost[vi] + it.getEdgeWeight();
+                if (isBetter(newCost, cost[ui])) {
+                    cost[ui] = newCost;
+                    before[ui] = vi;
+                    size[ui] = size[vi] + 1;
+                }
+            }
+        }
+        finish();
+    }
+
+    //marks the unreachable vertices
+    protected void finish() {
+        double none = unreached();
+        for (int vi = 0; vi < cost.length; vi++) {
+            if (cost[vi] == none) {
+                cost[vi] = Double.POSITIVE_INFINITY;
+                before[vi] = -1;
+            }
+        }
+    }
+}
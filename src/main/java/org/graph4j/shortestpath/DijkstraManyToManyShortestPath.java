@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.IntHashMap;
+import org.graph4j.util.Validator;
+
+/**
+ * Computes the weights of the shortest paths between a set of sources and a set
+ * of targets, using a Dijkstra search from each source. Each search stops as
+ * soon as all the targets are solved (multi-target early termination), so only
+ * the region of the graph around the sources and targets is explored.
+ *
+ * <p>
+ * The sources are processed in parallel. Each thread owns a workspace (costs,
+ * heap) that is reused between searches: only the entries touched by a search
+ * are reset, so a search does not pay for the size of the graph.
+ *
+ * <p>
+ * The graph must not contain negative weighted edges. If the graph has no
+ * weights, each edge is considered to have the weight 1.
+ *
+ * @see ManyToManyShortestPath
+ * @author Cristian Frăsinaru
+ */
+public class DijkstraManyToManyShortestPath extends GraphAlgorithm
+        implements ManyToManyShortestPath {
+
+    private final int[] sources;
+    private final int[] targets;
+    private final int numThreads;
+    private IntHashMap sourcePos;
+    private IntHashMap targetPos;
+    private int[] targetCol; //targetCol[vi] = the column of the target vi, or -1
+    private double[] weights;
+
+    /**
+     * Creates an algorithm for computing the shortest paths between the
+     * sources and the targets, using all the available processors.
+     *
+     * @param graph the input graph.
+     * @param sources the source vertices.
+     * @param targets the target vertices.
+     */
+    public DijkstraManyToManyShortestPath(Graph graph, int[] sources, int[] targets) {
+        this(graph, sources, targets, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an algorithm for computing the shortest paths between the
+     * sources and the targets, using a specified number of threads.
+     *
+     * @param graph the input graph.
+     * @param sources the source vertices.
+     * @param targets the target vertices.
+     * @param numThreads the number of threads.
+     */
+    public DijkstraManyToManyShortestPath(Graph graph, int[] sources, int[] targets, int numThreads) {
+        super(graph);
+        Validator.containsVertices(graph, sources);
+        Validator.containsVertices(graph, targets);
+        Validator.hasNoDuplicates(sources);
+        Validator.hasNoDuplicates(targets);
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        if ((long) sources.length * targets.length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The distance matrix is too large: "
+                    + sources.length + " x " + targets.length);
+        }
+        this.sources = sources.clone();
+        this.targets = targets.clone();
+        this.numThreads = numThreads;
+    }
+
+    @Override
+    public int[] getSources() {
+        return sources.clone();
+    }
+
+    @Override
+    public int[] getTargets() {
+        return targets.clone();
+    }
+
+    @Override
+    public double getPathWeight(int source, int target) {
+        if (weights == null) {
+            compute();
+        }
+        int i = sourcePos.getOrDefault(source, -1);
+        int j = targetPos.getOrDefault(target, -1);
+        if (i < 0 || j < 0) {
+            throw new IllegalArgumentException(
+                    "The vertices are not a source and a target: " + source + ", " + target);
+        }
+        return weights[i * targets.length + j];
+    }
+
+    @Override
+    public double[] getPathWeights() {
+        if (weights == null) {
+            compute();
+        }
+        return weights;
+    }
+
+    private void compute() {
+        int n = graph.numVertices();
+        int k = targets.length;
+        this.weights = new double[sources.length * k];
+        Arrays.fill(weights, Double.POSITIVE_INFINITY);
+        this.sourcePos = new IntHashMap(sources.length);
+        this.targetPos = new IntHashMap(k);
+        this.targetCol = new int[n];
+        Arrays.fill(targetCol, -1);
+        for (int i = 0; i < sources.length; i++) {
+            sourcePos.put(sources[i], i);
+        }
+        for (int j = 0; j < k; j++) {
+            targetPos.put(targets[j], j);
+            targetCol[graph.indexOf(targets[j])] = j;
+        }
+        if (sources.length == 0 || k == 0) {
+            return;
+        }
+        //the workers take the sources one by one
+        var next = new AtomicInteger();
+        int threads = Math.min(numThreads, sources.length);
+        var executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tasks.add(executor.submit(() -> {
+                var workspace = new DijkstraWorkspace(graph);
+                int i;
+                while ((i = next.getAndIncrement()) < sources.length) {
+                    workspace.search(graph.indexOf(sources[i]), targetCol, k);
+                    int offset = i * k;
+                    for (int j = 0; j < k; j++) {
+                        weights[offset + j] = workspace.cost[graph.indexOf(targets[j])];
+                    }
+                }
+            }));
+        }
+        executor.shutdown();
+        try {
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.Path;
+import org.graph4j.util.Validator;
+import org.graph4j.util.VertexHeap;
+import org.graph4j.util.VertexSet;
+
+/**
+ * Dijkstra's algorithm starting simultaneously from a set of sources. Each
+ * source may have an initial offset, which is added to the weights of all the
+ * paths starting in it (by default, the offsets are 0). The heap is seeded with
+ * all the sources, so the result is the same as the one obtained by adding a
+ * super-source connected to each source by an edge weighted with its offset,
+ * without modifying or copying the graph.
+ *
+ * <p>
+ * For each vertex, the algorithm determines its nearest source, the distance
+ * to it (including the offset) and the predecessor on the corresponding
+ * shortest path. The vertices having the same nearest source form the regions
+ * of the <i>graph Voronoi diagram</i> of the sources, see
+ * {@link #getVoronoiRegions()}. Ties are broken arbitrarily.
+ *
+ * <p>
+ * The graph must not contain negative weighted edges. If the graph has no
+ * weights, each edge is considered to have the weight 1. In case of directed
+ * graphs, the paths start in the sources.
+ *
+ * @author Cristian Frăsinaru
+ */
+public class DijkstraMultiSourceShortestPath extends GraphAlgorithm {
+
+    private final int[] sources;
+    private final double[] offsets;
+    private double[] cost;
+    private int[] before; //the index of the predecessor, -1 for the sources and unreachable vertices
+    private int[] nearest; //the position of the nearest source, -1 for unreachable vertices
+
+    /**
+     * Creates an algorithm for computing the shortest paths starting in any
+     * of the sources.
+     *
+     * @param graph the input graph.
+     * @param sources the source vertices.
+     */
+    public DijkstraMultiSourceShortestPath(Graph graph, int[] sources) {
+        this(graph, sources, new double[sources.length]);
+    }
+
+    /**
+     * Creates an algorithm for computing the shortest paths starting in any
+     * of the sources, each source having an initial offset.
+     *
+     * @param graph the input graph.
+     * @param sources the source vertices.
+     * @param offsets the initial offsets of the sources.
+     */
+    public DijkstraMultiSourceShortestPath(Graph graph, int[] sources, double[] offsets) {
+        super(graph);
+        Validator.containsVertices(graph, sources);
+        Validator.hasNoDuplicates(sources);
+        if (sources.length == 0) {
+            throw new IllegalArgumentException("At least one source is required.");
+        }
+        if (offsets.length != sources.length) {
+            throw new IllegalArgumentException(
+                    "The number of offsets must be equal to the number of sources.");
+        }
+        for (double offset : offsets) {
+            if (Double.isNaN(offset)) {
+                throw new IllegalArgumentException("Invalid offset: " + offset);
+            }
+        }
+        this.sources = sources.clone();
+        this.offsets = offsets.clone();
+    }
+
+    /**
+     *
+     * @return the source vertices.
+     */
+    public int[] getSources() {
+        return sources.clone();
+    }
+
+    /**
+     * Returns the source nearest to a vertex.
+     *
+     * @param v a vertex number.
+     * @return the nearest source, or -1 if the vertex is not reachable from
+     * any source.
+     */
+    public int getNearestSource(int v) {
+        int vi = index(v);
+        int k = nearest[vi];
+        return k < 0 ? -1 : sources[k];
+    }
+
+    /**
+     * Returns the weight of the shortest path from the nearest source to a
+     * vertex, including the offset of the source.
+     *
+     * @param v a vertex number.
+     * @return the distance from the nearest source to the vertex, or
+     * {@code Double.POSITIVE_INFINITY} if the vertex is not reachable.
+     */
+    public double getPathWeight(int v) {
+        int vi = index(v);
+        return cost[vi];
+    }
+
+    /**
+     * Returns the weights of the shortest paths from the nearest sources to all
+     * the vertices, including the offsets.
+     *
+     * @return an array indexed by vertex indices.
+     */
+    public double[] getPathWeights() {
+        if (cost == null) {
+            compute();
+        }
+        return cost.clone();
+    }
+
+    /**
+     * Returns the vertex preceding a vertex on the shortest path from its
+     * nearest source.
+     *
+     * @param v a vertex number.
+     * @return the predecessor of the vertex, or -1 if the vertex starts its own
+     * shortest path or is not reachable.
+     */
+    public int getPredecessor(int v) {
+        int vi = index(v);
+        int ui = before[vi];
+        return ui < 0 ? -1 : graph.vertexAt(ui);
+    }
+
+    /**
+     * Returns the shortest path from the nearest source to a vertex.
+     *
+     * @param v a vertex number.
+     * @return the shortest path from the nearest source to the vertex, or
+     * {@code null} if the vertex is not reachable.
+     */
+    public Path findPath(int v) {
+        int vi = index(v);
+        if (nearest[vi] < 0) {
+            return null;
+        }
+        var path = new Path(graph);
+        for (int ui = vi; ui >= 0; ui = before[ui]) {
+            path.add(graph.vertexAt(ui));
+        }
+        path.reverse();
+        return path;
+    }
+
+    /**
+     * Returns the regions of the graph Voronoi diagram: the region of a source
+     * contains the vertices for which that source is the nearest one. The
+     * vertices that are not reachable from any source do not belong to any
+     * region.
+     *
+     * @return a list of vertex sets, the i-th set being the region of the i-th
+     * source.
+     */
+    public List<VertexSet> getVoronoiRegions() {
+        if (cost == null) {
+            compute();
+        }
+        List<VertexSet> regions = new ArrayList<>(sources.length);
+        for (int k = 0; k < sources.length; k++) {
+            regions.add(new VertexSet(graph));
+        }
+        for (int vi = 0, n = nearest.length; vi < n; vi++) {
+            if (nearest[vi] >= 0) {
+                regions.get(nearest[vi]).add(graph.vertexAt(vi));
+            }
+        }
+        return regions;
+    }
+
+    private int index(int v) {
+        Validator.containsVertex(graph, v);
+        if (cost == null) {
+            compute();
+        }
+        return graph.indexOf(v);
+    }
+
+    private void compute() {
+        int n = graph.numVertices();
+        this.cost = new double[n];
+        this.before = new int[n];
+        this.nearest = new int[n];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(before, -1);
+        Arrays.fill(nearest, -1);
+        boolean[] solved = new boolean[n];
+        var heap = new VertexHeap(graph, false, (i, j) -> (int) Math.signum(cost[i] - cost[j]));
+        for (int k = 0; k < sources.length; k++) {
+            int si = graph.indexOf(sources[k]);
+            cost[si] = offsets[k];
+            nearest[si] = k;
+            heap.add(si);
+        }
+        while (!heap.isEmpty()) {
+            int vi = heap.poll();
+            if (cost[vi] == Double.POSITIVE_INFINITY) {
+                break; //the remaining sources have infinite offsets
+            }
+            solved[vi] = true;
+            int v = graph.vertexAt(vi);
+            for (var it = graph.neighborIterator(v); it.hasNext();) {
+                int u = it.next();
+                int ui = graph.indexOf(u);
+                if (solved[ui]) {
+                    continue;
+                }
+                double weight = it.getEdgeWeight();
+                if (weight < 0) {
+                    throw new IllegalArgumentException(
+                            "Negative weighted edges are not permited: " + graph.edge(v, u));
+                }
+                double newCost = cost[vi] + weight;
+                if (newCost < cost[ui]) {
+                    cost[ui] = newCost;
+                    before[ui] = vi;
+                    nearest[ui] = nearest[vi];
+                    heap.addOrUpdate(ui);
+                }
+            }
+        }
+        for (int vi = 0; vi < n; vi++) {
+            if (cost[vi] == Double.POSITIVE_INFINITY) {
+                nearest[vi] = -1;
+                before[vi] = -1;
+            }
+        }
+    }
+}
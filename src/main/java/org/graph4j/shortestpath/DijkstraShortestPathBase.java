@@ -99,6 +99,14 @@ public abstract class DijkstraShortestPathBase extends GraphAlgorithm
         return cost;
     }
 
+    @Override
+    public ShortestPathTree getShortestPathTree() {
+        if (cost == null || numSolved < vertices.length) {
+            compute(-1);
+        }
+        return new ShortestPathTree(graph, source, cost, before, size);
+    }
+
     protected void preCompute() {
     }
 
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.Arrays;
+import org.graph4j.Graph;
+import org.graph4j.util.VertexHeap;
+
+/**
+ * The data structures of a Dijkstra search (costs, predecessors, heap), meant
+ * to be reused for many searches on the same graph, by the same thread. Only
+ * the entries touched by a search are reset before the next one, so a search
+ * does not pay for the size of the graph.
+ *
+ * Vertices and edges can be temporarily excluded from the searches, using
+ * masks, without modifying the graph.
+ *
+ * All the arrays are indexed by vertex indices.
+ *
+ * @author Cristian Frăsinaru
+ */
+class DijkstraWorkspace {
+
+    final Graph graph;
+    final double[] cost;
+    final int[] before;
+    final boolean[] solved;
+    final int[] touched; //the indices of the vertices reached by the last search
+    int numTouched;
+    private final VertexHeap heap;
+    //vertexMask[vi] == mask means that vi is blocked
+    private int[] vertexMask;
+    //succMask[ui] == mask means that the edges from the source to ui are blocked
+    private int[] succMask;
+    private int mask;
+    private boolean masked;
+
+    DijkstraWorkspace(Graph graph) {
+        this.graph = graph;
+        int n = graph.numVertices();
+        this.cost = new double[n];
+        this.before = new int[n];
+        this.solved = new boolean[n];
+        this.touched = new int[n];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        this.heap = new VertexHeap(graph, false, (i, j) -> (int) Math.signum(cost[i] - cost[j]));
+    }
+
+    /**
+     * Runs a search from the vertex with the index {@code si}, after resetting
+     * the previous one. If {@code targetCol} is not null, the search stops as
+     * soon as all the vertices {@code vi} having {@code targetCol[vi] >= 0}
+     * are solved.
+     *
+     * @param si the index of the source.
+     * @param targetCol marks the targets, may be null.
+     * @param numTargets the number of marked targets.
+     */
+    void search(int si, int[] targetCol, int numTargets) {
+        search(si, -1, targetCol, numTargets);
+    }
+
+    /**
+     * Runs a search from the vertex with the index {@code si}, after resetting
+     * the previous one, stopping as soon as the vertex with the index
+     * {@code ti} is solved.
+     *
+     * @param si the index of the source.
+     * @param ti the index of the target.
+     */
+    void search(int si, int ti) {
+        search(si, ti, null, 0);
+    }
+
+    private void search(int si, int ti, int[] targetCol, int numTargets) {
+        reset();
+        int remaining = numTargets;
+        cost[si] = 0;
+        before[si] = -1;
+        touched[numTouched++] = si;
+        heap.add(si);
+        while (!heap.isEmpty()) {
+            int vi = heap.poll();
+            solved[vi] = true;
+            if (vi == ti || (targetCol != null && targetCol[vi] >= 0 && --remaining == 0)) {
+                break;
+            }
+            int v = graph.vertexAt(vi);
+            for (var it = graph.neighborIterator(v); it.hasNext();) {
+                int u = it.next();
+                int ui = graph.indexOf(u);
+                if (solved[ui] || (masked && (vertexMask[ui] == mask
+                        || (vi == si && succMask[ui] == mask)))) {
+                    continue;
+                }
+                double weight = it.getEdgeWeight();
+                if (weight < 0) {
+                    throw new IllegalArgumentException(
+                            "Negative weighted edges are not permited: " + graph.edge(v, u));
+                }
+                double newCost = cost[vi] + weight;
+                if (cost[ui] > newCost) {
+                    if (cost[ui] == Double.POSITIVE_INFINITY) {
+                        touched[numTouched++] = ui;
+                    }
+                    cost[ui] = newCost;
+                    before[ui] = vi;
+                    heap.addOrUpdate(ui);
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts a new mask: the vertices and edges blocked from now on are
+     * ignored by the searches, until {@link #clearMask()} is invoked. Creating
+     * a new mask takes constant time.
+     */
+    void newMask() {
+        if (vertexMask == null) {
+            int n = graph.numVertices();
+            vertexMask = new int[n];
+            succMask = new int[n];
+        }
+        mask++;
+        masked = true;
+    }
+
+    /**
+     * Blocks a vertex, for the current mask.
+     *
+     * @param vi a vertex index.
+     */
+    void blockVertex(int vi) {
+        vertexMask[vi] = mask;
+    }
+
+    /**
+     * Blocks the edges from the source of the next search to the specified
+     * vertex, for the current mask.
+     *
+     * @param ui a vertex index.
+     */
+    void blockEdgeFromSource(int ui) {
+        succMask[ui] = mask;
+    }
+
+    /**
+     * The next searches will not use any mask.
+     */
+    void clearMask() {
+        masked = false;
+    }
+
+    //resets only what was touched by the last search
+    void reset() {
+        heap.clear();
+        for (int p = 0; p < numTouched; p++) {
+            int vi = touched[p];
+            cost[vi] = Double.POSITIVE_INFINITY;
+            solved[vi] = false;
+        }
+        numTouched = 0;
+    }
+}
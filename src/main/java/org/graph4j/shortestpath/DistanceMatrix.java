@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.Arrays;
+
+/**
+ * A compact matrix of distances in an unweighted graph (number of edges). The
+ * entries are stored using one, two or four bytes each, depending on the
+ * maximum distance that must be represented. The rows correspond to source
+ * vertices and the columns to vertex indices.
+ *
+ * @see MultiSourceBFS
+ * @author Cristian Frăsinaru
+ */
+public class DistanceMatrix {
+
+    /**
+     * The value returned for unreachable vertices.
+     */
+    public static final int INFINITY = Integer.MAX_VALUE;
+    private static final int BYTE_MAX = 0xFE; //0xFF is infinity
+    private static final int SHORT_MAX = 0xFFFE; //0xFFFF is infinity
+    private final int numRows;
+    private final int numCols;
+    private final int bytesPerEntry;
+    private byte[][] bytes;
+    private short[][] shorts;
+    private int[][] ints;
+
+    /**
+     * Creates a matrix able to store distances up to {@code maxDistance}, all
+     * entries being initially {@link #INFINITY}.
+     *
+     * @param numRows the number of rows.
+     * @param numCols the number of columns.
+     * @param maxDistance the maximum distance that will be stored.
+     */
+    DistanceMatrix(int numRows, int numCols, int maxDistance) {
+        this.numRows = numRows;
+        this.numCols = numCols;
+        if (maxDistance <= BYTE_MAX) {
+            bytesPerEntry = 1;
+            bytes = new byte[numRows][numCols];
+            for (byte[] row : bytes) {
+                Arrays.fill(row, (byte) 0xFF);
+            }
+        } else if (maxDistance <= SHORT_MAX) {
+            bytesPerEntry = 2;
+            shorts = new short[numRows][numCols];
+            for (short[] row : shorts) {
+                Arrays.fill(row, (short) 0xFFFF);
+            }
+        } else {
+            bytesPerEntry = 4;
+            ints = new int[numRows][numCols];
+            for (int[] row : ints) {
+                Arrays.fill(row, INFINITY);
+            }
+        }
+    }
+
+    /**
+     *
+     * @return the number of rows.
+     */
+    public int numRows() {
+        return numRows;
+    }
+
+    /**
+     *
+     * @return the number of columns.
+     */
+    public int numCols() {
+        return numCols;
+    }
+
+    /**
+     *
+     * @return the number of bytes used to store an entry: 1, 2 or 4.
+     */
+    public int bytesPerEntry() {
+        return bytesPerEntry;
+    }
+
+    /**
+     *
+     * @return the maximum distance that can be stored in this matrix.
+     */
+    public int maxDistance() {
+        switch (bytesPerEntry) {
+            case 1:
+                return BYTE_MAX;
+            case 2:
+                return SHORT_MAX;
+            default:
+                return INFINITY - 1;
+        }
+    }
+
+    /**
+     * Returns the distance stored at the specified position.
+     *
+     * @param row a row number.
+     * @param col a column number.
+     * @return the distance, or {@link #INFINITY} if the vertices are not
+     * connected.
+     */
+    public int get(int row, int col) {
+        int d;
+        switch (bytesPerEntry) {
+            case 1:
+                d = bytes[row][col] & 0xFF;
+                return d == 0xFF ? INFINITY : d;
+            case 2:
+                d = shorts[row][col] & 0xFFFF;
+                return d == 0xFFFF ? INFINITY : d;
+            default:
+                return ints[row][col];
+        }
+    }
+
+    void set(int row, int col, int d) {
+        switch (bytesPerEntry) {
+            case 1:
+                bytes[row][col] = (byte) d;
+                break;
+            case 2:
+                shorts[row][col] = (short) d;
+                break;
+            default:
+                ints[row][col] = d;
+        }
+    }
+
+    /**
+     * Creates a matrix of {@code double} values, in which the unreachable
+     * vertices have the distance {@code Double.POSITIVE_INFINITY}.
+     *
+     * @return a new matrix of {@code double} values.
+     */
+    public double[][] toDoubleMatrix() {
+        double[][] result = new double[numRows][numCols];
+        for (int i = 0; i < numRows; i++) {
+            for (int j = 0; j < numCols; j++) {
+                int d = get(i, j);
+                result[i][j] = d == INFINITY ? Double.POSITIVE_INFINITY : d;
+            }
+        }
+        return result;
+    }
+}
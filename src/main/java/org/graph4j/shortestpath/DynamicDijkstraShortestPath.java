@@ -0,0 +1,302 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.Arrays;
+import org.graph4j.Digraph;
+import org.graph4j.Graph;
+import org.graph4j.util.Path;
+import org.graph4j.util.VertexHeap;
+
+/**
+ * Dijkstra's algorithm that maintains the shortest path tree from a source
+ * when the weights of the edges change. The weights must be modified using
+ * {@link #setEdgeWeight(int, int, double)}; the changes are accumulated and the
+ * tree is repaired in a single step, before the next query (or when
+ * {@link #repair()} is explicitly invoked).
+ *
+ * <p>
+ * When the weight of a tree edge increases, the vertices in the subtree below
+ * it are <i>affected</i>: their costs are recomputed starting from their
+ * predecessors outside the subtree. When the weight of an edge decreases, the
+ * cost of its endpoint may improve. Both cases are then handled by a single
+ * Dijkstra-like propagation, that touches only the vertices whose costs
+ * actually change. The children of each vertex in the tree are stored as
+ * linked lists, so the affected subtrees are found without scanning the whole
+ * tree.
+ *
+ * G. Ramalingam, T. Reps, "An incremental algorithm for a generalization of
+ * the shortest-path problem", Journal of Algorithms, 1996.
+ *
+ * @author Cristian Frăsinaru
+ */
+public class DynamicDijkstraShortestPath extends DijkstraShortestPathHeap {
+
+    //the tree, as linked lists of children
+    private int[] firstChild;
+    private int[] nextSibling;
+    private int[] prevSibling;
+    //
+    private int[] changedTail = new int[8];
+    private int[] changedHead = new int[8];
+    private double[] oldWeight = new double[8];
+    private int numChanged;
+    //
+    private VertexHeap repairHeap;
+    private int[] affected;
+    private int stamp;
+    private int[] stack;
+
+    /**
+     * Creates an algorithm that maintains the shortest paths starting in the
+     * source.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     */
+    public DynamicDijkstraShortestPath(Graph graph, int source) {
+        super(graph, source);
+    }
+
+    /**
+     * Sets the weight of an edge, recording the change in order to repair the
+     * shortest paths tree.
+     *
+     * @param v the first endpoint of the edge.
+     * @param u the second endpoint of the edge.
+     * @param weight the new weight of the edge.
+     */
+    public void setEdgeWeight(int v, int u, double weight) {
+        if (!graph.containsEdge(v, u)) {
+            throw new IllegalArgumentException("The edge does not exist: " + v + "-" + u);
+        }
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weighted edges are not permited: " + weight);
+        }
+        double old = graph.getEdgeWeight(v, u);
+        graph.setEdgeWeight(v, u, weight);
+        if (cost == null) {
+            return; //nothing computed yet
+        }
+        if (numChanged == changedTail.length) {
+            changedTail = Arrays.copyOf(changedTail, 2 * numChanged);
+            changedHead = Arrays.copyOf(changedHead, 2 * numChanged);
+            oldWeight = Arrays.copyOf(oldWeight, 2 * numChanged);
+        }
+        changedTail[numChanged] = graph.indexOf(v);
+        changedHead[numChanged] = graph.indexOf(u);
+        oldWeight[numChanged] = old;
+        numChanged++;
+    }
+
+    @Override
+    public Path computePath(int target) {
+        return findPath(target);
+    }
+
+    @Override
+    public Path findPath(int target) {
+        repair();
+        return super.findPath(target);
+    }
+
+    @Override
+    public double getPathWeight(int target) {
+        repair();
+        return super.getPathWeight(target);
+    }
+
+    @Override
+    public double[] getPathWeights() {
+        repair();
+        return super.getPathWeights();
+    }
+
+    @Override
+    public ShortestPathTree getShortestPathTree() {
+        repair();
+        return super.getShortestPathTree();
+    }
+
+    @Override
+    protected void compute(int target) {
+        //the tree must be complete in order to be repaired
+        super.compute(-1);
+        int n = vertices.length;
+        this.firstChild = new int[n];
+        this.nextSibling = new int[n];
+        this.prevSibling = new int[n];
+        Arrays.fill(firstChild, -1);
+        for (int vi = 0; vi < n; vi++) {
+            if (cost[vi] == Double.POSITIVE_INFINITY) {
+                before[vi] = -1;
+            }
+            if (before[vi] >= 0) {
+                link(vi, before[vi]);
+            }
+        }
+        numChanged = 0;
+    }
+
+    /**
+     * Repairs the shortest paths tree, after some edge weights have changed.
+     * It is invoked automatically before each query.
+     *
+     * @return the number of vertices whose cost was recomputed.
+     */
+    public int repair() {
+        if (cost == null) {
+            compute(-1);
+            return vertices.length;
+        }
+        if (numChanged == 0) {
+            return 0;
+        }
+        int n = vertices.length;
+        if (repairHeap == null) {
+            repairHeap = new VertexHeap(graph, false, (i, j) -> (int) Math.signum(cost[i] - cost[j]));
+            affected = new int[n];
+            stack = new int[n];
+        }
+        stamp++;
+        //the subtrees below the tree edges whose weights increased
+        int numAffected = 0;
+        int[] list = stack;
+        for (int k = 0; k < numChanged; k++) {
+            int vi = changedTail[k], ui = changedHead[k];
+            double weight = graph.getEdgeWeight(vertices[vi], vertices[ui]);
+            if (weight <= oldWeight[k]) {
+                continue;
+            }
+            if (before[ui] == vi) {
+                numAffected = collectSubtree(ui, list, numAffected);
+            } else if (!directed && before[vi] == ui) {
+                numAffected = collectSubtree(vi, list, numAffected);
+            }
+        }
+        for (int i = 0; i < numAffected; i++) {
+            cost[list[i]] = Double.POSITIVE_INFINITY;
+        }
+        //the best connection of the affected vertices to the rest of the tree
+        for (int i = 0; i < numAffected; i++) {
+            int ui = list[i];
+            int best = -1;
+            double bestCost = Double.POSITIVE_INFINITY;
+            var it = directed
+                    ? ((Digraph) graph).predecessorIterator(vertices[ui])
+                    : graph.neighborIterator(vertices[ui]);
+            while (it.hasNext()) {
+                int wi = graph.indexOf(it.next());
+                if (affected[wi] != stamp && cost[wi] + it.getEdgeWeight() < bestCost) {
+                    bestCost = cost[wi] + it.getEdgeWeight();
+                    best = wi;
+                }
+            }
+            setBefore(ui, best);
+            if (best >= 0) {
+                cost[ui] = bestCost;
+                size[ui] = size[best] + 1;
+                repairHeap.add(ui);
+            }
+        }
+        //the edges whose weights decreased
+        for (int k = 0; k < numChanged; k++) {
+            relax(changedTail[k], changedHead[k], graph.getEdgeWeight(vertices[changedTail[k]], vertices[changedHead[k]]));
+            if (!directed) {
+                relax(changedHead[k], changedTail[k], graph.getEdgeWeight(vertices[changedTail[k]], vertices[changedHead[k]]));
+            }
+        }
+        numChanged = 0;
+        //propagate the changes
+        int count = numAffected;
+        while (!repairHeap.isEmpty()) {
+            int vi = repairHeap.poll();
+            if (affected[vi] != stamp) {
+                affected[vi] = stamp;
+                count++;
+            }
+            for (var it = graph.neighborIterator(vertices[vi]); it.hasNext();) {
+                int ui = graph.indexOf(it.next());
+                relax(vi, ui, it.getEdgeWeight());
+            }
+        }
+        return count;
+    }
+
+    private void relax(int vi, int ui, double weight) {
+        if (cost[vi] + weight < cost[ui]) {
+            cost[ui] = cost[vi] + weight;
+            size[ui] = size[vi] + 1;
+            setBefore(ui, vi);
+            repairHeap.addOrUpdate(ui);
+        }
+    }
+
+    //adds the subtree of ui to the list, if not already there
+    private int collectSubtree(int ui, int[] list, int count) {
+        if (affected[ui] == stamp) {
+            return count;
+        }
+        int from = count;
+        affected[ui] = stamp;
+        list[count++] = ui;
+        for (int i = from; i < count; i++) {
+            for (int ci = firstChild[list[i]]; ci >= 0; ci = nextSibling[ci]) {
+                if (affected[ci] != stamp) {
+                    affected[ci] = stamp;
+                    list[count++] = ci;
+                }
+            }
+        }
+        return count;
+    }
+
+    private void setBefore(int ui, int vi) {
+        if (before[ui] == vi) {
+            return;
+        }
+        if (before[ui] >= 0) {
+            unlink(ui);
+        }
+        before[ui] = vi;
+        if (vi >= 0) {
+            link(ui, vi);
+        }
+    }
+
+    private void link(int ui, int parent) {
+        int first = firstChild[parent];
+        nextSibling[ui] = first;
+        prevSibling[ui] = -1;
+        if (first >= 0) {
+            prevSibling[first] = ui;
+        }
+        firstChild[parent] = ui;
+    }
+
+    private void unlink(int ui) {
+        int prev = prevSibling[ui], next = nextSibling[ui];
+        if (prev >= 0) {
+            nextSibling[prev] = next;
+        } else {
+            firstChild[before[ui]] = next;
+        }
+        if (next >= 0) {
+            prevSibling[next] = prev;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.AdjacencyArrays;
+import org.graph4j.util.Validator;
+import org.graph4j.util.VertexHeap;
+import org.graph4j.util.Walk;
+
+/**
+ * Eppstein's algorithm for enumerating the paths from a source to a target, in
+ * increasing order of their weights. The paths are not necessarily simple,
+ * they may contain repeated vertices (and the target may appear on the path
+ * before its end). The edge weights must not be negative. If the graph
+ * contains cycles reachable from the source and reaching the target, the
+ * number of paths is infinite.
+ *
+ * <p>
+ * A shortest path tree towards the target is computed first. Any path is
+ * uniquely determined by its sequence of <i>sidetracks</i>, the edges not
+ * belonging to the tree; a sidetrack (u,v) increases the weight of the path by
+ * {@code w(u,v) + d(v) - d(u)}, where d is the distance to the target. For
+ * each vertex v, the sidetracks leaving the vertices on the tree path from v
+ * to the target are stored in a persistent heap, that shares its structure
+ * with the heap of the next vertex on the tree path. The paths are then
+ * generated in order by a best-first search in the implicit graph of these
+ * heaps, each step requiring O(log k) time.
+ *
+ * <p>
+ * This implementation uses leftist heaps (instead of the 2-heaps from the
+ * original paper), which makes the preprocessing time O(m + n log n) and the
+ * time required for each path O(log k + l), where l is the length of the path.
+ *
+ * D. Eppstein, "Finding the k shortest paths", SIAM Journal on Computing,
+ * 1998.
+ *
+ * @see YenKShortestPaths
+ * @author Cristian Frăsinaru
+ */
+public class EppsteinKShortestPaths extends GraphAlgorithm implements KShortestPaths<Walk> {
+
+    private final int source;
+    private final int target;
+    private AdjacencyArrays succ;
+    private double[] dist; //the distances to the target
+    private int[] treeNext; //the index of the next vertex on the tree path to the target
+    private Sidetrack[][] outList; //the sidetracks leaving each vertex, sorted
+    private TreeHeap[] treeHeap; //the heaps of the sidetracks leaving the tree path of each vertex
+    private PriorityQueue<State> queue;
+    private boolean first; //the shortest path was not yet returned
+
+    /**
+     * Creates an algorithm that enumerates the paths from the source to the
+     * target.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     * @param target the target vertex number.
+     */
+    public EppsteinKShortestPaths(Graph graph, int source, int target) {
+        super(graph);
+        Validator.containsVertex(graph, source);
+        Validator.containsVertex(graph, target);
+        this.source = source;
+        this.target = target;
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public int getTarget() {
+        return target;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (queue == null) {
+            init();
+        }
+        return first || !queue.isEmpty();
+    }
+
+    @Override
+    public Walk next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int si = graph.indexOf(source);
+        if (first) {
+            first = false;
+            if (treeHeap[si] != null) {
+                queue.add(treeState(dist[si], treeHeap[si], null));
+            }
+            return createWalk(null);
+        }
+        var state = queue.poll();
+        double base = state.weight - state.sidetrack.delta;
+        //replace the last sidetrack with its successors in the heap
+        var node = state.treeNode;
+        if (node != null) {
+            if (node.left != null) {
+                queue.add(treeState(base, node.left, state.prefix));
+            }
+            if (node.right != null) {
+                queue.add(treeState(base, node.right, state.prefix));
+            }
+        }
+        Sidetrack[] list = outList[state.sidetrack.tail];
+        int nextPos = state.listPos + 1;
+        if (nextPos < list.length) {
+            queue.add(new State(base + list[nextPos].delta, null, list[nextPos], nextPos, state.prefix));
+        }
+        //append a new sidetrack, from the tree path of the last sidetrack's head
+        var heap = treeHeap[state.sidetrack.head];
+        if (heap != null) {
+            queue.add(treeState(state.weight, heap, state));
+        }
+        return createWalk(state);
+    }
+
+    private State treeState(double base, TreeHeap node, State prefix) {
+        return new State(base + node.key(), node, node.sidetrack, 0, prefix);
+    }
+
+    private void init() {
+        int n = graph.numVertices();
+        this.succ = AdjacencyArrays.successors(graph, true);
+        this.queue = new PriorityQueue<>((s1, s2) -> Double.compare(s1.weight, s2.weight));
+        int[] order = computeTree();
+        this.first = dist[graph.indexOf(source)] != Double.POSITIVE_INFINITY;
+        if (!first) {
+            return;
+        }
+        //the sidetracks
+        int[] offsets = succ.offsets();
+        int[] targets = succ.targets();
+        double[] weights = succ.weights();
+        this.outList = new Sidetrack[n][];
+        List<Sidetrack> list = new ArrayList<>();
+        for (int ui = 0; ui < n; ui++) {
+            list.clear();
+            if (dist[ui] != Double.POSITIVE_INFINITY) {
+                boolean treeEdge = false;
+                for (int p = offsets[ui], end = offsets[ui + 1]; p < end; p++) {
+                    int vi = targets[p];
+                    if (dist[vi] == Double.POSITIVE_INFINITY) {
+                        continue;
+                    }
+                    double delta = (weights[p] + dist[vi]) - dist[ui];
+                    if (!treeEdge && vi == treeNext[ui] && delta == 0) {
+                        treeEdge = true; //only one of the parallel edges
+                        continue;
+                    }
+                    list.add(new Sidetrack(ui, vi, delta));
+                }
+            }
+            var array = list.toArray(new Sidetrack[0]);
+            Arrays.sort(array, (s1, s2) -> Double.compare(s1.delta, s2.delta));
+            outList[ui] = array;
+        }
+        //the persistent heaps, in increasing order of the distances
+        this.treeHeap = new TreeHeap[n];
+        for (int ui : order) {
+            TreeHeap heap = treeNext[ui] >= 0 ? treeHeap[treeNext[ui]] : null;
+            if (outList[ui].length > 0) {
+                heap = TreeHeap.merge(heap, new TreeHeap(outList[ui][0], null, null));
+            }
+            treeHeap[ui] = heap;
+        }
+    }
+
+    //Dijkstra towards the target, using the incoming edges
+    //returns the vertices reaching the target, in increasing order of their distances
+    private int[] computeTree() {
+        int n = graph.numVertices();
+        var pred = directed ? succ.transpose() : succ;
+        int[] offsets = pred.offsets();
+        int[] sources = pred.targets();
+        double[] weights = pred.weights();
+        this.dist = new double[n];
+        this.treeNext = new int[n];
+        Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        Arrays.fill(treeNext, -1);
+        boolean[] solved = new boolean[n];
+        int[] order = new int[n];
+        int count = 0;
+        var heap = new VertexHeap(graph, false, (i, j) -> (int) Math.signum(dist[i] - dist[j]));
+        int ti = graph.indexOf(target);
+        dist[ti] = 0;
+        heap.add(ti);
+        while (!heap.isEmpty()) {
+            int vi = heap.poll();
+            solved[vi] = true;
+            order[count++] = vi;
+            for (int p = offsets[vi], end = offsets[vi + 1]; p < end; p++) {
+                int ui = sources[p];
+                if (solved[ui]) {
+                    continue;
+                }
+                if (weights[p] < 0) {
+                    throw new IllegalArgumentException(
+                            "Negative weighted edges are not permited: "
+                            + graph.edge(graph.vertexAt(ui), graph.vertexAt(vi)));
+                }
+                double newDist = weights[p] + dist[vi];
+                if (dist[ui] > newDist) {
+                    dist[ui] = newDist;
+                    treeNext[ui] = vi;
+                    heap.addOrUpdate(ui);
+                }
+            }
+        }
+        return Arrays.copyOf(order, count);
+    }
+
+    //follows the tree, taking the sidetracks of the state and of its prefixes
+    private Walk createWalk(State state) {
+        List<Sidetrack> sidetracks = new ArrayList<>();
+        for (var s = state; s != null; s = s.prefix) {
+            sidetracks.add(s.sidetrack);
+        }
+        var walk = new Walk(graph);
+        int vi = graph.indexOf(source);
+        walk.add(source);
+        for (int i = sidetracks.size() - 1; i >= 0; i--) {
+            var st = sidetracks.get(i);
+            while (vi != st.tail) {
+                vi = treeNext[vi];
+                walk.add(graph.vertexAt(vi));
+            }
+            vi = st.head;
+            walk.add(graph.vertexAt(vi));
+        }
+        int ti = graph.indexOf(target);
+        while (vi != ti) {
+            vi = treeNext[vi];
+            walk.add(graph.vertexAt(vi));
+        }
+        return walk;
+    }
+
+    private static class Sidetrack {
+
+        final int tail;
+        final int head;
+        final double delta; //the extra weight
+
+        Sidetrack(int tail, int head, double delta) {
+            this.tail = tail;
+            this.head = head;
+            this.delta = delta;
+        }
+    }
+
+    //a node of a persistent leftist heap, holding the best sidetrack leaving a vertex
+    private static class TreeHeap {
+
+        final Sidetrack sidetrack;
+        final TreeHeap left;
+        final TreeHeap right;
+        final int rank;
+
+        TreeHeap(Sidetrack sidetrack, TreeHeap left, TreeHeap right) {
+            this.sidetrack = sidetrack;
+            //leftist property: the rank of the left child is at least the rank of the right one
+            if (rank(left) < rank(right)) {
+                this.left = right;
+                this.right = left;
+            } else {
+                this.left = left;
+                this.right = right;
+            }
+            this.rank = rank(this.right) + 1;
+        }
+
+        double key() {
+            return sidetrack.delta;
+        }
+
+        static int rank(TreeHeap heap) {
+            return heap == null ? 0 : heap.rank;
+        }
+
+        //creates new nodes only along the right spines, the arguments are not modified
+        static TreeHeap merge(TreeHeap a, TreeHeap b) {
+            if (a == null) {
+                return b;
+            }
+            if (b == null) {
+                return a;
+            }
+            if (b.key() < a.key()) {
+                var temp = a;
+                a = b;
+                b = temp;
+            }
+            return new TreeHeap(a.sidetrack, a.left, merge(a.right, b));
+        }
+    }
+
+    //a node in the implicit graph of the sidetrack sequences
+    private static class State {
+
+        final double weight; //the weight of the path
+        final TreeHeap treeNode; //null for the nodes of an out list
+        final Sidetrack sidetrack; //the last sidetrack
+        final int listPos; //the position of the sidetrack in the out list of its tail
+        final State prefix; //the state of the preceding sidetracks
+
+        State(double weight, TreeHeap treeNode, Sidetrack sidetrack, int listPos, State prefix) {
+            this.weight = weight;
+            this.treeNode = treeNode;
+            this.sidetrack = sidetrack;
+            this.listPos = listPos;
+            this.prefix = prefix;
+        }
+    }
+}
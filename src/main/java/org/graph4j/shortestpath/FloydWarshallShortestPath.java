@@ -32,6 +32,7 @@ import org.graph4j.util.Validator;
  * sparse graphs {@link JohnsonShortestPath} algorithm may perform better.
  *
  * @see JohnsonShortestPath
+ * @see BlockedFloydWarshallShortestPath
  * @author Cristian Frăsinaru
  */
 public class FloydWarshallShortestPath extends GraphAlgorithm
@@ -16,8 +16,18 @@
  */
 package org.graph4j.shortestpath;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.graph4j.Graph;
 import org.graph4j.util.Path;
 import org.graph4j.GraphAlgorithm;
@@ -38,6 +48,11 @@ import org.graph4j.util.Validator;
  * It is best suited for sparse graphs. In case of dense graphs
  * {@link FloydWarshallShortestPath} algorithm may perform better.
  *
+ * <p>
+ * The Dijkstra searches are executed in parallel on the same reweighted graph.
+ * For large graphs, where the n x n matrix does not fit in memory, the rows of
+ * the matrix can be streamed using {@link #computeRows(RowConsumer)} or
+ * written to a file using {@link #writeRows(java.nio.file.Path)}.
  *
  * @see FloydWarshallShortestPath
  * @author Cristian Frăsinaru
@@ -48,8 +63,8 @@ public class JohnsonShortestPath extends GraphAlgorithm
 
     private Graph auxGraph; //Dijkstra will be executed on this graph
     private double[] h; //used to adjust the edge weights
-    private SingleSourceShortestPath[] algs; //Dijkstra alg instances
-    private double[][] weights; //redundant
+    private SingleSourceShortestPath[] algs; //Dijkstra alg instances, created on demand
+    private double[][] weights;
 
     public JohnsonShortestPath(Graph graph) {
         super(graph);
@@ -93,22 +108,30 @@ public class JohnsonShortestPath extends GraphAlgorithm
                 int u = it.next();
                 int ui = auxGraph.indexOf(u);
                 double weight = it.getEdgeWeight(); //of vu
-                it.setEdgeWeight(weight + h[vi] - h[ui]);
+                //the new weights are non-negative, up to rounding errors
+                it.setEdgeWeight(Math.max(0, weight + h[vi] - h[ui]));
             }
         }
         //Use Dijkstra's algorithm with binary heap O(m logn) 
         //to find the shortest paths from each node to every other node in the reweighted graph.
-        //LAZY
+        //LAZY, in parallel, on the same auxiliary graph
     }
 
     @Override
     public Path findPath(int source, int target) {
         Validator.containsVertex(graph, source);
         Validator.containsVertex(graph, target);
-        if (algs == null) {
-            computeAll();
+        int si = graph.indexOf(source);
+        SingleSourceShortestPath dijkstra;
+        synchronized (this) {
+            if (algs == null) {
+                algs = new SingleSourceShortestPath[graph.numVertices()];
+            }
+            dijkstra = algs[si];
+            if (dijkstra == null) {
+                dijkstra = algs[si] = new DijkstraShortestPathHeap(auxGraph, source);
+            }
         }
-        var dijkstra = algs[graph.indexOf(source)];
         Path path = dijkstra.findPath(target);
         if (path != null) {
             path = new Path(graph, path.vertices());
@@ -120,7 +143,7 @@ public class JohnsonShortestPath extends GraphAlgorithm
     public double getPathWeight(int source, int target) {
         Validator.containsVertex(graph, source);
         Validator.containsVertex(graph, target);
-        if (algs == null) {
+        if (weights == null) {
             computeAll();
         }
         int si = graph.indexOf(source);
@@ -137,38 +160,138 @@ public class JohnsonShortestPath extends GraphAlgorithm
      */
     @Override
     public double[][] getPathWeights() {
-        if (algs == null) {
+        if (weights == null) {
             computeAll();
         }
         return weights;
     }
 
-    //runs Dijkstra algorithm from all vertices
+    //runs Dijkstra algorithm from all vertices, storing the rows
     private void computeAll() {
         int n = graph.numVertices();
-        this.algs = new SingleSourceShortestPath[n];
-        this.weights = new double[n][];
-        var executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
-        for (int i = 0; i < n; i++) {
-            final int v = graph.vertexAt(i);
-            executor.submit(() -> compute(v));
+        double[][] rows = new double[n][];
+        computeRows((source, row) -> rows[graph.indexOf(source)] = row.clone());
+        this.weights = rows;
+    }
+
+    /**
+     * Computes the weights of the shortest paths starting in each vertex of the
+     * graph and delivers them, one source at a time, to the specified consumer.
+     * The full matrix is not stored, so this method requires memory
+     * proportional only to the number of threads times the number of vertices.
+     *
+     * <p>
+     * The Dijkstra searches are executed in parallel, on the same reweighted
+     * graph, using all the available processors. The consumer is invoked
+     * concurrently, from multiple threads, so it must be thread-safe. The row
+     * passed to the consumer is reused by the calling thread after the consumer
+     * returns, so it must be copied if it is to be kept.
+     *
+     * @param consumer the consumer of the rows.
+     */
+    public void computeRows(RowConsumer consumer) {
+        computeRows(consumer, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Computes the weights of the shortest paths starting in each vertex of the
+     * graph and delivers them, one source at a time, to the specified consumer,
+     * using the specified number of threads.
+     *
+     * @see #computeRows(RowConsumer)
+     * @param consumer the consumer of the rows.
+     * @param numThreads the number of threads.
+     */
+    public void computeRows(RowConsumer consumer, int numThreads) {
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        int n = graph.numVertices();
+        var next = new AtomicInteger();
+        int threads = Math.max(1, Math.min(numThreads, n));
+        var executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tasks.add(executor.submit(() -> {
+                var workspace = new DijkstraWorkspace(auxGraph);
+                double[] row = new double[n];
+                int vi;
+                while ((vi = next.getAndIncrement()) < n) {
+                    workspace.search(vi, null, 0);
+                    for (int ui = 0; ui < n; ui++) {
+                        row[ui] = workspace.cost[ui] + h[ui] - h[vi];
+                    }
+                    consumer.accept(graph.vertexAt(vi), row);
+                }
+            }));
         }
         executor.shutdown();
         try {
-            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            for (Future<?> task : tasks) {
+                task.get();
+            }
         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
         }
     }
 
-    //runs Dijkstra algorithm from a single vertex, on the auxiliary graph
-    private void compute(int v) {
-        int vi = graph.indexOf(v);
-        var dijkstra = new DijkstraShortestPathHeap(auxGraph, v);
-        algs[vi] = dijkstra;
-        weights[vi] = dijkstra.getPathWeights();
-        for (int ui = 0, n = graph.numVertices(); ui < n; ui++) {
-            weights[vi][ui] += h[ui] - h[vi];
+    /**
+     * Computes the weights of the shortest paths between all pairs of vertices
+     * and writes them in the specified file, as a n x n matrix of
+     * {@code double} values stored in row-major order (the row of the source
+     * with index i starts at the byte offset {@code 8 * i * n}). The file can
+     * be afterwards memory-mapped and read without loading it entirely.
+     *
+     * <p>
+     * The rows are written concurrently, as they are computed, so the matrix is
+     * never kept in memory.
+     *
+     * @param file the output file.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void writeRows(java.nio.file.Path file) throws IOException {
+        int n = graph.numVertices();
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            var buffers = ThreadLocal.withInitial(()
+                    -> ByteBuffer.allocateDirect(8 * n).order(ByteOrder.nativeOrder()));
+            computeRows((source, row) -> {
+                var buffer = buffers.get();
+                buffer.clear();
+                buffer.asDoubleBuffer().put(row);
+                long position = 8L * n * graph.indexOf(source);
+                try {
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
     }
 
+    /**
+     * Receives the weights of the shortest paths starting in a source vertex.
+     */
+    @FunctionalInterface
+    public interface RowConsumer {
+
+        /**
+         * Accepts the weights of the shortest paths starting in a source.
+         *
+         * @param source the source vertex number.
+         * @param row the weights of the shortest paths from the source to all
+         * the vertices, indexed by vertex indices.
+         */
+        void accept(int source, double[] row);
+    }
+
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.graph4j.Graph;
+import org.graph4j.util.Walk;
+
+/**
+ * Contract for algorithms that enumerate the paths from a source to a target in
+ * increasing order of their weights. The paths are created lazily, each
+ * invocation of {@link #next()} computing only the next path. Depending on the
+ * algorithm, the paths may be simple ({@link org.graph4j.util.Path}) or they
+ * may contain repeated vertices ({@link Walk}).
+ *
+ * @param <T> the type of the paths.
+ * @see YenKShortestPaths
+ * @see EppsteinKShortestPaths
+ * @author Cristian Frăsinaru
+ */
+public interface KShortestPaths<T extends Walk> extends Iterator<T> {
+
+    /**
+     * Returns the input graph on which the algorithm is executed.
+     *
+     * @return the input graph.
+     */
+    Graph getGraph();
+
+    /**
+     * Returns the source vertex number.
+     *
+     * @return the source vertex number.
+     */
+    int getSource();
+
+    /**
+     * Returns the target vertex number.
+     *
+     * @return the target vertex number.
+     */
+    int getTarget();
+
+    /**
+     * Returns at most {@code k} of the next paths, in increasing order of their
+     * weights. If invoked on a new instance, it returns the k shortest paths.
+     *
+     * @param k the maximum number of paths.
+     * @return a list containing at most {@code k} paths.
+     */
+    default List<T> nextPaths(int k) {
+        List<T> paths = new ArrayList<>();
+        while (paths.size() < k && hasNext()) {
+            paths.add(next());
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import org.graph4j.Graph;
+
+/**
+ * Contract for many-to-many shortest path algorithms, that is computing the
+ * weights of the shortest paths between every vertex in a set of sources and
+ * every vertex in a set of targets (an origin-destination table).
+ *
+ * <p>
+ * The size of the result is given by the number of sources and targets, and not
+ * by the number of vertices in the graph.
+ *
+ * @see DijkstraManyToManyShortestPath
+ * @author Cristian Frăsinaru
+ */
+public interface ManyToManyShortestPath {
+
+    /**
+     * Returns the input graph on which the algorithm is executed.
+     *
+     * @return the input graph.
+     */
+    Graph getGraph();
+
+    /**
+     * Returns the source vertices, corresponding to the rows of the matrix
+     * returned by {@link #getPathWeights()}.
+     *
+     * @return the source vertex numbers.
+     */
+    int[] getSources();
+
+    /**
+     * Returns the target vertices, corresponding to the columns of the matrix
+     * returned by {@link #getPathWeights()}.
+     *
+     * @return the target vertex numbers.
+     */
+    int[] getTargets();
+
+    /**
+     * Returns the weight of the shortest path from a source to a target.
+     *
+     * @param source a vertex number in the sources set.
+     * @param target a vertex number in the targets set.
+     * @return the weight of the shortest path from the source to the target, or
+     * {@link Double#POSITIVE_INFINITY} if no path exists.
+     */
+    double getPathWeight(int source, int target);
+
+    /**
+     * Returns the weights of the shortest paths between sources and targets,
+     * as a matrix stored in row-major order: the weight of the path from
+     * {@code getSources()[i]} to {@code getTargets()[j]} is at the position
+     * {@code i * getTargets().length + j}.
+     *
+     * @return the weights of the shortest paths between sources and targets.
+     */
+    double[] getPathWeights();
+
+    /**
+     * Returns the default implementation of this interface.
+     *
+     * @param graph the input graph.
+     * @param sources the source vertices.
+     * @param targets the target vertices.
+     * @return the default implementation of this interface.
+     */
+    static ManyToManyShortestPath getInstance(Graph graph, int[] sources, int[] targets) {
+        return new DijkstraManyToManyShortestPath(graph, sources, targets);
+    }
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.AdjacencyArrays;
+import org.graph4j.util.Validator;
+
+/**
+ * Multi-source bit-parallel breadth first search (MS-BFS). Instead of running
+ * one BFS for each source, the sources are processed in batches of
+ * {@code 64 * numWords}, all the searches of a batch sharing the same
+ * traversal of the graph. For each vertex, the sources that have already
+ * reached it and the sources that have it in their current frontier are
+ * represented as bit sets ({@code long} words), so a single scan of an
+ * adjacency list advances the frontiers of all the searches in the batch.
+ *
+ * <p>
+ * The batches are processed in parallel, using the common fork-join pool. The
+ * edge weights, if any, are ignored: the distance between two vertices is the
+ * number of edges on a shortest path.
+ *
+ * <p>
+ * The distances can be stored in a {@link DistanceMatrix}, which uses one or
+ * two bytes per entry when the diameter of the graph allows it, or they can be
+ * aggregated on the fly, as eccentricities or sums of distances, without
+ * storing them at all.
+ *
+ * M. Then, M. Kaufmann, F. Chirigati, T. Hoang-Vu, K. Pham, A. Kemper, T.
+ * Neumann, H. T. Vo, "The More the Merrier: Efficient Multi-Source Graph
+ * Traversal", VLDB 2014.
+ *
+ * @see BFSAllPairsShortestPath
+ * @author Cristian Frăsinaru
+ */
+public class MultiSourceBFS extends GraphAlgorithm {
+
+    private final int numWords;
+    private final int numThreads;
+    private final AdjacencyArrays adj;
+    private volatile boolean stopped;
+
+    /**
+     * Creates the algorithm using batches of 64 sources and all the available
+     * processors.
+     *
+     * @param graph the input graph.
+     */
+    public MultiSourceBFS(Graph graph) {
+        this(graph, 1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates the algorithm using batches of {@code 64 * numWords} sources and
+     * the specified number of threads.
+     *
+     * @param graph the input graph.
+     * @param numWords the number of {@code long} words of a bit set.
+     * @param numThreads the number of threads.
+     */
+    public MultiSourceBFS(Graph graph, int numWords, int numThreads) {
+        super(graph);
+        if (numWords <= 0) {
+            throw new IllegalArgumentException("Invalid number of words: " + numWords);
+        }
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.numWords = numWords;
+        this.numThreads = numThreads;
+        this.adj = AdjacencyArrays.successors(graph);
+    }
+
+    /**
+     * Traverses the graph starting from each of the specified sources. The
+     * visitor is invoked for each source and each vertex reachable from it.
+     * The visitor is invoked concurrently, from multiple threads, but all the
+     * invocations corresponding to a source are made by the same thread, in
+     * increasing order of the levels.
+     *
+     * @param sources the source vertex numbers.
+     * @param visitor the visitor.
+     */
+    public void traverse(int[] sources, Visitor visitor) {
+        run(toIndices(sources), (first, vi, word, bits, level) -> {
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                visitor.visit(first + (word << 6) + bit, vi, level);
+            }
+        });
+    }
+
+    /**
+     * Computes the distances from all the vertices of the graph.
+     *
+     * @return the matrix of distances between all pairs of vertices, indexed
+     * by vertex indices.
+     */
+    public DistanceMatrix distances() {
+        return distances(graph.vertices());
+    }
+
+    /**
+     * Computes the distances from the specified sources to all the vertices of
+     * the graph. The row {@code i} of the matrix corresponds to
+     * {@code sources[i]} and the columns correspond to vertex indices.
+     *
+     * @param sources the source vertex numbers.
+     * @return the matrix of distances from the sources.
+     */
+    public DistanceMatrix distances(int[] sources) {
+        int[] srcIdx = toIndices(sources);
+        int n = graph.numVertices();
+        int maxDistance = estimateMaxDistance();
+        while (true) {
+            var matrix = new DistanceMatrix(srcIdx.length, n, maxDistance);
+            int limit = matrix.maxDistance();
+            stopped = false;
+            run(srcIdx, (first, vi, word, bits, level) -> {
+                if (level > limit) {
+                    stopped = true;
+                    return;
+                }
+                while (bits != 0) {
+                    int bit = Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    matrix.set(first + (word << 6) + bit, vi, level);
+                }
+            });
+            if (!stopped) {
+                return matrix;
+            }
+            //the estimation was too small, use a wider representation
+            maxDistance = limit + 1;
+        }
+    }
+
+    /**
+     * Computes the eccentricities of all the vertices. The eccentricity of a
+     * vertex that cannot reach all the other vertices is
+     * {@link DistanceMatrix#INFINITY}.
+     *
+     * @return the eccentricities, indexed by vertex indices.
+     */
+    public int[] eccentricities() {
+        int n = graph.numVertices();
+        int[] ecc = new int[n];
+        int[] reached = new int[n];
+        run(allIndices(), (first, vi, word, bits, level) -> {
+            while (bits != 0) {
+                int s = first + (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                ecc[s] = level;
+                reached[s]++;
+            }
+        });
+        for (int i = 0; i < n; i++) {
+            if (reached[i] < n) {
+                ecc[i] = DistanceMatrix.INFINITY;
+            }
+        }
+        return ecc;
+    }
+
+    /**
+     * Computes, for each vertex, the sum of the distances to all the vertices
+     * reachable from it. The distances are not stored.
+     *
+     * @return the sums of distances, indexed by vertex indices.
+     */
+    public long[] sumsOfDistances() {
+        long[] sum = new long[graph.numVertices()];
+        run(allIndices(), (first, vi, word, bits, level) -> {
+            while (bits != 0) {
+                int s = first + (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                sum[s] += level;
+            }
+        });
+        return sum;
+    }
+
+    /**
+     * Computes the closeness centrality of all the vertices. The closeness of
+     * a vertex v is {@code (r-1)/s}, where {@code r} is the number of vertices
+     * reachable from v (including v) and {@code s} is the sum of their
+     * distances from v. The closeness of a vertex that reaches no other vertex
+     * is zero.
+     *
+     * @return the closeness centralities, indexed by vertex indices.
+     */
+    public double[] closenessCentralities() {
+        int n = graph.numVertices();
+        long[] sum = new long[n];
+        int[] reached = new int[n];
+        run(allIndices(), (first, vi, word, bits, level) -> {
+            while (bits != 0) {
+                int s = first + (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                sum[s] += level;
+                reached[s]++;
+            }
+        });
+        double[] closeness = new double[n];
+        for (int i = 0; i < n; i++) {
+            closeness[i] = sum[i] == 0 ? 0 : (reached[i] - 1) / (double) sum[i];
+        }
+        return closeness;
+    }
+
+    /**
+     * Computes the sum of the distances between all pairs of connected
+     * vertices, normalized by {@code n(n-1)}, where n is the number of
+     * vertices.
+     *
+     * @return the average path length.
+     */
+    public double averagePathLength() {
+        long total = 0;
+        for (long s : sumsOfDistances()) {
+            total += s;
+        }
+        int n = graph.numVertices();
+        return total / ((double) n * (n - 1));
+    }
+
+    private int[] toIndices(int[] sources) {
+        Validator.containsVertices(graph, sources);
+        int[] srcIdx = new int[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            srcIdx[i] = graph.indexOf(sources[i]);
+        }
+        return srcIdx;
+    }
+
+    private int[] allIndices() {
+        int n = graph.numVertices();
+        int[] srcIdx = new int[n];
+        for (int i = 0; i < n; i++) {
+            srcIdx[i] = i;
+        }
+        return srcIdx;
+    }
+
+    //for undirected graphs, the diameter of a connected component is at most
+    //twice the eccentricity of any of its vertices
+    private int estimateMaxDistance() {
+        int n = graph.numVertices();
+        if (directed) {
+            return Math.min(n - 1, 0xFE);
+        }
+        int[] level = new int[n];
+        int[] queue = new int[n];
+        Arrays.fill(level, -1);
+        int[] offsets = adj.offsets();
+        int[] targets = adj.targets();
+        int max = 0;
+        for (int root = 0; root < n; root++) {
+            if (level[root] >= 0) {
+                continue;
+            }
+            int head = 0, tail = 0, ecc = 0;
+            level[root] = 0;
+            queue[tail++] = root;
+            while (head < tail) {
+                int vi = queue[head++];
+                ecc = level[vi];
+                for (int p = offsets[vi], end = offsets[vi + 1]; p < end; p++) {
+                    int ui = targets[p];
+                    if (level[ui] < 0) {
+                        level[ui] = level[vi] + 1;
+                        queue[tail++] = ui;
+                    }
+                }
+            }
+            max = Math.max(max, Math.min(2 * ecc, tail - 1));
+        }
+        return max;
+    }
+
+    //processes the batches of sources in parallel
+    private void run(int[] srcIdx, BatchVisitor visitor) {
+        int batchSize = numWords << 6;
+        int numBatches = (srcIdx.length + batchSize - 1) / batchSize;
+        var next = new AtomicInteger();
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int t = 0, threads = Math.min(numThreads, numBatches); t < threads; t++) {
+            tasks.add(() -> {
+                var worker = new Worker();
+                int b;
+                while ((b = next.getAndIncrement()) < numBatches && !stopped) {
+                    int first = b * batchSize;
+                    worker.search(srcIdx, first, Math.min(first + batchSize, srcIdx.length), visitor);
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<?> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    //the bit sets used by a thread, reused for all its batches
+    private class Worker {
+
+        final int n = graph.numVertices();
+        final int w = numWords;
+        long[] seen = new long[n * w];
+        long[] visit = new long[n * w];
+        long[] visitNext = new long[n * w];
+
+        //the sources srcIdx[from], ..., srcIdx[to-1]
+        void search(int[] srcIdx, int from, int to, BatchVisitor visitor) {
+            Arrays.fill(seen, 0);
+            Arrays.fill(visit, 0);
+            for (int s = from; s < to; s++) {
+                int b = s - from;
+                int pos = srcIdx[s] * w + (b >>> 6);
+                long bit = 1L << (b & 63);
+                seen[pos] |= bit;
+                visit[pos] |= bit;
+            }
+            for (int vi = 0; vi < n; vi++) {
+                for (int k = 0; k < w; k++) {
+                    long bits = visit[vi * w + k];
+                    if (bits != 0) {
+                        visitor.visit(from, vi, k, bits, 0);
+                    }
+                }
+            }
+            int[] offsets = adj.offsets();
+            int[] targets = adj.targets();
+            int level = 0;
+            boolean active = true;
+            while (active && !stopped) {
+                level++;
+                active = false;
+                //advance all the frontiers
+                for (int vi = 0; vi < n; vi++) {
+                    int vPos = vi * w;
+                    for (int k = 0; k < w; k++) {
+                        long bits = visit[vPos + k];
+                        if (bits == 0) {
+                            continue;
+                        }
+                        for (int p = offsets[vi], end = offsets[vi + 1]; p < end; p++) {
+                            visitNext[targets[p] * w + k] |= bits;
+                        }
+                    }
+                }
+                //keep only the new sources for each vertex
+                for (int ui = 0; ui < n; ui++) {
+                    int uPos = ui * w;
+                    for (int k = 0; k < w; k++) {
+                        long bits = visitNext[uPos + k] & ~seen[uPos + k];
+                        visitNext[uPos + k] = bits;
+                        if (bits != 0) {
+                            seen[uPos + k] |= bits;
+                            active = true;
+                            visitor.visit(from, ui, k, bits, level);
+                        }
+                    }
+                }
+                long[] temp = visit;
+                visit = visitNext;
+                visitNext = temp;
+                Arrays.fill(visitNext, 0);
+            }
+        }
+    }
+
+    //receives the sources (as a bit set) that reached a vertex at a given level
+    @FunctionalInterface
+    private interface BatchVisitor {
+
+        void visit(int first, int vi, int word, long bits, int level);
+    }
+
+    /**
+     * Receives the vertices reached by the searches.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+
+        /**
+         * Invoked when a vertex is reached by the search starting in a source.
+         *
+         * @param sourcePos the position of the source in the sources array.
+         * @param vi the index of the reached vertex.
+         * @param level the distance from the source to the vertex.
+         */
+        void visit(int sourcePos, int vi, int level);
+    }
+}
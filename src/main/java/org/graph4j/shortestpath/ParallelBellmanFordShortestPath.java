@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.graph4j.Graph;
+import org.graph4j.util.AdjacencyArrays;
+
+/**
+ * Parallel, round-based version of the Bellman-Ford-Moore algorithm. In each
+ * round, the costs of all the vertices are recomputed from the costs of the
+ * previous round, using the incoming edges. The vertices are divided in
+ * chunks, each chunk (together with its incoming edges) being processed by a
+ * single thread, so no synchronization is required inside a round. Only the
+ * vertices having at least one predecessor improved in the previous round are
+ * recomputed.
+ *
+ * <p>
+ * After round k, the costs are those of the shortest paths having at most k
+ * edges, so the algorithm stops after at most n-1 rounds, or earlier if a
+ * round does not improve any cost. If the n-th round still improves some cost,
+ * a negative cost cycle exists.
+ *
+ * @author Cristian Frăsinaru
+ */
+public class ParallelBellmanFordShortestPath extends BellmanFordShortestPath {
+
+    private static final int VERTICES_PER_CHUNK = 256;
+    private final int numThreads;
+
+    /**
+     * Creates an algorithm to find all shortest paths starting in the source,
+     * using all the available processors.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     */
+    public ParallelBellmanFordShortestPath(Graph graph, int source) {
+        this(graph, source, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an algorithm to find all shortest paths starting in the source,
+     * using the specified number of threads.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     * @param numThreads the number of threads.
+     */
+    public ParallelBellmanFordShortestPath(Graph graph, int source, int numThreads) {
+        super(graph, source);
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.numThreads = numThreads;
+    }
+
+    @Override
+    protected void compute() {
+        int n = graph.numVertices();
+        var pred = AdjacencyArrays.predecessors(graph, true);
+        int[] offsets = pred.offsets();
+        int[] sources = pred.targets();
+        double[] weights = pred.weights();
+        this.cost = new double[n];
+        this.before = new int[n];
+        this.size = new int[n];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(before, -1);
+        int si = graph.indexOf(source);
+        cost[si] = 0;
+
+        double[] oldCost = new double[n];
+        boolean[] changed = new boolean[n];
+        boolean[] newChanged = new boolean[n];
+        changed[si] = true;
+        int numChunks = (n + VERTICES_PER_CHUNK - 1) / VERTICES_PER_CHUNK;
+        boolean[] chunkChanged = new boolean[numChunks];
+
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            for (int k = 0; k < n; k++) {
+                System.arraycopy(cost, 0, oldCost, 0, n);
+                final boolean[] lastChanged = changed;
+                final boolean[] curChanged = newChanged;
+                List<Callable<Object>> tasks = new ArrayList<>(numChunks);
+                for (int c = 0; c < numChunks; c++) {
+                    final int chunk = c;
+                    tasks.add(Executors.callable(() -> {
+                        boolean any = false;
+                        int from = chunk * VERTICES_PER_CHUNK;
+                        int to = Math.min(from + VERTICES_PER_CHUNK, n);
+                        for (int ui = from; ui < to; ui++) {
+                            curChanged[ui] = false;
+                            for (int p = offsets[ui], end = offsets[ui + 1]; p < end; p++) {
+                                int vi = sources[p];
+                                if (!lastChanged[vi]) {
+                                    continue;
+                                }
+                                double newCost = oldCost[vi] + weights[p];
+                                if (newCost < cost[ui]) {
+                                    cost[ui] = newCost;
+                                    before[ui] = vi;
+                                    size[ui] = size[vi] + 1;
+                                    curChanged[ui] = true;
+                                }
+                            }
+                            any |= curChanged[ui];
+                        }
+                        chunkChanged[chunk] = any;
+                    }));
+                }
+                invokeAll(executor, tasks);
+                boolean any = false;
+                for (boolean b : chunkChanged) {
+                    any |= b;
+                }
+                if (!any) {
+                    return;
+                }
+                changed = curChanged;
+                newChanged = lastChanged;
+            }
+        } finally {
+            executor.shutdown();
+        }
+        //the n-th round improved some costs
+        for (int vi = 0; vi < n; vi++) {
+            if (changed[vi]) {
+                throw new NegativeCycleException(createCycleEndingIn(vi));
+            }
+        }
+    }
+
+    private void invokeAll(ExecutorService executor, List<Callable<Object>> tasks) {
+        try {
+            for (Future<?> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
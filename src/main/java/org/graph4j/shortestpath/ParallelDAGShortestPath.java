@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.graph4j.Digraph;
+import org.graph4j.traversal.ParallelTopologicalSort;
+import org.graph4j.util.AdjacencyArrays;
+
+/**
+ * Parallel, level by level version of {@link DAGShortestPath}. The level of a
+ * vertex, given by {@link ParallelTopologicalSort#levels()}, is the number of
+ * edges of the longest path ending in it, so all the predecessors of a vertex
+ * are on lower levels. The levels are processed in increasing order and the
+ * vertices of the same level are processed in parallel: each vertex computes
+ * its cost from its predecessors, whose costs are already final, so no
+ * synchronization is required inside a level.
+ *
+ * <p>
+ * The speed-up depends on the width of the levels: the small levels are
+ * processed by the calling thread.
+ *
+ * @author Cristian Frăsinaru
+ */
+public class ParallelDAGShortestPath extends DAGShortestPath {
+
+    private static final int VERTICES_PER_CHUNK = 1024;
+    private final int numThreads;
+
+    /**
+     * Creates an algorithm to find all the shortest or all the longest paths
+     * starting in the source, using all the available processors.
+     *
+     * @param graph the input directed acyclic graph.
+     * @param source the source vertex number.
+     * @param longest {@code true} for computing the longest paths,
+     * {@code false} for computing the shortest ones.
+     */
+    public ParallelDAGShortestPath(Digraph graph, int source, boolean longest) {
+        this(graph, source, longest, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an algorithm to find all the shortest or all the longest paths
+     * starting in the source, using the specified number of threads.
+     *
+     * @param graph the input directed acyclic graph.
+     * @param source the source vertex number.
+     * @param longest {@code true} for computing the longest paths,
+     * {@code false} for computing the shortest ones.
+     * @param numThreads the number of threads.
+     */
+    public ParallelDAGShortestPath(Digraph graph, int source, boolean longest, int numThreads) {
+        super(graph, source, longest);
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.numThreads = numThreads;
+    }
+
+    @Override
+    protected void compute() {
+        init();
+        //the vertices in topological order, grouped by levels
+        var topo = new ParallelTopologicalSort((Digraph) graph, numThreads);
+        int[] byLevel = topo.order();
+        int[] levelStart = topo.levelOffsets();
+        int[] level = topo.levels();
+        int maxLevel = topo.numLevels() - 1;
+
+        var pred = AdjacencyArrays.predecessors(graph, true);
+        //the vertices on lower levels than the source are not reachable
+        for (int k = level[graph.indexOf(source)] + 1; k <= maxLevel; k++) {
+            int from = levelStart[k];
+            int to = levelStart[k + 1];
+            if (numThreads == 1 || to - from <= VERTICES_PER_CHUNK) {
+                relax(pred, byLevel, from, to);
+                continue;
+            }
+            var next = new AtomicInteger(from);
+            List<Callable<Object>> tasks = new ArrayList<>();
+            int numTasks = Math.min(numThreads, (to - from + VERTICES_PER_CHUNK - 1) / VERTICES_PER_CHUNK);
+            for (int t = 0; t < numTasks; t++) {
+                tasks.add(() -> {
+                    int start;
+                    while ((start = next.getAndAdd(VERTICES_PER_CHUNK)) < to) {
+                        relax(pred, byLevel, start, Math.min(start + VERTICES_PER_CHUNK, to));
+                    }
+                    return null;
+                });
+            }
+            invokeAll(tasks);
+        }
+        finish();
+    }
+
+    //computes the costs of the vertices byLevel[from..to-1], using their predecessors
+    private void relax(AdjacencyArrays pred, int[] byLevel, int from, int to) {
+        int[] offsets = pred.offsets();
+        int[] sources = pred.targets();
+        double[] weights = pred.weights();
+        double none = unreached();
+        for (int i = from; i < to; i++) {
+            int ui = byLevel[i];
+            for (int p = offsets[ui], end = offsets[ui + 1]; p < end; p++) {
+                int vi = sources[p];
+                if (cost[vi] == none) {
+                    continue;
+                }
+                double newCost = cost[vi] + weights[p];
+                if (isBetter(newCost, cost[ui])) {
+                    cost[ui] = newCost;
+                    before[ui] = vi;
+                    size[ui] = size[vi] + 1;
+                }
+            }
+        }
+    }
+
+    private void invokeAll(List<Callable<Object>> tasks) {
+        try {
+            for (Future<?> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,505 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.graph4j.Graph;
+import org.graph4j.util.AdjacencyArrays;
+import org.graph4j.util.Validator;
+import org.graph4j.util.VertexHeap;
+
+/**
+ * Pruned landmark labeling, a 2-hop cover index for exact distance queries in
+ * undirected graphs. Each vertex v stores a label, containing pairs
+ * {@code (h, d(h,v))}, where h are some vertices called hubs; the distance
+ * between two vertices is the minimum of {@code d(h,u) + d(h,v)} over the
+ * hubs common to their labels. Queries merge the two labels, which are sorted,
+ * and they take microseconds even on large graphs.
+ *
+ * <p>
+ * The vertices are ranked in decreasing order of their degrees and a search
+ * (BFS for unweighted graphs, Dijkstra for weighted graphs) is performed from
+ * each of them, in this order. A search is pruned at the vertices whose
+ * distance to the root is already covered by the labels computed so far, so
+ * the later searches visit only small parts of the graph. In order to use
+ * multiple threads, the searches are performed in batches: the roots of a
+ * batch are processed in parallel, pruning only with the labels of the
+ * previous batches. This produces a correct index, with slightly larger
+ * labels; the batches are small at the beginning, when the hubs prune the
+ * most.
+ *
+ * <p>
+ * The labels are stored in flat arrays, with the distances as {@code int}
+ * values for unweighted graphs. The index can be saved and loaded using
+ * {@link #write(OutputStream)} and {@link #read(Graph, InputStream)}. It is
+ * valid only as long as the graph is not modified. The edge weights must not
+ * be negative.
+ *
+ * T. Akiba, Y. Iwata, Y. Yoshida, "Fast exact shortest-path distance queries
+ * on large networks by pruned landmark labeling", SIGMOD 2013.
+ *
+ * @author Cristian Frăsinaru
+ */
+public class PrunedLandmarkLabeling {
+
+    private static final int MIN_BATCH_SIZE = 1;
+    private final Graph graph;
+    private int[] rank; //the rank of each vertex index
+    private int[] offsets; //the label of vi is at positions offsets[vi], ..., offsets[vi+1]-1
+    private int[] hubs; //the ranks of the hubs, increasing in each label
+    private int[] intDist; //the distances, for unweighted graphs
+    private double[] doubleDist; //the distances, for weighted graphs
+    //used only while building the index
+    private int[][] buildHubs;
+    private double[][] buildDist;
+    private int[] buildSize;
+
+    /**
+     * Creates the index, using all the available processors.
+     *
+     * @param graph the input graph.
+     */
+    public PrunedLandmarkLabeling(Graph graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates the index, using the specified number of threads.
+     *
+     * @param graph the input graph.
+     * @param numThreads the number of threads.
+     */
+    public PrunedLandmarkLabeling(Graph graph, int numThreads) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("The graph must be undirected.");
+        }
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.graph = graph;
+        build(numThreads);
+    }
+
+    private PrunedLandmarkLabeling(Graph graph, int[] rank, int[] offsets, int[] hubs,
+            int[] intDist, double[] doubleDist) {
+        this.graph = graph;
+        this.rank = rank;
+        this.offsets = offsets;
+        this.hubs = hubs;
+        this.intDist = intDist;
+        this.doubleDist = doubleDist;
+    }
+
+    /**
+     * Returns the graph for which the index was created.
+     *
+     * @return the input graph.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the distance between two vertices.
+     *
+     * @param u a vertex number.
+     * @param v a vertex number.
+     * @return the weight of the shortest path between the vertices, or
+     * {@code Double.POSITIVE_INFINITY} if they are not connected.
+     */
+    public double distance(int u, int v) {
+        Validator.containsVertex(graph, u);
+        Validator.containsVertex(graph, v);
+        int ui = graph.indexOf(u);
+        int vi = graph.indexOf(v);
+        int i = offsets[ui], iEnd = offsets[ui + 1];
+        int j = offsets[vi], jEnd = offsets[vi + 1];
+        if (intDist != null) {
+            long best = Long.MAX_VALUE;
+            while (i < iEnd && j < jEnd) {
+                int hi = hubs[i], hj = hubs[j];
+                if (hi == hj) {
+                    best = Math.min(best, (long) intDist[i++] + intDist[j++]);
+                } else if (hi < hj) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return best == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : best;
+        }
+        double best = Double.POSITIVE_INFINITY;
+        while (i < iEnd && j < jEnd) {
+            int hi = hubs[i], hj = hubs[j];
+            if (hi == hj) {
+                best = Math.min(best, doubleDist[i++] + doubleDist[j++]);
+            } else if (hi < hj) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the total number of entries in the labels of all the vertices.
+     *
+     * @return the size of the index.
+     */
+    public long numLabelEntries() {
+        return offsets[offsets.length - 1];
+    }
+
+    /**
+     * Returns the number of entries in the label of a vertex.
+     *
+     * @param v a vertex number.
+     * @return the size of the label of the vertex.
+     */
+    public int labelSize(int v) {
+        Validator.containsVertex(graph, v);
+        int vi = graph.indexOf(v);
+        return offsets[vi + 1] - offsets[vi];
+    }
+
+    private void build(int numThreads) {
+        int n = graph.numVertices();
+        boolean weighted = graph.hasEdgeWeights();
+        var adj = AdjacencyArrays.successors(graph, weighted);
+        if (weighted) {
+            for (double w : adj.weights()) {
+                if (w < 0) {
+                    throw new IllegalArgumentException(
+                            "Negative weighted edges are not permited: " + w);
+                }
+            }
+        }
+        //the order of the searches, in decreasing order of degrees
+        Integer[] sorted = new Integer[n];
+        for (int vi = 0; vi < n; vi++) {
+            sorted[vi] = vi;
+        }
+        Arrays.sort(sorted, (a, b) -> adj.degree(b) - adj.degree(a));
+        int[] order = new int[n];
+        this.rank = new int[n];
+        for (int r = 0; r < n; r++) {
+            order[r] = sorted[r];
+            rank[sorted[r]] = r;
+        }
+        this.buildHubs = new int[n][4];
+        this.buildDist = new double[n][4];
+        this.buildSize = new int[n];
+
+        List<Workspace> workspaces = new ArrayList<>();
+        for (int t = 0; t < numThreads; t++) {
+            workspaces.add(new Workspace(adj, weighted));
+        }
+        int maxBatchSize = 4 * numThreads;
+        int[][] found = new int[maxBatchSize][];
+        double[][] foundDist = new double[maxBatchSize][];
+        int batchStart = 0;
+        while (batchStart < n) {
+            //the batches grow as the searches become more local
+            int batchSize = Math.max(MIN_BATCH_SIZE, Math.min(maxBatchSize, batchStart / 16));
+            int batchEnd = Math.min(n, batchStart + batchSize);
+            final int start = batchStart;
+            int numRoots = batchEnd - batchStart;
+            var next = new AtomicInteger();
+            List<Callable<Object>> tasks = new ArrayList<>();
+            for (int t = 0, numTasks = Math.min(numThreads, numRoots); t < numTasks; t++) {
+                var ws = workspaces.get(t);
+                tasks.add(() -> {
+                    int k;
+                    while ((k = next.getAndIncrement()) < numRoots) {
+                        int count = ws.search(start + k, order[start + k]);
+                        found[k] = Arrays.copyOf(ws.visited, count);
+                        foundDist[k] = Arrays.copyOf(ws.labelDist, count);
+                    }
+                    return null;
+                });
+            }
+            if (tasks.size() == 1) {
+                try {
+                    tasks.get(0).call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            } else {
+                invokeAll(tasks);
+            }
+            //the labels are extended in the order of the ranks, so they remain sorted
+            for (int k = 0; k < numRoots; k++) {
+                int[] list = found[k];
+                double[] dist = foundDist[k];
+                for (int i = 0; i < list.length; i++) {
+                    addLabel(list[i], batchStart + k, dist[i]);
+                }
+                found[k] = null;
+                foundDist[k] = null;
+            }
+            batchStart = batchEnd;
+        }
+        //flat arrays
+        this.offsets = new int[n + 1];
+        long total = 0;
+        for (int vi = 0; vi < n; vi++) {
+            offsets[vi] = (int) total;
+            total += buildSize[vi];
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalStateException("The labels do not fit in a single array");
+            }
+        }
+        offsets[n] = (int) total;
+        this.hubs = new int[(int) total];
+        if (weighted) {
+            this.doubleDist = new double[(int) total];
+        } else {
+            this.intDist = new int[(int) total];
+        }
+        for (int vi = 0; vi < n; vi++) {
+            int pos = offsets[vi];
+            System.arraycopy(buildHubs[vi], 0, hubs, pos, buildSize[vi]);
+            for (int i = 0; i < buildSize[vi]; i++) {
+                if (weighted) {
+                    doubleDist[pos + i] = buildDist[vi][i];
+                } else {
+                    intDist[pos + i] = (int) buildDist[vi][i];
+                }
+            }
+            buildHubs[vi] = null;
+            buildDist[vi] = null;
+        }
+        this.buildHubs = null;
+        this.buildDist = null;
+        this.buildSize = null;
+    }
+
+    private void addLabel(int vi, int hub, double dist) {
+        int size = buildSize[vi];
+        if (size == buildHubs[vi].length) {
+            buildHubs[vi] = Arrays.copyOf(buildHubs[vi], 2 * size);
+            buildDist[vi] = Arrays.copyOf(buildDist[vi], 2 * size);
+        }
+        buildHubs[vi][size] = hub;
+        buildDist[vi][size] = dist;
+        buildSize[vi]++;
+    }
+
+    private void invokeAll(List<Callable<Object>> tasks) {
+        try {
+            for (Future<?> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Writes the index to the specified stream. The stream is not closed.
+     *
+     * @param out the output stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void write(OutputStream out) throws IOException {
+        var data = new DataOutputStream(out);
+        int n = rank.length;
+        data.writeInt(n);
+        data.writeBoolean(intDist == null);
+        for (int vi = 0; vi < n; vi++) {
+            data.writeInt(rank[vi]);
+        }
+        for (int vi = 0; vi <= n; vi++) {
+            data.writeInt(offsets[vi]);
+        }
+        for (int i = 0, total = offsets[n]; i < total; i++) {
+            data.writeInt(hubs[i]);
+            if (intDist != null) {
+                data.writeInt(intDist[i]);
+            } else {
+                data.writeDouble(doubleDist[i]);
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads an index previously saved with {@link #write(OutputStream)}. The
+     * graph must be the same as the one used when creating the index. The
+     * stream is not closed.
+     *
+     * @param graph the input graph.
+     * @param in the input stream.
+     * @return the index.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static PrunedLandmarkLabeling read(Graph graph, InputStream in) throws IOException {
+        var data = new DataInputStream(in);
+        int n = data.readInt();
+        boolean weighted = data.readBoolean();
+        if (n != graph.numVertices() || graph.isDirected()) {
+            throw new IllegalArgumentException(
+                    "The stored labels do not correspond to the graph.");
+        }
+        int[] rank = new int[n];
+        for (int vi = 0; vi < n; vi++) {
+            rank[vi] = data.readInt();
+        }
+        int[] offsets = new int[n + 1];
+        for (int vi = 0; vi <= n; vi++) {
+            offsets[vi] = data.readInt();
+        }
+        int total = offsets[n];
+        int[] hubs = new int[total];
+        int[] intDist = weighted ? null : new int[total];
+        double[] doubleDist = weighted ? new double[total] : null;
+        for (int i = 0; i < total; i++) {
+            hubs[i] = data.readInt();
+            if (weighted) {
+                doubleDist[i] = data.readDouble();
+            } else {
+                intDist[i] = data.readInt();
+            }
+        }
+        return new PrunedLandmarkLabeling(graph, rank, offsets, hubs, intDist, doubleDist);
+    }
+
+    //the data structures of a single thread
+    private class Workspace {
+
+        final AdjacencyArrays adj;
+        final boolean weighted;
+        final double[] rootDist; //the label of the root, indexed by hub ranks
+        final double[] dist; //the distances from the root, indexed by vertex indices
+        final int[] visited; //the labeled vertices, also used as a queue by BFS
+        final double[] labelDist;
+        final int[] reached; //all the vertices reached by the search
+        final VertexHeap heap;
+
+        Workspace(AdjacencyArrays adj, boolean weighted) {
+            int n = adj.numVertices();
+            this.adj = adj;
+            this.weighted = weighted;
+            this.rootDist = new double[n];
+            this.dist = new double[n];
+            this.visited = new int[n];
+            this.labelDist = new double[n];
+            this.reached = new int[n];
+            Arrays.fill(rootDist, Double.POSITIVE_INFINITY);
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            this.heap = weighted
+                    ? new VertexHeap(graph, false, (i, j) -> (int) Math.signum(dist[i] - dist[j]))
+                    : null;
+        }
+
+        //the distance to the root, using the labels created so far
+        private boolean covered(int vi, double d) {
+            int[] h = buildHubs[vi];
+            double[] hd = buildDist[vi];
+            for (int i = 0, size = buildSize[vi]; i < size; i++) {
+                if (rootDist[h[i]] + hd[i] <= d) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        //returns the number of vertices that must be labeled with the root
+        int search(int r, int ri) {
+            int[] h = buildHubs[ri];
+            double[] hd = buildDist[ri];
+            for (int i = 0, size = buildSize[ri]; i < size; i++) {
+                rootDist[h[i]] = hd[i];
+            }
+            int[] offsets = adj.offsets();
+            int[] targets = adj.targets();
+            double[] weights = adj.weights();
+            int count = 0;
+            int numReached = 0;
+            dist[ri] = 0;
+            reached[numReached++] = ri;
+            if (!weighted) {
+                visited[0] = ri;
+                for (int head = 0, tail = 1; head < tail; head++) {
+                    int vi = visited[head];
+                    if (vi != ri && covered(vi, dist[vi])) {
+                        continue;
+                    }
+                    visited[count] = vi;
+                    labelDist[count++] = dist[vi];
+                    for (int p = offsets[vi], end = offsets[vi + 1]; p < end; p++) {
+                        int ui = targets[p];
+                        if (dist[ui] == Double.POSITIVE_INFINITY) {
+                            dist[ui] = dist[vi] + 1;
+                            reached[numReached++] = ui;
+                            visited[tail++] = ui;
+                        }
+                    }
+                }
+            } else {
+                heap.add(ri);
+                while (!heap.isEmpty()) {
+                    int vi = heap.poll();
+                    if (vi != ri && covered(vi, dist[vi])) {
+                        continue;
+                    }
+                    visited[count] = vi;
+                    labelDist[count++] = dist[vi];
+                    for (int p = offsets[vi], end = offsets[vi + 1]; p < end; p++) {
+                        int ui = targets[p];
+                        double newDist = dist[vi] + weights[p];
+                        if (newDist < dist[ui]) {
+                            if (dist[ui] == Double.POSITIVE_INFINITY) {
+                                reached[numReached++] = ui;
+                            }
+                            dist[ui] = newDist;
+                            heap.addOrUpdate(ui);
+                        }
+                    }
+                }
+            }
+            //reset
+            for (int i = 0; i < numReached; i++) {
+                dist[reached[i]] = Double.POSITIVE_INFINITY;
+            }
+            for (int i = 0, size = buildSize[ri]; i < size; i++) {
+                rootDist[h[i]] = Double.POSITIVE_INFINITY;
+            }
+            return count;
+        }
+    }
+}
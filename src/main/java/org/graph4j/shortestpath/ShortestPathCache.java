@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.IntFunction;
+import org.graph4j.Graph;
+import org.graph4j.util.Path;
+import org.graph4j.util.Validator;
+
+/**
+ * A cache of single source shortest path results. For each source, the
+ * shortest path tree computed by a {@link SingleSourceShortestPath} algorithm
+ * is stored, as a compact {@link ShortestPathTree}, and it is reused by the
+ * subsequent queries having the same source.
+ *
+ * <p>
+ * The total memory used by the stored trees is limited by a budget, specified
+ * in bytes. When the budget is exceeded, entries are evicted either in the
+ * least recently used order ({@link EvictionPolicy#LRU}) or in the least
+ * frequently used order ({@link EvictionPolicy#LFU}), the ties being broken by
+ * recency.
+ *
+ * <p>
+ * The cache uses {@link Graph#modificationCount()} in order to detect the
+ * changes of the graph: if edges or vertices are added or removed, or the
+ * weights of the edges are modified, all the entries are discarded before the
+ * next query.
+ *
+ * <p>
+ * The cache can be used by multiple threads. The shortest paths are computed
+ * outside the lock, so different sources are computed concurrently; the graph
+ * must not be modified while a query is in progress.
+ *
+ * @see ShortestPathTree
+ * @author Cristian Frăsinaru
+ */
+public class ShortestPathCache {
+
+    /**
+     * The policy used to select the entries that are evicted from the cache.
+     */
+    public enum EvictionPolicy {
+        /**
+         * Evicts the least recently used entry.
+         */
+        LRU,
+        /**
+         * Evicts the least frequently used entry.
+         */
+        LFU
+    }
+
+    private final Graph graph;
+    private final long memoryBudget;
+    private final EvictionPolicy policy;
+    private final IntFunction<SingleSourceShortestPath> factory;
+    private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryUsage;
+    private long modCount;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Creates a cache using the LRU policy and the default single source
+     * shortest path algorithm.
+     *
+     * @param graph the input graph.
+     * @param memoryBudget the maximum memory used by the cache, in bytes.
+     */
+    public ShortestPathCache(Graph graph, long memoryBudget) {
+        this(graph, memoryBudget, EvictionPolicy.LRU);
+    }
+
+    /**
+     * Creates a cache using the default single source shortest path algorithm.
+     *
+     * @param graph the input graph.
+     * @param memoryBudget the maximum memory used by the cache, in bytes.
+     * @param policy the eviction policy.
+     */
+    public ShortestPathCache(Graph graph, long memoryBudget, EvictionPolicy policy) {
+        this(graph, memoryBudget, policy, source -> SingleSourceShortestPath.getInstance(graph, source));
+    }
+
+    /**
+     * Creates a cache using the specified single source shortest path
+     * algorithm.
+     *
+     * @param graph the input graph.
+     * @param memoryBudget the maximum memory used by the cache, in bytes.
+     * @param policy the eviction policy.
+     * @param factory creates the algorithm for a given source vertex.
+     */
+    public ShortestPathCache(Graph graph, long memoryBudget, EvictionPolicy policy,
+            IntFunction<SingleSourceShortestPath> factory) {
+        if (memoryBudget < 0) {
+            throw new IllegalArgumentException("Invalid memory budget: " + memoryBudget);
+        }
+        if (policy == null || factory == null) {
+            throw new IllegalArgumentException("The policy and the factory must not be null");
+        }
+        this.graph = graph;
+        this.memoryBudget = memoryBudget;
+        this.policy = policy;
+        this.factory = factory;
+        this.modCount = graph.modificationCount();
+    }
+
+    /**
+     * Returns the graph for which the cache was created.
+     *
+     * @return the input graph.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the shortest path tree of a source, computing it if it is not
+     * present in the cache.
+     *
+     * @param source the source vertex number.
+     * @return the shortest path tree of the source.
+     */
+    public ShortestPathTree getShortestPathTree(int source) {
+        Validator.containsVertex(graph, source);
+        long startCount;
+        synchronized (this) {
+            checkModifications();
+            var entry = entries.get(source);
+            if (entry != null) {
+                hitCount++;
+                entry.frequency++;
+                return entry.tree;
+            }
+            missCount++;
+            startCount = modCount;
+        }
+        var tree = factory.apply(source).getShortestPathTree();
+        synchronized (this) {
+            checkModifications();
+            if (modCount == startCount && !entries.containsKey(source)) {
+                put(source, tree);
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Returns the weight of the shortest path between two vertices.
+     *
+     * @param source the source vertex number.
+     * @param target the target vertex number.
+     * @return the weight of the shortest path from the source to the target,
+     * or {@code Double.POSITIVE_INFINITY} if no path exists.
+     */
+    public double getPathWeight(int source, int target) {
+        return getShortestPathTree(source).getPathWeight(target);
+    }
+
+    /**
+     * Returns the shortest path between two vertices.
+     *
+     * @param source the source vertex number.
+     * @param target the target vertex number.
+     * @return the shortest path from the source to the target, or {@code null}
+     * if no path exists.
+     */
+    public Path findPath(int source, int target) {
+        return getShortestPathTree(source).findPath(target);
+    }
+
+    /**
+     * Removes all the entries from the cache.
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+        memoryUsage = 0;
+    }
+
+    /**
+     *
+     * @return the number of entries in the cache.
+     */
+    public synchronized int size() {
+        checkModifications();
+        return entries.size();
+    }
+
+    /**
+     *
+     * @return the estimated memory used by the entries of the cache, in bytes.
+     */
+    public synchronized long memoryUsage() {
+        checkModifications();
+        return memoryUsage;
+    }
+
+    /**
+     *
+     * @return the number of queries answered using the cache.
+     */
+    public synchronized long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     *
+     * @return the number of queries that required a new computation.
+     */
+    public synchronized long missCount() {
+        return missCount;
+    }
+
+    private void checkModifications() {
+        long count = graph.modificationCount();
+        if (count != modCount) {
+            modCount = count;
+            invalidate();
+        }
+    }
+
+    private void put(int source, ShortestPathTree tree) {
+        long size = tree.memorySize();
+        if (size > memoryBudget) {
+            return;
+        }
+        while (memoryUsage + size > memoryBudget) {
+            evict();
+        }
+        entries.put(source, new Entry(tree, size));
+        memoryUsage += size;
+    }
+
+    private void evict() {
+        //the iteration order is from the least recently to the most recently used
+        Iterator<Entry> it = entries.values().iterator();
+        Entry victim = it.next();
+        if (policy == EvictionPolicy.LFU) {
+            while (it.hasNext()) {
+                var entry = it.next();
+                if (entry.frequency < victim.frequency) {
+                    victim = entry;
+                }
+            }
+        }
+        entries.remove(victim.tree.getSource());
+        memoryUsage -= victim.size;
+    }
+
+    private static class Entry {
+
+        final ShortestPathTree tree;
+        final long size;
+        long frequency = 1;
+
+        Entry(ShortestPathTree tree, long size) {
+            this.tree = tree;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import org.graph4j.Graph;
+import org.graph4j.util.Path;
+
+/**
+ * An immutable representation of all the shortest paths starting in a source
+ * vertex, as a tree stored in two arrays: the predecessor of each vertex and
+ * the weight of the shortest path to each vertex.
+ *
+ * <p>
+ * Individual paths are created only on demand. They can also be traversed
+ * using {@link #pathIterator(int)}, without creating any path objects, or all
+ * of them can be exported at once in a single flat array, using
+ * {@link #exportPaths(int[])}.
+ *
+ * <p>
+ * The tree is a snapshot: it does not change if the graph or the algorithm
+ * that created it are modified. The vertex numbers are resolved using a copy
+ * of the vertex-to-index mapping of the graph, taken when the tree was
+ * created.
+ *
+ * @see SingleSourceShortestPath#getShortestPathTree()
+ * @author Cristian Frăsinaru
+ */
+public final class ShortestPathTree {
+
+    private final Graph graph;
+    private final int source;
+    private final int[] vertices;
+    private final int[] vertexIndex; //null if the vertex numbers are the indices
+    private final double[] cost;
+    private final int[] before; //the index of the predecessor, -1 for the source and unreachable vertices
+    private final int[] size; //the number of edges of the paths, -1 for unreachable vertices
+
+    /**
+     * Creates a tree using the arrays of a single source shortest path
+     * algorithm. The arrays are copied.
+     *
+     * @param graph the graph.
+     * @param source the source vertex number.
+     * @param cost the weights of the paths, indexed by vertex indices.
+     * @param before the indices of the predecessors, indexed by vertex
+     * indices.
+     * @param size the number of edges of the paths, may be null.
+     */
+    ShortestPathTree(Graph graph, int source, double[] cost, int[] before, int[] size) {
+        this.graph = graph;
+        this.source = source;
+        this.vertices = graph.vertices().clone();
+        int n = vertices.length;
+        this.vertexIndex = createVertexIndex(vertices);
+        this.cost = Arrays.copyOf(cost, n);
+        this.before = Arrays.copyOf(before, n);
+        int si = graph.indexOf(source);
+        for (int vi = 0; vi < n; vi++) {
+            if (vi == si || cost[vi] == Double.POSITIVE_INFINITY) {
+                this.before[vi] = -1;
+            }
+        }
+        this.size = size != null ? Arrays.copyOf(size, n) : new int[n];
+        if (size == null) {
+            Arrays.fill(this.size, -2); //not computed yet
+            this.size[si] = 0;
+            int[] stack = new int[n];
+            for (int vi = 0; vi < n; vi++) {
+                int top = 0;
+                for (int ui = vi; this.size[ui] == -2;) {
+                    stack[top++] = ui;
+                    if (this.before[ui] < 0) {
+                        this.size[ui] = -1; //unreachable
+                        top--;
+                        break;
+                    }
+                    ui = this.before[ui];
+                }
+                while (top > 0) {
+                    int ui = stack[--top];
+                    int parentSize = this.size[this.before[ui]];
+                    this.size[ui] = parentSize < 0 ? -1 : parentSize + 1;
+                }
+            }
+        } else {
+            for (int vi = 0; vi < n; vi++) {
+                if (cost[vi] == Double.POSITIVE_INFINITY) {
+                    this.size[vi] = -1;
+                }
+            }
+            this.size[si] = 0;
+        }
+    }
+
+    /**
+     *
+     * @return the graph.
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     *
+     * @return the source vertex number.
+     */
+    public int getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the weight of the shortest path from the source to the target.
+     *
+     * @param target the target vertex number.
+     * @return the weight of the shortest path from the source to the target,
+     * or {@code Double.POSITIVE_INFINITY} if no path exists.
+     */
+    public double getPathWeight(int target) {
+        return cost[indexOf(target)];
+    }
+
+    /**
+     * Returns the weights of the shortest paths, indexed by vertex indices.
+     *
+     * @return a copy of the weights of the shortest paths.
+     */
+    public double[] getPathWeights() {
+        return cost.clone();
+    }
+
+    /**
+     *
+     * @param target the target vertex number.
+     * @return {@code true} if there is a path from the source to the target.
+     */
+    public boolean isReachable(int target) {
+        return size[indexOf(target)] >= 0;
+    }
+
+    /**
+     * Returns the number of edges of the shortest path from the source to the
+     * target.
+     *
+     * @param target the target vertex number.
+     * @return the number of edges of the shortest path, or -1 if no path
+     * exists.
+     */
+    public int getPathLength(int target) {
+        return size[indexOf(target)];
+    }
+
+    /**
+     * Returns the vertex preceding the target on its shortest path.
+     *
+     * @param target the target vertex number.
+     * @return the predecessor of the target, or -1 if the target is the source
+     * or it is not reachable.
+     */
+    public int getPredecessor(int target) {
+        int vi = before[indexOf(target)];
+        return vi < 0 ? -1 : vertices[vi];
+    }
+
+    /**
+     * Returns the shortest path from the source to the target, creating a new
+     * {@link Path} object.
+     *
+     * @param target the target vertex number.
+     * @return the shortest path from the source to the target, or {@code null}
+     * if no path exists.
+     */
+    public Path findPath(int target) {
+        int ti = indexOf(target);
+        if (size[ti] < 0) {
+            return null;
+        }
+        int[] path = new int[size[ti] + 1];
+        fill(ti, path, 0);
+        return new Path(graph, path);
+    }
+
+    /**
+     * Returns an iterator over the vertices of the shortest path ending in the
+     * target, <em>in reverse order</em>: from the target towards the source.
+     * No path object is created.
+     *
+     * @param target the target vertex number.
+     * @return an iterator over the vertex numbers of the path, starting with
+     * the target and ending with the source; the iterator is empty if no path
+     * exists.
+     */
+    public PrimitiveIterator.OfInt pathIterator(int target) {
+        int ti = indexOf(target);
+        return new PrimitiveIterator.OfInt() {
+            int vi = size[ti] >= 0 ? ti : -1;
+
+            @Override
+            public boolean hasNext() {
+                return vi >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (vi < 0) {
+                    throw new NoSuchElementException();
+                }
+                int v = vertices[vi];
+                vi = before[vi];
+                return v;
+            }
+        };
+    }
+
+    /**
+     * Exports all the shortest paths in a single flat array. The path ending
+     * in the vertex with the index {@code i} occupies the positions from
+     * {@code offsets[i]} (inclusive) to {@code offsets[i+1]} (exclusive) and
+     * it contains the vertex numbers, starting with the source. The paths of
+     * unreachable vertices are empty.
+     *
+     * @param offsets an array of length {@code n+1} that will be filled with
+     * the offsets of the paths.
+     * @return the flat array containing all the paths.
+     */
+    public int[] exportPaths(int[] offsets) {
+        int n = vertices.length;
+        if (offsets.length != n + 1) {
+            throw new IllegalArgumentException("The offsets array must have the length " + (n + 1));
+        }
+        long total = 0;
+        for (int vi = 0; vi < n; vi++) {
+            offsets[vi] = (int) total;
+            total += size[vi] + 1; //0 for unreachable vertices
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalStateException("The paths do not fit in a single array");
+            }
+        }
+        offsets[n] = (int) total;
+        int[] flat = new int[(int) total];
+        for (int vi = 0; vi < n; vi++) {
+            if (size[vi] >= 0) {
+                fill(vi, flat, offsets[vi]);
+            }
+        }
+        return flat;
+    }
+
+    //an estimation of the memory used by the tree, in bytes
+    long memorySize() {
+        return 20L * cost.length + (vertexIndex == null ? 0 : 4L * vertexIndex.length) + 64;
+    }
+
+    private static int[] createVertexIndex(int[] vertices) {
+        int max = -1;
+        boolean identity = true;
+        for (int i = 0; i < vertices.length; i++) {
+            max = Math.max(max, vertices[i]);
+            identity &= vertices[i] == i;
+        }
+        if (identity) {
+            return null;
+        }
+        int[] index = new int[max + 1];
+        Arrays.fill(index, -1);
+        for (int i = 0; i < vertices.length; i++) {
+            index[vertices[i]] = i;
+        }
+        return index;
+    }
+
+    //the index of a vertex, at the moment the tree was created
+    private int indexOf(int v) {
+        int vi;
+        if (vertexIndex == null) {
+            vi = v >= 0 && v < vertices.length ? v : -1;
+        } else {
+            vi = v >= 0 && v < vertexIndex.length ? vertexIndex[v] : -1;
+        }
+        if (vi < 0) {
+            throw new IllegalArgumentException("Vertex does not belong to the graph: " + v);
+        }
+        return vi;
+    }
+
+    //writes the path ending in vi, starting at the position pos
+    private void fill(int vi, int[] array, int pos) {
+        for (int i = pos + size[vi]; vi >= 0; vi = before[vi], i--) {
+            array[i] = vertices[vi];
+        }
+    }
+}
@@ -103,6 +103,30 @@ public interface SingleSourceShortestPath {
         return weights;
     }
 
+    /**
+     * Returns all the shortest paths from the source, as an immutable tree.
+     *
+     * @return the shortest path tree.
+     */
+    default ShortestPathTree getShortestPathTree() {
+        //this implementation is not efficient and it usually overridden
+        var g = getGraph();
+        int n = g.numVertices();
+        double[] weights = getPathWeights();
+        int[] before = new int[n];
+        int[] size = new int[n];
+        for (int i = 0; i < n; i++) {
+            Path path = weights[i] == Double.POSITIVE_INFINITY ? null : findPath(g.vertexAt(i));
+            if (path == null || path.numVertices() < 2) {
+                before[i] = -1;
+            } else {
+                before[i] = g.indexOf(path.get(path.numVertices() - 2));
+                size[i] = path.numVertices() - 1;
+            }
+        }
+        return new ShortestPathTree(g, getSource(), weights, before, size);
+    }
+
     /**
      * Returns the default implementation of this interface.
      *
@@ -126,7 +150,7 @@ public interface SingleSourceShortestPath {
             }
         }
         if (negativeCostEdge) {
-            return new BellmanFordShortestPath(graph, source);
+            return new BellmanFordQueueShortestPath(graph, source);
         }
         //otherwise Dijkstra
         return new DijkstraShortestPathHeap(graph, source);
@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.Path;
+import org.graph4j.util.Validator;
+
+/**
+ * Yen's algorithm for enumerating the simple paths (without repeated vertices)
+ * from a source to a target, in increasing order of their weights. The edge
+ * weights must not be negative.
+ *
+ * <p>
+ * After the k-th path is found, a spur search is performed from each of its
+ * vertices: the vertices of the path preceding the spur vertex are blocked,
+ * together with the edges leaving the spur vertex along the previously found
+ * paths that share the same root. The spur searches are independent, so they
+ * are performed in parallel, using the common fork-join pool. The graph is not
+ * modified or copied: each thread reuses the same Dijkstra data structures and
+ * blocks the vertices and edges using masks that are reset in constant time.
+ *
+ * <p>
+ * The paths are computed lazily: the spur searches corresponding to a path are
+ * performed only when the next path is requested.
+ *
+ * J. Y. Yen, "Finding the K Shortest Loopless Paths in a Network", Management
+ * Science, 1971.
+ *
+ * @see EppsteinKShortestPaths
+ * @author Cristian Frăsinaru
+ */
+public class YenKShortestPaths extends GraphAlgorithm implements KShortestPaths<Path> {
+
+    private final int source;
+    private final int target;
+    private final int numThreads;
+    private final List<Route> found = new ArrayList<>();
+    private final PriorityQueue<Route> candidates
+            = new PriorityQueue<>((r1, r2) -> Double.compare(r1.weight(), r2.weight()));
+    private final Set<Route> known = new HashSet<>();
+    private final ConcurrentLinkedQueue<DijkstraWorkspace> workspaces = new ConcurrentLinkedQueue<>();
+    private boolean started;
+    private Route pending; //the last returned path, whose spurs were not computed yet
+
+    /**
+     * Creates an algorithm that enumerates the paths from the source to the
+     * target, using all the available processors.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     * @param target the target vertex number.
+     */
+    public YenKShortestPaths(Graph graph, int source, int target) {
+        this(graph, source, target, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an algorithm that enumerates the paths from the source to the
+     * target, using the specified number of threads for the spur searches.
+     *
+     * @param graph the input graph.
+     * @param source the source vertex number.
+     * @param target the target vertex number.
+     * @param numThreads the number of threads.
+     */
+    public YenKShortestPaths(Graph graph, int source, int target, int numThreads) {
+        super(graph);
+        Validator.containsVertex(graph, source);
+        Validator.containsVertex(graph, target);
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.source = source;
+        this.target = target;
+        this.numThreads = numThreads;
+    }
+
+    @Override
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public int getTarget() {
+        return target;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            var ws = workspace();
+            int si = graph.indexOf(source);
+            int ti = graph.indexOf(target);
+            ws.search(si, ti);
+            if (ws.cost[ti] != Double.POSITIVE_INFINITY) {
+                addCandidate(createRoute(null, 0, ws, ti));
+            }
+            workspaces.add(ws);
+        }
+        if (pending != null) {
+            computeSpurs(pending);
+            pending = null;
+        }
+        return !candidates.isEmpty();
+    }
+
+    @Override
+    public Path next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var route = candidates.poll();
+        found.add(route);
+        pending = route;
+        int[] path = new int[route.vertices.length];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = graph.vertexAt(route.vertices[i]);
+        }
+        return new Path(graph, path);
+    }
+
+    private DijkstraWorkspace workspace() {
+        var ws = workspaces.poll();
+        return ws != null ? ws : new DijkstraWorkspace(graph);
+    }
+
+    private void addCandidate(Route route) {
+        if (known.add(route)) {
+            candidates.add(route);
+        }
+    }
+
+    //computes the spur paths of the last found route, in parallel
+    private void computeSpurs(Route route) {
+        int numSpurs = route.vertices.length - 1;
+        if (numSpurs <= 0) {
+            return;
+        }
+        Route[] spurs = new Route[numSpurs];
+        var next = new AtomicInteger();
+        Callable<Object> worker = () -> {
+            var ws = workspace();
+            try {
+                int i;
+                while ((i = next.getAndIncrement()) < numSpurs) {
+                    spurs[i] = computeSpur(route, i, ws);
+                }
+            } finally {
+                ws.clearMask();
+                workspaces.add(ws);
+            }
+            return null;
+        };
+        int numTasks = Math.min(numThreads, numSpurs);
+        if (numTasks == 1) {
+            try {
+                worker.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        } else {
+            List<Callable<Object>> tasks = new ArrayList<>();
+            for (int t = 0; t < numTasks; t++) {
+                tasks.add(worker);
+            }
+            invokeAll(tasks);
+        }
+        for (Route spur : spurs) {
+            if (spur != null) {
+                addCandidate(spur);
+            }
+        }
+    }
+
+    private void invokeAll(List<Callable<Object>> tasks) {
+        try {
+            for (Future<?> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    //the spur path deviating from the route at the position i
+    private Route computeSpur(Route route, int i, DijkstraWorkspace ws) {
+        int[] root = route.vertices;
+        ws.newMask();
+        for (int j = 0; j < i; j++) {
+            ws.blockVertex(root[j]);
+        }
+        for (Route other : found) {
+            int[] v = other.vertices;
+            if (v.length > i + 1 && Arrays.equals(v, 0, i + 1, root, 0, i + 1)) {
+                ws.blockEdgeFromSource(v[i + 1]);
+            }
+        }
+        int ti = graph.indexOf(target);
+        ws.search(root[i], ti);
+        if (ws.cost[ti] == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+        return createRoute(route, i, ws, ti);
+    }
+
+    //the first i+1 vertices of the root, followed by the path found by the workspace
+    private Route createRoute(Route root, int i, DijkstraWorkspace ws, int ti) {
+        int spurLength = 0;
+        for (int vi = ti; vi >= 0; vi = ws.before[vi]) {
+            spurLength++;
+        }
+        int rootLength = root == null ? 0 : i;
+        int[] vertices = new int[rootLength + spurLength];
+        double[] weights = new double[rootLength + spurLength];
+        if (root != null) {
+            System.arraycopy(root.vertices, 0, vertices, 0, rootLength);
+            System.arraycopy(root.weights, 0, weights, 0, rootLength);
+        }
+        double rootWeight = root == null ? 0 : root.weights[i];
+        for (int vi = ti, pos = vertices.length - 1; vi >= 0; vi = ws.before[vi], pos--) {
+            vertices[pos] = vi;
+            weights[pos] = rootWeight + ws.cost[vi];
+        }
+        return new Route(vertices, weights);
+    }
+
+    //a path, using vertex indices
+    private static class Route {
+
+        final int[] vertices;
+        final double[] weights; //weights[i] = the weight of the subpath ending in vertices[i]
+
+        Route(int[] vertices, double[] weights) {
+            this.vertices = vertices;
+            this.weights = weights;
+        }
+
+        double weight() {
+            return weights[weights.length - 1];
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(vertices);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Route && Arrays.equals(vertices, ((Route) obj).vertices);
+        }
+    }
+}
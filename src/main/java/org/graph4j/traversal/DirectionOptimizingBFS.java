@@ -0,0 +1,407 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.traversal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.AdjacencyArrays;
+import org.graph4j.util.Validator;
+
+/**
+ * Direction-optimizing breadth first search. A classic (top-down) BFS step
+ * scans the edges leaving the vertices in the frontier, most of them leading,
+ * in graphs with a small diameter, to vertices that were already visited. When
+ * the frontier becomes large, a bottom-up step is performed instead: each
+ * unvisited vertex scans its predecessors (its neighbors, in case of
+ * undirected graphs), stopping as soon as it finds one in the frontier.
+ *
+ * <p>
+ * The algorithm switches to bottom-up when the number of edges leaving the
+ * frontier exceeds {@code 1/alpha} of the edges leaving the unvisited
+ * vertices, and back to top-down when the frontier contains less than
+ * {@code 1/beta} of the vertices. The top-down frontier is stored as an array
+ * of vertex indices, while the bottom-up frontier is stored as a bitmap.
+ *
+ * <p>
+ * The steps can be performed in parallel, using the common fork-join pool.
+ * The result of the traversal is the same as the one of a regular BFS, except
+ * that the parent of a vertex may be any of its predecessors on the previous
+ * level.
+ *
+ * S. Beamer, K. Asanović, D. Patterson, "Direction-Optimizing Breadth-First
+ * Search", SC 2012.
+ *
+ * @see BFSTraverser
+ * @author Cristian Frăsinaru
+ */
+public class DirectionOptimizingBFS extends GraphAlgorithm {
+
+    /**
+     * The default value of the top-down to bottom-up switching parameter.
+     */
+    public static final int DEFAULT_ALPHA = 15;
+    /**
+     * The default value of the bottom-up to top-down switching parameter.
+     */
+    public static final int DEFAULT_BETA = 18;
+    private static final int WORDS_PER_CHUNK = 64;
+    private static final int VERTICES_PER_CHUNK = 1024;
+    private final int numThreads;
+    private int alpha = DEFAULT_ALPHA;
+    private int beta = DEFAULT_BETA;
+    private AdjacencyArrays succ;
+    private AdjacencyArrays pred;
+    //
+    private int n;
+    private int[] level;
+    private int[] parent;
+    private AtomicLongArray visited;
+    private int maxLevel;
+    private int numVisited;
+    private int numBottomUpSteps;
+
+    /**
+     * Creates a sequential traversal.
+     *
+     * @param graph the input graph.
+     */
+    public DirectionOptimizingBFS(Graph graph) {
+        this(graph, 1);
+    }
+
+    /**
+     * Creates a traversal using the specified number of threads.
+     *
+     * @param graph the input graph.
+     * @param numThreads the number of threads.
+     */
+    public DirectionOptimizingBFS(Graph graph, int numThreads) {
+        super(graph);
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.numThreads = numThreads;
+    }
+
+    /**
+     * Sets the switching parameters of the algorithm.
+     *
+     * @param alpha top-down to bottom-up switching parameter.
+     * @param beta bottom-up to top-down switching parameter.
+     */
+    public void setParameters(int alpha, int beta) {
+        if (alpha <= 0 || beta <= 0) {
+            throw new IllegalArgumentException("Invalid parameters: " + alpha + ", " + beta);
+        }
+        this.alpha = alpha;
+        this.beta = beta;
+    }
+
+    /**
+     * Traverses the graph, starting from the specified vertex. Only the
+     * vertices reachable from the source are visited.
+     *
+     * @param source the source vertex number.
+     */
+    public void traverse(int source) {
+        Validator.containsVertex(graph, source);
+        if (succ == null) {
+            succ = AdjacencyArrays.successors(graph);
+            pred = directed ? succ.transpose() : succ;
+        }
+        init();
+        int si = graph.indexOf(source);
+        level[si] = 0;
+        visited.set(si >>> 6, 1L << (si & 63));
+        numVisited = 1;
+
+        int[] queue = new int[]{si};
+        int queueSize = 1;
+        long[] frontier = null;
+        int frontierSize = 1;
+        long unexplored = succ.numEntries() - succ.degree(si);
+        int depth = 0;
+        while (frontierSize > 0) {
+            depth++;
+            if (frontier == null) {
+                long frontierEdges = 0;
+                for (int i = 0; i < queueSize; i++) {
+                    frontierEdges += succ.degree(queue[i]);
+                }
+                if (frontierEdges > unexplored / alpha) {
+                    frontier = toBitmap(queue, queueSize);
+                }
+            } else if (frontierSize < n / beta) {
+                queue = toQueue(frontier, frontierSize);
+                queueSize = frontierSize;
+                frontier = null;
+            }
+            if (frontier != null) {
+                frontier = bottomUpStep(frontier, depth);
+                frontierSize = 0;
+                for (long word : frontier) {
+                    frontierSize += Long.bitCount(word);
+                }
+                numBottomUpSteps++;
+            } else {
+                queue = topDownStep(queue, queueSize, depth);
+                queueSize = queue.length;
+                frontierSize = queueSize;
+            }
+            if (frontierSize > 0) {
+                maxLevel = depth;
+                numVisited += frontierSize;
+                unexplored -= sumOfDegrees(frontier, queue, queueSize);
+            }
+        }
+    }
+
+    private void init() {
+        this.n = graph.numVertices();
+        this.level = new int[n];
+        this.parent = new int[n];
+        Arrays.fill(level, -1);
+        Arrays.fill(parent, -1);
+        this.visited = new AtomicLongArray((n + 63) >>> 6);
+        this.maxLevel = 0;
+        this.numBottomUpSteps = 0;
+    }
+
+    private int[] topDownStep(int[] queue, int queueSize, int depth) {
+        int[] offsets = succ.offsets();
+        int[] targets = succ.targets();
+        int numChunks = (queueSize + VERTICES_PER_CHUNK - 1) / VERTICES_PER_CHUNK;
+        int[][] next = new int[numChunks][];
+        int[] nextSize = new int[numChunks];
+        parallel(numChunks, c -> {
+            int[] local = new int[16];
+            int size = 0;
+            for (int i = c * VERTICES_PER_CHUNK, end = Math.min(i + VERTICES_PER_CHUNK, queueSize); i < end; i++) {
+                int vi = queue[i];
+                for (int p = offsets[vi], pEnd = offsets[vi + 1]; p < pEnd; p++) {
+                    int ui = targets[p];
+                    if (claim(ui)) {
+                        level[ui] = depth;
+                        parent[ui] = vi;
+                        if (size == local.length) {
+                            local = Arrays.copyOf(local, 2 * size);
+                        }
+                        local[size++] = ui;
+                    }
+                }
+            }
+            next[c] = local;
+            nextSize[c] = size;
+        });
+        int total = 0;
+        for (int size : nextSize) {
+            total += size;
+        }
+        int[] result = new int[total];
+        for (int c = 0, pos = 0; c < numChunks; c++) {
+            System.arraycopy(next[c], 0, result, pos, nextSize[c]);
+            pos += nextSize[c];
+        }
+        return result;
+    }
+
+    //atomically marks a vertex as visited
+    private boolean claim(int ui) {
+        int w = ui >>> 6;
+        long bit = 1L << (ui & 63);
+        long old = visited.get(w);
+        while ((old & bit) == 0) {
+            if (visited.compareAndSet(w, old, old | bit)) {
+                return true;
+            }
+            old = visited.get(w);
+        }
+        return false;
+    }
+
+    //each chunk owns a range of words, so the bitmaps can be written without synchronization
+    private long[] bottomUpStep(long[] frontier, int depth) {
+        int[] offsets = pred.offsets();
+        int[] targets = pred.targets();
+        int numWords = frontier.length;
+        long[] next = new long[numWords];
+        int numChunks = (numWords + WORDS_PER_CHUNK - 1) / WORDS_PER_CHUNK;
+        parallel(numChunks, c -> {
+            for (int w = c * WORDS_PER_CHUNK, wEnd = Math.min(w + WORDS_PER_CHUNK, numWords); w < wEnd; w++) {
+                long unvisited = ~visited.get(w);
+                if (w == numWords - 1 && (n & 63) != 0) {
+                    unvisited &= (1L << (n & 63)) - 1;
+                }
+                long found = 0;
+                while (unvisited != 0) {
+                    int bit = Long.numberOfTrailingZeros(unvisited);
+                    unvisited &= unvisited - 1;
+                    int vi = (w << 6) + bit;
+                    for (int p = offsets[vi], pEnd = offsets[vi + 1]; p < pEnd; p++) {
+                        int ui = targets[p];
+                        if ((frontier[ui >>> 6] & (1L << (ui & 63))) != 0) {
+                            level[vi] = depth;
+                            parent[vi] = ui;
+                            found |= 1L << bit;
+                            break;
+                        }
+                    }
+                }
+                if (found != 0) {
+                    next[w] = found;
+                    visited.set(w, visited.get(w) | found);
+                }
+            }
+        });
+        return next;
+    }
+
+    private long sumOfDegrees(long[] frontier, int[] queue, int queueSize) {
+        long sum = 0;
+        if (frontier != null) {
+            for (int w = 0; w < frontier.length; w++) {
+                long bits = frontier[w];
+                while (bits != 0) {
+                    sum += succ.degree((w << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        } else {
+            for (int i = 0; i < queueSize; i++) {
+                sum += succ.degree(queue[i]);
+            }
+        }
+        return sum;
+    }
+
+    private long[] toBitmap(int[] queue, int queueSize) {
+        long[] bitmap = new long[(n + 63) >>> 6];
+        for (int i = 0; i < queueSize; i++) {
+            bitmap[queue[i] >>> 6] |= 1L << (queue[i] & 63);
+        }
+        return bitmap;
+    }
+
+    private int[] toQueue(long[] bitmap, int size) {
+        int[] queue = new int[size];
+        int pos = 0;
+        for (int w = 0; w < bitmap.length; w++) {
+            long bits = bitmap[w];
+            while (bits != 0) {
+                queue[pos++] = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+        return queue;
+    }
+
+    private void parallel(int numChunks, IntConsumer chunk) {
+        if (numThreads == 1 || numChunks == 1) {
+            for (int c = 0; c < numChunks; c++) {
+                chunk.accept(c);
+            }
+            return;
+        }
+        List<Callable<Object>> tasks = new ArrayList<>();
+        int numTasks = Math.min(numThreads, numChunks);
+        for (int t = 0; t < numTasks; t++) {
+            final int first = t;
+            tasks.add(() -> {
+                for (int c = first; c < numChunks; c += numTasks) {
+                    chunk.accept(c);
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<?> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void checkTraversed() {
+        if (level == null) {
+            throw new IllegalStateException("The graph has not been traversed yet.");
+        }
+    }
+
+    /**
+     * Returns the levels of the vertices in the BFS tree, the source being at
+     * level 0. The vertices that were not reached have the level -1.
+     *
+     * @return the levels, indexed by vertex indices.
+     */
+    public int[] levels() {
+        checkTraversed();
+        return level;
+    }
+
+    /**
+     * Returns the indices of the parents of the vertices in the BFS tree. The
+     * source and the vertices that were not reached have the parent -1.
+     *
+     * @return the indices of the parents, indexed by vertex indices.
+     */
+    public int[] parents() {
+        checkTraversed();
+        return parent;
+    }
+
+    /**
+     *
+     * @return the maximum level in the search tree, root is at level 0.
+     */
+    public int maxLevel() {
+        checkTraversed();
+        return maxLevel;
+    }
+
+    /**
+     *
+     * @return the number of vertices reached by the traversal.
+     */
+    public int numVisited() {
+        checkTraversed();
+        return numVisited;
+    }
+
+    /**
+     *
+     * @return the number of levels computed using bottom-up steps.
+     */
+    public int numBottomUpSteps() {
+        checkTraversed();
+        return numBottomUpSteps;
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.traversal;
+
+import java.util.Arrays;
+import org.graph4j.Digraph;
+import org.graph4j.Graph;
+import org.graph4j.util.Validator;
+
+/**
+ * A breadth first search (BFS) traverser that does not create any objects for
+ * the visited vertices. The queue is an array of vertex indices and the search
+ * tree is stored in parallel arrays (parent, level, order), indexed by vertex
+ * indices. The visitor receives vertex numbers.
+ *
+ * <p>
+ * The arrays are allocated at the first traversal and reused by the next ones,
+ * as long as the number of vertices does not change. The arrays returned by
+ * {@link #parents()}, {@link #levels()} and {@link #order()} are not copied,
+ * they are valid until the next traversal.
+ *
+ * @see BFSTraverser
+ * @see IntSearchVisitor
+ * @author Cristian Frăsinaru
+ */
+public class IntBFSTraverser {
+
+    private final Graph graph;
+    private final boolean directed;
+    private IntSearchVisitor visitor;
+    //
+    private int[] queue; //vertex indices
+    private int[] parent; //the index of the parent, -1 for roots and unvisited vertices
+    private int[] level; //-1 for unvisited vertices
+    private int[] order; //the order in which the vertices were reached, -1 for unvisited vertices
+    private int head;
+    private int tail;
+    private int numComponents;
+    private int maxLevel;
+    private boolean interrupted;
+
+    /**
+     *
+     * @param graph the graph to be traversed.
+     */
+    public IntBFSTraverser(Graph graph) {
+        this.graph = graph;
+        this.directed = (graph instanceof Digraph);
+    }
+
+    private void init(IntSearchVisitor visitor) {
+        int n = graph.numVertices();
+        if (queue == null || queue.length != n) {
+            queue = new int[n];
+            parent = new int[n];
+            level = new int[n];
+            order = new int[n];
+        }
+        Arrays.fill(parent, -1);
+        Arrays.fill(level, -1);
+        Arrays.fill(order, -1);
+        head = tail = 0;
+        numComponents = 0;
+        maxLevel = -1;
+        interrupted = false;
+        this.visitor = visitor != null ? visitor : new IntSearchVisitor() {
+        };
+    }
+
+    /**
+     * Traverses all the vertices of the graph, starting with the first one.
+     *
+     * @param visitor a visitor of the traversal.
+     */
+    public void traverse(IntSearchVisitor visitor) {
+        if (graph.isEmpty()) {
+            return;
+        }
+        traverse(graph.vertexAt(0), visitor);
+    }
+
+    /**
+     * Traverses all the vertices of the graph, without a visitor, in order to
+     * compute the parent, level and order arrays.
+     *
+     * @param start the start vertex number.
+     */
+    public void traverse(int start) {
+        traverse(start, null);
+    }
+
+    /**
+     * Traverses all the vertices of the graph, starting with the specified
+     * vertex. When a component is exhausted, the traversal continues with the
+     * first vertex that was not visited.
+     *
+     * @param start the start vertex number.
+     * @param visitor a visitor of the traversal.
+     */
+    public void traverse(int start, IntSearchVisitor visitor) {
+        Validator.containsVertex(graph, start);
+        init(visitor);
+        try {
+            bfs(graph.indexOf(start));
+            for (int i = 0, n = graph.numVertices(); i < n; i++) {
+                if (level[i] < 0) {
+                    bfs(i);
+                }
+            }
+        } catch (InterruptedVisitorException e) {
+            interrupted = true;
+        }
+    }
+
+    /**
+     * Traverses only the vertices reachable from the specified vertex.
+     *
+     * @param start the start vertex number.
+     * @param visitor a visitor of the traversal.
+     */
+    public void traverseComponent(int start, IntSearchVisitor visitor) {
+        Validator.containsVertex(graph, start);
+        init(visitor);
+        try {
+            bfs(graph.indexOf(start));
+        } catch (InterruptedVisitorException e) {
+            interrupted = true;
+        }
+    }
+
+    private void bfs(int si) {
+        numComponents++;
+        level[si] = 0;
+        order[si] = tail;
+        queue[tail++] = si;
+        visitor.startVertex(graph.vertexAt(si));
+        while (head < tail) {
+            int vi = queue[head++];
+            int v = graph.vertexAt(vi);
+            if (maxLevel < level[vi]) {
+                maxLevel = level[vi];
+            }
+            for (int u : graph.neighbors(v)) {
+                int ui = graph.indexOf(u);
+                if (level[ui] < 0) {
+                    level[ui] = level[vi] + 1;
+                    parent[ui] = vi;
+                    order[ui] = tail;
+                    queue[tail++] = ui;
+                    visitor.treeEdge(v, u);
+                    visitor.startVertex(u);
+                } else if (ui == vi) {
+                    visitor.backEdge(v, u); //self loop
+                } else if (ui == parent[vi]) {
+                    if (directed) {
+                        visitor.backEdge(v, u); //back to parent
+                    }
+                } else if (directed && isAncestor(ui, vi)) {
+                    visitor.backEdge(v, u);
+                } else {
+                    visitor.crossEdge(v, u);
+                }
+            }
+            visitor.finishVertex(v);
+        }
+    }
+
+    //walks up from vi to the level of ui
+    private boolean isAncestor(int ui, int vi) {
+        if (level[ui] >= level[vi] || order[ui] > order[vi]) {
+            return false;
+        }
+        while (level[vi] > level[ui]) {
+            vi = parent[vi];
+        }
+        return vi == ui;
+    }
+
+    /**
+     * Returns the indices of the parents of the vertices in the BFS forest.
+     * The roots and the vertices that were not reached have the parent -1.
+     *
+     * @return the indices of the parents, indexed by vertex indices.
+     */
+    public int[] parents() {
+        checkTraversed();
+        return parent;
+    }
+
+    /**
+     * Returns the levels of the vertices in the BFS forest, the roots being at
+     * level 0. The vertices that were not reached have the level -1.
+     *
+     * @return the levels, indexed by vertex indices.
+     */
+    public int[] levels() {
+        checkTraversed();
+        return level;
+    }
+
+    /**
+     * Returns the order in which the vertices were reached, starting with 0.
+     * The vertices that were not reached have the order -1.
+     *
+     * @return the order of the vertices, indexed by vertex indices.
+     */
+    public int[] order() {
+        checkTraversed();
+        return order;
+    }
+
+    /**
+     * Returns the indices of the reached vertices, in the order of the
+     * traversal. The first {@link #numVisited()} positions are used.
+     *
+     * @return the queue used by the traversal.
+     */
+    public int[] visitedVertices() {
+        checkTraversed();
+        return queue;
+    }
+
+    /**
+     *
+     * @return the number of vertices reached by the traversal.
+     */
+    public int numVisited() {
+        checkTraversed();
+        return tail;
+    }
+
+    /**
+     *
+     * @return the number of connected components identified by the traversal.
+     */
+    public int numComponents() {
+        return numComponents;
+    }
+
+    /**
+     *
+     * @return the maximum level in the search tree, root is at level 0.
+     */
+    public int maxLevel() {
+        return maxLevel;
+    }
+
+    /**
+     *
+     * @return {@code true} if the traversal was interrupted before all vertices
+     * have been visited.
+     */
+    public boolean isInterrupted() {
+        return interrupted;
+    }
+
+    private void checkTraversed() {
+        if (queue == null) {
+            throw new IllegalStateException("The graph has not been traversed yet.");
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.traversal;
+
+import java.util.Arrays;
+import org.graph4j.Digraph;
+import org.graph4j.Graph;
+import org.graph4j.Multigraph;
+import org.graph4j.util.Validator;
+
+/**
+ * A depth first search (DFS) traverser that does not create any objects for
+ * the visited vertices. The stack is an array of vertex indices, the position
+ * reached in the adjacency list of each vertex is stored in an array, and the
+ * search tree is stored in parallel arrays (parent, level, order), indexed by
+ * vertex indices. The visitor receives vertex numbers.
+ *
+ * <p>
+ * The arrays are allocated at the first traversal and reused by the next ones,
+ * as long as the number of vertices does not change. The arrays returned by
+ * {@link #parents()}, {@link #levels()}, {@link #order()} and
+ * {@link #finishOrder()} are not copied, they are valid until the next
+ * traversal.
+ *
+ * @see DFSTraverser
+ * @see IntSearchVisitor
+ * @author Cristian Frăsinaru
+ */
+public class IntDFSTraverser {
+
+    private final Graph graph;
+    private final boolean directed;
+    private IntSearchVisitor visitor;
+    //
+    private int[] stack; //vertex indices
+    private int[] nextPos; //used to iterate through adjacency lists
+    private int[] parent; //the index of the parent, -1 for roots and unvisited vertices
+    private int[] level; //-1 for unvisited vertices
+    private int[] order; //the discovery order, -1 for unvisited vertices
+    private int[] finish; //the finishing order, -1 for unfinished vertices
+    private boolean[] instack;
+    private int orderIndex;
+    private int finishIndex;
+    private int numComponents;
+    private boolean interrupted;
+
+    /**
+     *
+     * @param graph the graph to be traversed.
+     */
+    public IntDFSTraverser(Graph graph) {
+        if (graph instanceof Multigraph) {
+            throw new IllegalArgumentException("DFS is not supported for multigraphs");
+        }
+        this.graph = graph;
+        this.directed = (graph instanceof Digraph);
+    }
+
+    private void init(IntSearchVisitor visitor) {
+        int n = graph.numVertices();
+        if (stack == null || stack.length != n) {
+            stack = new int[n];
+            nextPos = new int[n];
+            parent = new int[n];
+            level = new int[n];
+            order = new int[n];
+            finish = new int[n];
+            instack = new boolean[n];
+        }
+        Arrays.fill(nextPos, 0);
+        Arrays.fill(parent, -1);
+        Arrays.fill(level, -1);
+        Arrays.fill(order, -1);
+        Arrays.fill(finish, -1);
+        orderIndex = 0;
+        finishIndex = 0;
+        numComponents = 0;
+        interrupted = false;
+        this.visitor = visitor != null ? visitor : new IntSearchVisitor() {
+        };
+    }
+
+    /**
+     * Traverses all the vertices of the graph, starting with the first one.
+     *
+     * @param visitor a visitor of the traversal.
+     */
+    public void traverse(IntSearchVisitor visitor) {
+        if (graph.isEmpty()) {
+            return;
+        }
+        traverse(graph.vertexAt(0), visitor);
+    }
+
+    /**
+     * Traverses all the vertices of the graph, without a visitor, in order to
+     * compute the parent, level and order arrays.
+     *
+     * @param start the start vertex number.
+     */
+    public void traverse(int start) {
+        traverse(start, null);
+    }
+
+    /**
+     * Traverses all the vertices of the graph, starting with the specified
+     * vertex. When a component is exhausted, the traversal continues with the
+     * first vertex that was not visited.
+     *
+     * @param start the start vertex number.
+     * @param visitor a visitor of the traversal.
+     */
+    public void traverse(int start, IntSearchVisitor visitor) {
+        Validator.containsVertex(graph, start);
+        init(visitor);
+        try {
+            dfs(graph.indexOf(start));
+            for (int i = 0, n = graph.numVertices(); i < n; i++) {
+                if (level[i] < 0) {
+                    dfs(i);
+                }
+            }
+        } catch (InterruptedVisitorException e) {
+            interrupted = true;
+        }
+    }
+
+    /**
+     * Traverses only the vertices reachable from the specified vertex.
+     *
+     * @param start the start vertex number.
+     * @param visitor a visitor of the traversal.
+     */
+    public void traverseComponent(int start, IntSearchVisitor visitor) {
+        Validator.containsVertex(graph, start);
+        init(visitor);
+        try {
+            dfs(graph.indexOf(start));
+        } catch (InterruptedVisitorException e) {
+            interrupted = true;
+        }
+    }
+
+    private void dfs(int si) {
+        numComponents++;
+        int top = 0;
+        stack[top++] = si;
+        instack[si] = true;
+        level[si] = 0;
+        order[si] = orderIndex++;
+        visitor.startVertex(graph.vertexAt(si));
+        while (top > 0) {
+            int vi = stack[top - 1];
+            int v = graph.vertexAt(vi);
+            int[] neighbors = graph.neighbors(v);
+            boolean descended = false;
+            while (nextPos[vi] < neighbors.length) {
+                int u = neighbors[nextPos[vi]++];
+                int ui = graph.indexOf(u);
+                if (level[ui] < 0) {
+                    //the neighbor is not visited, add a tree edge
+                    parent[ui] = vi;
+                    level[ui] = level[vi] + 1;
+                    order[ui] = orderIndex++;
+                    visitor.treeEdge(v, u);
+                    visitor.startVertex(u);
+                    stack[top++] = ui;
+                    instack[ui] = true;
+                    descended = true;
+                    break;
+                }
+                //back edge, forward edge or cross edge
+                if (ui == parent[vi]) {
+                    if (directed) {
+                        visitor.backEdge(v, u); //return to the parent, via a directed edge
+                    }
+                } else if (!directed) {
+                    if (order[ui] < order[vi]) {
+                        visitor.backEdge(v, u);
+                    }
+                    //otherwise, it was already visited as a back edge
+                } else if (instack[ui] && order[ui] <= order[vi]) {
+                    visitor.backEdge(v, u);
+                } else if (order[vi] < order[ui]) {
+                    //vi is on top of the stack, so ui was discovered in its subtree
+                    visitor.forwardEdge(v, u);
+                } else {
+                    visitor.crossEdge(v, u);
+                }
+            }
+            if (!descended) {
+                top--;
+                instack[vi] = false;
+                finish[vi] = finishIndex++;
+                visitor.finishVertex(v);
+                if (parent[vi] >= 0) {
+                    visitor.upward(v, graph.vertexAt(parent[vi]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the indices of the parents of the vertices in the DFS forest.
+     * The roots and the vertices that were not reached have the parent -1.
+     *
+     * @return the indices of the parents, indexed by vertex indices.
+     */
+    public int[] parents() {
+        checkTraversed();
+        return parent;
+    }
+
+    /**
+     * Returns the levels of the vertices in the DFS forest, the roots being at
+     * level 0. The vertices that were not reached have the level -1.
+     *
+     * @return the levels, indexed by vertex indices.
+     */
+    public int[] levels() {
+        checkTraversed();
+        return level;
+    }
+
+    /**
+     * Returns the order in which the vertices were discovered (preorder),
+     * starting with 0. The vertices that were not reached have the order -1.
+     *
+     * @return the discovery order of the vertices, indexed by vertex indices.
+     */
+    public int[] order() {
+        checkTraversed();
+        return order;
+    }
+
+    /**
+     * Returns the order in which the vertices were finished (postorder),
+     * starting with 0. The vertices that were not reached have the order -1.
+     *
+     * @return the finishing order of the vertices, indexed by vertex indices.
+     */
+    public int[] finishOrder() {
+        checkTraversed();
+        return finish;
+    }
+
+    /**
+     *
+     * @return the number of vertices reached by the traversal.
+     */
+    public int numVisited() {
+        return orderIndex;
+    }
+
+    /**
+     *
+     * @return the number of connected components identified by the traversal.
+     */
+    public int numComponents() {
+        return numComponents;
+    }
+
+    /**
+     *
+     * @return {@code true} if the traversal was interrupted before all vertices
+     * have been visited.
+     */
+    public boolean isInterrupted() {
+        return interrupted;
+    }
+
+    private void checkTraversed() {
+        if (stack == null) {
+            throw new IllegalStateException("The graph has not been traversed yet.");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.traversal;
+
+/**
+ * A visitor of a breadth first or depth first search, that receives vertex
+ * numbers instead of {@link SearchNode} objects. An implementation of this
+ * interface is provided to an {@link IntBFSTraverser} or to an
+ * {@link IntDFSTraverser}. The information about the position of a vertex in
+ * the search tree (parent, level, order) is available in the arrays of the
+ * traverser.
+ *
+ * @author Cristian Frăsinaru
+ */
+public interface IntSearchVisitor {
+
+    /**
+     * Invoked whenever a vertex is reached for the first time as root or after
+     * a tree edge.
+     *
+     * @param v the vertex number.
+     */
+    default void startVertex(int v) {
+    }
+
+    /**
+     * Invoked after all the neighbors of the vertex have been visited.
+     *
+     * @param v the vertex number.
+     */
+    default void finishVertex(int v) {
+    }
+
+    /**
+     * A tree edge is part of the search tree.
+     *
+     * @param v the parent vertex.
+     * @param u the child vertex.
+     */
+    default void treeEdge(int v, int u) {
+    }
+
+    /**
+     * A back edge vu is such that u is the ancestor of v, but vu is not a tree
+     * edge.
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     */
+    default void backEdge(int v, int u) {
+    }
+
+    /**
+     * A forward edge vu is such that u is a descendant of v, but vu is not a
+     * tree edge. Forward edges can appear only in directed DFS traversals.
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     */
+    default void forwardEdge(int v, int u) {
+    }
+
+    /**
+     * A cross edge connects two vertices such that they do not have any
+     * relationship between them (ancestor or descendant).
+     *
+     * @param v a vertex number.
+     * @param u a vertex number.
+     */
+    default void crossEdge(int v, int u) {
+    }
+
+    /**
+     * Invoked when a DFS traversal moves up in the search tree.
+     *
+     * @param v the child vertex.
+     * @param u the parent vertex.
+     */
+    default void upward(int v, int u) {
+    }
+
+    /**
+     * Interrupts the traversal.
+     */
+    default void interrupt() {
+        throw new InterruptedVisitorException();
+    }
+}
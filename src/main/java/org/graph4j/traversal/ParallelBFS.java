@@ -0,0 +1,298 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.traversal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.AdjacencyArrays;
+import org.graph4j.util.Validator;
+
+/**
+ * Parallel level-synchronous breadth first search. The vertices of each level
+ * (the frontier) are split in chunks, which are processed by a number of
+ * workers running in the common fork-join pool; each worker takes the next
+ * available chunk, so the load is balanced even if the degrees of the vertices
+ * are very different. The visited vertices are stored in a bitmap, updated
+ * atomically, and each worker collects the newly discovered vertices in its own
+ * buffer. The buffers are concatenated to form the next frontier, after all
+ * the workers have finished.
+ *
+ * <p>
+ * The adjacency lists are converted to arrays only once, and all the data
+ * structures are reused, so the traversal can be efficiently performed from
+ * many sources, one after another. Small frontiers are processed
+ * sequentially.
+ *
+ * <p>
+ * The levels of the vertices are the same as the ones computed by a regular
+ * BFS, but the parent of a vertex may be any of its predecessors on the
+ * previous level.
+ *
+ * @see BFSTraverser
+ * @see DirectionOptimizingBFS
+ * @author Cristian Frăsinaru
+ */
+public class ParallelBFS extends GraphAlgorithm {
+
+    private static final int CHUNK_SIZE = 256;
+    private final int numThreads;
+    private AdjacencyArrays succ;
+    //
+    private int n;
+    private int[] level;
+    private int[] parent;
+    private AtomicLongArray visited;
+    private int[] frontier;
+    private int[] next;
+    private int[][] buffers; //the buffers of the workers
+    private int[] bufferSize;
+    private int maxLevel;
+    private int numVisited;
+
+    /**
+     * Creates a traversal using all the available processors.
+     *
+     * @param graph the input graph.
+     */
+    public ParallelBFS(Graph graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a traversal using the specified number of threads.
+     *
+     * @param graph the input graph.
+     * @param numThreads the number of threads.
+     */
+    public ParallelBFS(Graph graph, int numThreads) {
+        super(graph);
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.numThreads = numThreads;
+    }
+
+    /**
+     * Traverses the graph, starting from the specified vertex. Only the
+     * vertices reachable from the source are visited.
+     *
+     * @param source the source vertex number.
+     */
+    public void traverse(int source) {
+        Validator.containsVertex(graph, source);
+        init();
+        int si = graph.indexOf(source);
+        level[si] = 0;
+        visited.set(si >>> 6, 1L << (si & 63));
+        frontier[0] = si;
+        int frontierSize = 1;
+        numVisited = 1;
+        int depth = 0;
+        while (frontierSize > 0) {
+            depth++;
+            int nextSize = frontierSize <= CHUNK_SIZE || numThreads == 1
+                    ? sequentialStep(frontierSize, depth)
+                    : parallelStep(frontierSize, depth);
+            if (nextSize > 0) {
+                maxLevel = depth;
+                numVisited += nextSize;
+            }
+            int[] temp = frontier;
+            frontier = next;
+            next = temp;
+            frontierSize = nextSize;
+        }
+    }
+
+    private void init() {
+        if (succ == null) {
+            this.succ = AdjacencyArrays.successors(graph);
+            this.n = graph.numVertices();
+            this.level = new int[n];
+            this.parent = new int[n];
+            this.visited = new AtomicLongArray((n + 63) >>> 6);
+            this.frontier = new int[n];
+            this.next = new int[n];
+            this.buffers = new int[numThreads][16];
+            this.bufferSize = new int[numThreads];
+        } else {
+            for (int w = 0, numWords = visited.length(); w < numWords; w++) {
+                visited.set(w, 0);
+            }
+        }
+        Arrays.fill(level, -1);
+        Arrays.fill(parent, -1);
+        this.maxLevel = 0;
+    }
+
+    private int sequentialStep(int frontierSize, int depth) {
+        int[] offsets = succ.offsets();
+        int[] targets = succ.targets();
+        int size = 0;
+        for (int i = 0; i < frontierSize; i++) {
+            int vi = frontier[i];
+            for (int p = offsets[vi], pEnd = offsets[vi + 1]; p < pEnd; p++) {
+                int ui = targets[p];
+                if (level[ui] < 0) {
+                    level[ui] = depth;
+                    parent[ui] = vi;
+                    visited.set(ui >>> 6, visited.get(ui >>> 6) | (1L << (ui & 63)));
+                    next[size++] = ui;
+                }
+            }
+        }
+        return size;
+    }
+
+    private int parallelStep(int frontierSize, int depth) {
+        int[] offsets = succ.offsets();
+        int[] targets = succ.targets();
+        int numChunks = (frontierSize + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int numTasks = Math.min(numThreads, numChunks);
+        var nextChunk = new AtomicInteger();
+        List<Callable<Object>> tasks = new ArrayList<>(numTasks);
+        for (int t = 0; t < numTasks; t++) {
+            final int worker = t;
+            tasks.add(() -> {
+                int[] local = buffers[worker];
+                int size = 0;
+                int c;
+                while ((c = nextChunk.getAndIncrement()) < numChunks) {
+                    for (int i = c * CHUNK_SIZE, end = Math.min(i + CHUNK_SIZE, frontierSize); i < end; i++) {
+                        int vi = frontier[i];
+                        for (int p = offsets[vi], pEnd = offsets[vi + 1]; p < pEnd; p++) {
+                            int ui = targets[p];
+                            if (claim(ui)) {
+                                level[ui] = depth;
+                                parent[ui] = vi;
+                                if (size == local.length) {
+                                    local = Arrays.copyOf(local, 2 * size);
+                                }
+                                local[size++] = ui;
+                            }
+                        }
+                    }
+                }
+                buffers[worker] = local;
+                bufferSize[worker] = size;
+                return null;
+            });
+        }
+        invokeAll(tasks);
+        int total = 0;
+        for (int t = 0; t < numTasks; t++) {
+            System.arraycopy(buffers[t], 0, next, total, bufferSize[t]);
+            total += bufferSize[t];
+        }
+        return total;
+    }
+
+    //atomically marks a vertex as visited
+    private boolean claim(int ui) {
+        int w = ui >>> 6;
+        long bit = 1L << (ui & 63);
+        long old = visited.get(w);
+        while ((old & bit) == 0) {
+            if (visited.compareAndSet(w, old, old | bit)) {
+                return true;
+            }
+            old = visited.get(w);
+        }
+        return false;
+    }
+
+    private void invokeAll(List<Callable<Object>> tasks) {
+        try {
+            for (Future<?> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void checkTraversed() {
+        if (level == null) {
+            throw new IllegalStateException("The graph has not been traversed yet.");
+        }
+    }
+
+    /**
+     * Returns the levels of the vertices in the BFS tree, the source being at
+     * level 0. The vertices that were not reached have the level -1. The array
+     * is reused by the next traversal.
+     *
+     * @return the levels, indexed by vertex indices.
+     */
+    public int[] levels() {
+        checkTraversed();
+        return level;
+    }
+
+    /**
+     * Returns the indices of the parents of the vertices in the BFS tree. The
+     * source and the vertices that were not reached have the parent -1. The
+     * array is reused by the next traversal.
+     *
+     * @return the indices of the parents, indexed by vertex indices.
+     */
+    public int[] parents() {
+        checkTraversed();
+        return parent;
+    }
+
+    /**
+     *
+     * @return the maximum level in the search tree, root is at level 0.
+     */
+    public int maxLevel() {
+        checkTraversed();
+        return maxLevel;
+    }
+
+    /**
+     *
+     * @return the number of vertices reached by the traversal.
+     */
+    public int numVisited() {
+        checkTraversed();
+        return numVisited;
+    }
+
+    /**
+     *
+     * @return {@code true} if all the vertices were reached by the traversal.
+     */
+    public boolean isSpanning() {
+        checkTraversed();
+        return numVisited == n;
+    }
+}
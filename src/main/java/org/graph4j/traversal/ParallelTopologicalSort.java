@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.traversal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.graph4j.Digraph;
+import org.graph4j.util.AdjacencyArrays;
+
+/**
+ * Parallel version of Kahn's topological sorting algorithm, that creates the
+ * ordering level by level. The first level contains the vertices without
+ * predecessors; the next level contains the vertices whose predecessors all
+ * belong to the previous levels, and so on. The level of a vertex is the number
+ * of edges of the longest path ending in it, the same as the one given by
+ * {@link TopologicalOrderIterator#level()}. The vertices on the same level are
+ * independent (there is no path between any two of them), so they can be
+ * scheduled together.
+ *
+ * <p>
+ * Each level is split in chunks, which are processed by a number of workers
+ * running in the common fork-join pool. The in-degrees of the successors are
+ * decremented atomically and the vertices whose in-degrees become zero are
+ * collected in per-worker buffers, which are concatenated to form the next
+ * level. Small levels are processed sequentially.
+ *
+ * <p>
+ * The ordering is stored in a single array of vertex indices, the levels being
+ * delimited by offsets. Inside a level, the order of the vertices depends on
+ * the scheduling of the workers.
+ *
+ * @see TopologicalOrderIterator
+ * @author Cristian Frăsinaru
+ */
+public class ParallelTopologicalSort {
+
+    private static final int CHUNK_SIZE = 1024;
+    private final Digraph graph;
+    private final int numThreads;
+    private int[] order; //vertex indices, grouped by levels
+    private int[] levelOffsets;
+    private int[] level;
+    private int numLevels;
+
+    /**
+     * Creates a topological sorter using all the available processors.
+     *
+     * @param graph the input directed acyclic graph.
+     */
+    public ParallelTopologicalSort(Digraph graph) {
+        this(graph, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a topological sorter using the specified number of threads.
+     *
+     * @param graph the input directed acyclic graph.
+     * @param numThreads the number of threads.
+     */
+    public ParallelTopologicalSort(Digraph graph, int numThreads) {
+        Objects.requireNonNull(graph);
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.graph = graph;
+        this.numThreads = numThreads;
+    }
+
+    private void compute() {
+        int n = graph.numVertices();
+        var succ = AdjacencyArrays.successors(graph);
+        int[] targets = succ.targets();
+        int[] counts = new int[n];
+        for (int ui : targets) {
+            counts[ui]++;
+        }
+        var indegree = new AtomicIntegerArray(counts);
+        this.order = new int[n];
+        this.level = new int[n];
+        int[] offsets = new int[n + 1];
+        int size = 0;
+        for (int vi = 0; vi < n; vi++) {
+            if (counts[vi] == 0) {
+                order[size++] = vi;
+            }
+        }
+        int k = 0;
+        int from = 0;
+        int[][] buffers = new int[numThreads][16];
+        int[] bufferSize = new int[numThreads];
+        while (from < size) {
+            int to = size;
+            offsets[k] = from;
+            for (int i = from; i < to; i++) {
+                level[order[i]] = k;
+            }
+            if (numThreads == 1 || to - from <= CHUNK_SIZE) {
+                size = sequentialStep(succ, indegree, from, to);
+            } else {
+                size = parallelStep(succ, indegree, from, to, buffers, bufferSize);
+            }
+            from = to;
+            k++;
+        }
+        if (size < n) {
+            //nothing is kept, so that the next invocation fails as well
+            this.order = null;
+            this.level = null;
+            throw new IllegalArgumentException("The digraph is not acyclic.");
+        }
+        offsets[k] = n;
+        this.numLevels = k;
+        this.levelOffsets = Arrays.copyOf(offsets, k + 1);
+    }
+
+    //appends the next level after the position to, returns the new size
+    private int sequentialStep(AdjacencyArrays succ, AtomicIntegerArray indegree, int from, int to) {
+        int[] offsets = succ.offsets();
+        int[] targets = succ.targets();
+        int size = to;
+        for (int i = from; i < to; i++) {
+            int vi = order[i];
+            for (int p = offsets[vi], pEnd = offsets[vi + 1]; p < pEnd; p++) {
+                int ui = targets[p];
+                int d = indegree.get(ui) - 1;
+                indegree.set(ui, d);
+                if (d == 0) {
+                    order[size++] = ui;
+                }
+            }
+        }
+        return size;
+    }
+
+    private int parallelStep(AdjacencyArrays succ, AtomicIntegerArray indegree, int from, int to,
+            int[][] buffers, int[] bufferSize) {
+        int[] offsets = succ.offsets();
+        int[] targets = succ.targets();
+        int numChunks = (to - from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int numTasks = Math.min(numThreads, numChunks);
+        var next = new AtomicInteger(from);
+        List<Callable<Object>> tasks = new ArrayList<>(numTasks);
+        for (int t = 0; t < numTasks; t++) {
+            final int worker = t;
+            tasks.add(() -> {
+                int[] local = buffers[worker];
+                int size = 0;
+                int start;
+                while ((start = next.getAndAdd(CHUNK_SIZE)) < to) {
+                    for (int i = start, end = Math.min(start + CHUNK_SIZE, to); i < end; i++) {
+                        int vi = order[i];
+                        for (int p = offsets[vi], pEnd = offsets[vi + 1]; p < pEnd; p++) {
+                            int ui = targets[p];
+                            if (indegree.decrementAndGet(ui) == 0) {
+                                if (size == local.length) {
+                                    local = Arrays.copyOf(local, 2 * size);
+                                }
+                                local[size++] = ui;
+                            }
+                        }
+                    }
+                }
+                buffers[worker] = local;
+                bufferSize[worker] = size;
+                return null;
+            });
+        }
+        invokeAll(tasks);
+        int size = to;
+        for (int t = 0; t < numTasks; t++) {
+            System.arraycopy(buffers[t], 0, order, size, bufferSize[t]);
+            size += bufferSize[t];
+        }
+        return size;
+    }
+
+    private void invokeAll(List<Callable<Object>> tasks) {
+        try {
+            for (Future<?> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void checkComputed() {
+        if (order == null) {
+            compute();
+        }
+    }
+
+    /**
+     * Returns the indices of the vertices in topological order, grouped by
+     * levels: the vertices of the level {@code k} occupy the positions from
+     * {@code levelOffsets()[k]} (inclusive) to {@code levelOffsets()[k+1]}
+     * (exclusive).
+     *
+     * @return the vertex indices, in topological order.
+     * @throws IllegalArgumentException if the digraph is not acyclic.
+     */
+    public int[] order() {
+        checkComputed();
+        return order;
+    }
+
+    /**
+     * Returns the positions in the {@link #order()} array where each level
+     * starts. The array has the length {@code numLevels() + 1}, its last
+     * element being the number of vertices.
+     *
+     * @return the offsets of the levels.
+     * @throws IllegalArgumentException if the digraph is not acyclic.
+     */
+    public int[] levelOffsets() {
+        checkComputed();
+        return levelOffsets;
+    }
+
+    /**
+     * Returns the levels of the vertices, indexed by vertex indices.
+     *
+     * @return the levels of the vertices.
+     * @throws IllegalArgumentException if the digraph is not acyclic.
+     */
+    public int[] levels() {
+        checkComputed();
+        return level;
+    }
+
+    /**
+     * Returns the vertices on a specified level, as a batch of independent
+     * vertices.
+     *
+     * @param k a level, between 0 and {@code numLevels() - 1}.
+     * @return the vertex numbers of the level.
+     * @throws IllegalArgumentException if the digraph is not acyclic.
+     */
+    public int[] getLevel(int k) {
+        checkComputed();
+        if (k < 0 || k >= numLevels) {
+            throw new IllegalArgumentException("Invalid level: " + k);
+        }
+        int from = levelOffsets[k];
+        int[] batch = new int[levelOffsets[k + 1] - from];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = graph.vertexAt(order[from + i]);
+        }
+        return batch;
+    }
+
+    /**
+     * Returns all the levels, as batches of vertex numbers.
+     *
+     * @return an array containing the vertex numbers of each level.
+     * @throws IllegalArgumentException if the digraph is not acyclic.
+     */
+    public int[][] getLevels() {
+        checkComputed();
+        int[][] batches = new int[numLevels][];
+        for (int k = 0; k < numLevels; k++) {
+            batches[k] = getLevel(k);
+        }
+        return batches;
+    }
+
+    /**
+     *
+     * @return the number of levels, 0 for the empty graph.
+     * @throws IllegalArgumentException if the digraph is not acyclic.
+     */
+    public int numLevels() {
+        checkComputed();
+        return numLevels;
+    }
+
+    /**
+     * Returns the length of the critical path, that is the number of edges of
+     * a longest path in the digraph.
+     *
+     * @return the length of the critical path, or -1 for the empty graph.
+     * @throws IllegalArgumentException if the digraph is not acyclic.
+     */
+    public int criticalPathLength() {
+        checkComputed();
+        return numLevels - 1;
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.traversal;
+
+import java.util.Arrays;
+import java.util.Objects;
+import org.graph4j.Graph;
+import org.graph4j.InvalidVertexException;
+import org.graph4j.util.Validator;
+
+/**
+ * Lexicographic Breadth-First Search (LexBFS) and Maximum Cardinality Search
+ * (MCS) implemented using partition refinement on flat arrays. Both algorithms
+ * run in O(|V| + |E|) time and do not create any objects during the search.
+ *
+ * <p>
+ * The unvisited vertices are stored in a permutation array, together with the
+ * position of each vertex in the permutation. The permutation is partitioned in
+ * contiguous classes, described by their boundaries; the next visited vertex is
+ * always the first one of the leftmost class. When a vertex is visited, each of
+ * its unvisited neighbors is swapped to the front of its class and the
+ * boundary is moved, so that it becomes part of a class placed immediately
+ * before. In case of LexBFS, a new class is created for each class that is
+ * split, while in case of MCS the neighbor joins the class of the vertices
+ * having one more visited neighbor. The identifiers of the empty classes are
+ * reused.
+ *
+ * <p>
+ * The first visited neighbor of each vertex is considered its parent in the
+ * search tree. In case of LexBFS, this is a BFS tree.
+ *
+ * @see LexBFSIterator
+ * @see MaximumCardinalityIterator
+ * @author Cristian Frăsinaru
+ */
+public class PartitionRefinementSearch {
+
+    private final Graph graph;
+    private int n;
+    private int[] perm; //the vertex indices
+    private int[] pos; //the positions of the vertices in perm
+    private int[] classOf;
+    private int[] classStart;
+    private int[] classEnd;
+    private int[] classLabel; //the number of visited neighbors, for MCS
+    private int[] splitOf; //the class created in the current step from a class
+    private int[] splitStamp;
+    private int[] createdStamp;
+    private int[] freeClasses;
+    private int numFree;
+    private int numClasses;
+    //
+    private int[] parent;
+    private int[] level;
+    private int numComponents;
+
+    /**
+     *
+     * @param graph the input graph.
+     */
+    public PartitionRefinementSearch(Graph graph) {
+        Objects.requireNonNull(graph);
+        this.graph = graph;
+    }
+
+    /**
+     * Performs a LexBFS, starting with the first vertex of the graph (the one
+     * at index 0).
+     *
+     * @return the vertex numbers, in the order they were visited.
+     */
+    public int[] lexBFS() {
+        return graph.isEmpty() ? new int[0] : lexBFS(graph.vertexAt(0));
+    }
+
+    /**
+     * Performs a LexBFS, starting with the specified vertex.
+     *
+     * @param start the start vertex number.
+     * @return the vertex numbers, in the order they were visited.
+     * @throws InvalidVertexException if the graph does not contain the start
+     * vertex.
+     */
+    public int[] lexBFS(int start) {
+        Validator.containsVertex(graph, start);
+        init(start);
+        for (int i = 0; i < n; i++) {
+            int vi = perm[i];
+            visit(vi);
+            int v = graph.vertexAt(vi);
+            for (int u : graph.neighbors(v)) {
+                int ui = graph.indexOf(u);
+                if (pos[ui] <= i) {
+                    continue; //already visited
+                }
+                int c = classOf[ui];
+                if (createdStamp[c] == i) {
+                    continue; //multiple edges
+                }
+                if (parent[ui] < 0) {
+                    parent[ui] = vi;
+                    level[ui] = level[vi] + 1;
+                }
+                if (splitStamp[c] != i) {
+                    splitStamp[c] = i;
+                    splitOf[c] = newClass(classStart[c], 0);
+                    createdStamp[splitOf[c]] = i;
+                }
+                moveToPreviousClass(ui, c, splitOf[c]);
+            }
+        }
+        return ordering();
+    }
+
+    /**
+     * Performs a MCS, starting with the first vertex of the graph (the one at
+     * index 0).
+     *
+     * @return the vertex numbers, in the order they were visited.
+     * @throws IllegalArgumentException if the graph is directed.
+     */
+    public int[] maximumCardinality() {
+        return graph.isEmpty() ? new int[0] : maximumCardinality(graph.vertexAt(0));
+    }
+
+    /**
+     * Performs a MCS, starting with the specified vertex. At each step, a
+     * vertex with the maximum number of visited neighbors is chosen.
+     *
+     * @param start the start vertex number.
+     * @return the vertex numbers, in the order they were visited.
+     * @throws IllegalArgumentException if the graph is directed.
+     * @throws InvalidVertexException if the graph does not contain the start
+     * vertex.
+     */
+    public int[] maximumCardinality(int start) {
+        Validator.requireUndirected(graph);
+        Validator.containsVertex(graph, start);
+        init(start);
+        for (int i = 0; i < n; i++) {
+            int vi = perm[i];
+            visit(vi);
+            int v = graph.vertexAt(vi);
+            for (int u : graph.neighbors(v)) {
+                int ui = graph.indexOf(u);
+                if (pos[ui] <= i) {
+                    continue; //already visited
+                }
+                if (parent[ui] < 0) {
+                    parent[ui] = vi;
+                    level[ui] = level[vi] + 1;
+                }
+                int c = classOf[ui];
+                int label = classLabel[c] + 1;
+                //the class on the left, if its vertices have one more visited neighbor
+                int left = classStart[c] > i + 1 ? classOf[perm[classStart[c] - 1]] : -1;
+                if (left < 0 || classLabel[left] != label) {
+                    left = newClass(classStart[c], label);
+                }
+                moveToPreviousClass(ui, c, left);
+            }
+        }
+        return ordering();
+    }
+
+    private void init(int start) {
+        if (perm == null || n != graph.numVertices()) {
+            this.n = graph.numVertices();
+            this.perm = new int[n];
+            this.pos = new int[n];
+            this.classOf = new int[n];
+            this.classStart = new int[n + 1];
+            this.classEnd = new int[n + 1];
+            this.classLabel = new int[n + 1];
+            this.splitOf = new int[n + 1];
+            this.splitStamp = new int[n + 1];
+            this.createdStamp = new int[n + 1];
+            this.freeClasses = new int[n + 1];
+            this.parent = new int[n];
+            this.level = new int[n];
+        }
+        for (int i = 0; i < n; i++) {
+            perm[i] = i;
+            pos[i] = i;
+        }
+        Arrays.fill(classOf, 0);
+        Arrays.fill(splitStamp, -1);
+        Arrays.fill(createdStamp, -1);
+        Arrays.fill(parent, -1);
+        Arrays.fill(level, 0);
+        numFree = 0;
+        numClasses = 1;
+        numComponents = 0;
+        classStart[0] = 0;
+        classEnd[0] = n;
+        classLabel[0] = 0;
+        swap(0, pos[graph.indexOf(start)]);
+    }
+
+    //removes the vertex (the first of the leftmost class) from its class
+    private void visit(int vi) {
+        if (parent[vi] < 0) {
+            numComponents++;
+        }
+        int c = classOf[vi];
+        classStart[c]++;
+        if (classStart[c] == classEnd[c]) {
+            freeClass(c);
+        }
+    }
+
+    //creates an empty class, right before the position
+    private int newClass(int position, int label) {
+        int c = numFree > 0 ? freeClasses[--numFree] : numClasses++;
+        classStart[c] = position;
+        classEnd[c] = position;
+        classLabel[c] = label;
+        return c;
+    }
+
+    private void freeClass(int c) {
+        freeClasses[numFree++] = c;
+    }
+
+    //moves the vertex from the class c to the class placed right before it
+    private void moveToPreviousClass(int ui, int c, int prev) {
+        swap(pos[ui], classStart[c]);
+        classStart[c]++;
+        classEnd[prev]++;
+        classOf[ui] = prev;
+        if (classStart[c] == classEnd[c]) {
+            freeClass(c);
+        }
+    }
+
+    private void swap(int i, int j) {
+        int vi = perm[i], vj = perm[j];
+        perm[i] = vj;
+        perm[j] = vi;
+        pos[vj] = i;
+        pos[vi] = j;
+    }
+
+    private int[] ordering() {
+        int[] vertices = new int[n];
+        for (int i = 0; i < n; i++) {
+            vertices[i] = graph.vertexAt(perm[i]);
+        }
+        return vertices;
+    }
+
+    private void checkSearched() {
+        if (perm == null) {
+            throw new IllegalStateException("The search has not been performed yet.");
+        }
+    }
+
+    /**
+     * Returns the positions of the vertices in the ordering created by the
+     * last search.
+     *
+     * @return the positions, indexed by vertex indices.
+     */
+    public int[] positions() {
+        checkSearched();
+        return pos;
+    }
+
+    /**
+     * Returns the indices of the parents of the vertices in the search tree,
+     * that is the first visited neighbor of each vertex. The first vertex of
+     * each connected component has the parent -1.
+     *
+     * @return the indices of the parents, indexed by vertex indices.
+     */
+    public int[] parents() {
+        checkSearched();
+        return parent;
+    }
+
+    /**
+     * Returns the levels of the vertices in the search tree, the first vertex
+     * of each connected component being at level 0.
+     *
+     * @return the levels, indexed by vertex indices.
+     */
+    public int[] levels() {
+        checkSearched();
+        return level;
+    }
+
+    /**
+     *
+     * @return the number of connected components identified by the last
+     * search.
+     */
+    public int numComponents() {
+        return numComponents;
+    }
+}
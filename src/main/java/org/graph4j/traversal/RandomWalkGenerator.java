@@ -0,0 +1,469 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.traversal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.graph4j.Graph;
+import org.graph4j.GraphAlgorithm;
+import org.graph4j.util.AdjacencyArrays;
+
+/**
+ * Generates fixed-length random walks, in parallel, as needed for creating
+ * vertex embeddings (DeepWalk, node2vec). A number of walks start from each
+ * vertex of the graph; the walk with the index {@code w} starts from the
+ * vertex with the index {@code w % n}.
+ *
+ * <p>
+ * The next vertex of a walk is chosen among the successors of the current one
+ * (the neighbors, in case of undirected graphs):
+ * <ul>
+ * <li>uniformly, by default;</li>
+ * <li>proportional to the edge weights, if the walks are weighted; the choice
+ * is made in constant time, using alias tables;</li>
+ * <li>using the second order transitions of node2vec, if the return parameter
+ * {@code p} or the in-out parameter {@code q} are not 1: the probability of
+ * moving from v to x, after arriving in v from t, is multiplied by
+ * {@code 1/p} if x is t, by 1 if x is adjacent to t and by {@code 1/q}
+ * otherwise. The second order transitions are sampled by rejection, starting
+ * from the first order ones, so no tables are created for pairs of
+ * vertices.</li>
+ * </ul>
+ * If a walk reaches a vertex without successors, it stops and the rest of it
+ * is filled with -1.
+ *
+ * <p>
+ * The walks are generated in chunks, by a number of workers running in the
+ * common fork-join pool. Each chunk uses its own {@link SplittableRandom},
+ * created from the seed of the generator and the index of the chunk, so the
+ * walks are reproducible, no matter how many threads are used.
+ *
+ * B. Perozzi, R. Al-Rfou, S. Skiena, "DeepWalk: Online Learning of Social
+ * Representations", KDD 2014.
+ *
+ * A. Grover, J. Leskovec, "node2vec: Scalable Feature Learning for Networks",
+ * KDD 2016.
+ *
+ * @author Cristian Frăsinaru
+ */
+public class RandomWalkGenerator extends GraphAlgorithm {
+
+    /**
+     * The number of walks in a chunk.
+     */
+    public static final int CHUNK_SIZE = 1024;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private final int walkLength;
+    private int numThreads = Runtime.getRuntime().availableProcessors();
+    private long seed = System.nanoTime();
+    private boolean weighted;
+    private double p = 1;
+    private double q = 1;
+    //
+    private int[] vertices;
+    private int[] offsets;
+    private int[] targets; //sorted for each vertex, used to test adjacency
+    private double[] prob; //the alias tables
+    private int[] alias;
+
+    /**
+     * A consumer of the generated walks.
+     */
+    @FunctionalInterface
+    public interface WalkSink {
+
+        /**
+         * Receives a chunk of walks. The invocations are synchronized, but
+         * the chunks may arrive in any order. The buffer is reused after the
+         * method returns.
+         *
+         * @param chunk the index of the chunk.
+         * @param walks a buffer containing the walks of the chunk, one after
+         * another, as vertex numbers.
+         * @param numWalks the number of walks in the buffer.
+         */
+        void accept(int chunk, int[] walks, int numWalks);
+    }
+
+    /**
+     * Creates a generator of walks with the specified length.
+     *
+     * @param graph the input graph.
+     * @param walkLength the number of vertices of each walk.
+     */
+    public RandomWalkGenerator(Graph graph, int walkLength) {
+        super(graph);
+        if (walkLength <= 0) {
+            throw new IllegalArgumentException("Invalid walk length: " + walkLength);
+        }
+        this.walkLength = walkLength;
+    }
+
+    /**
+     * Sets the number of threads used for generating the walks. By default,
+     * all the available processors are used.
+     *
+     * @param numThreads the number of threads.
+     */
+    public void setNumThreads(int numThreads) {
+        if (numThreads <= 0) {
+            throw new IllegalArgumentException("Invalid number of threads: " + numThreads);
+        }
+        this.numThreads = numThreads;
+    }
+
+    /**
+     * Sets the seed of the random generator, in order to obtain reproducible
+     * walks.
+     *
+     * @param seed the seed of the random generator.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Specifies if the transitions are proportional to the edge weights. The
+     * weights must be positive.
+     *
+     * @param weighted {@code true} if the transitions are proportional to the
+     * edge weights, {@code false} if they are uniform.
+     */
+    public void setWeighted(boolean weighted) {
+        if (this.weighted != weighted) {
+            this.weighted = weighted;
+            this.offsets = null;
+        }
+    }
+
+    /**
+     * Sets the node2vec parameters. If both of them are 1, the walks are
+     * first order (DeepWalk).
+     *
+     * @param p the return parameter.
+     * @param q the in-out parameter.
+     */
+    public void setNode2VecParameters(double p, double q) {
+        if (!(p > 0) || !(q > 0)) {
+            throw new IllegalArgumentException("Invalid parameters: " + p + ", " + q);
+        }
+        this.p = p;
+        this.q = q;
+    }
+
+    /**
+     *
+     * @return the number of vertices of each walk.
+     */
+    public int getWalkLength() {
+        return walkLength;
+    }
+
+    /**
+     * Generates the walks in a single flat array: the walk with the index
+     * {@code w} occupies the positions from {@code w * walkLength} to
+     * {@code (w + 1) * walkLength - 1}.
+     *
+     * @param walksPerVertex the number of walks starting in each vertex.
+     * @return the walks, as vertex numbers.
+     */
+    public int[] generate(int walksPerVertex) {
+        long size = (long) numWalks(walksPerVertex) * walkLength;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(
+                    "The walks do not fit in a single array, use a sink instead.");
+        }
+        int[] walks = new int[(int) size];
+        run(walksPerVertex, (chunk, from, count, buffer) -> {
+            System.arraycopy(buffer, 0, walks, from * walkLength, count * walkLength);
+        });
+        return walks;
+    }
+
+    /**
+     * Generates the walks and sends them to a sink, chunk by chunk. The chunk
+     * with the index {@code c} contains the walks starting at
+     * {@code c * CHUNK_SIZE}.
+     *
+     * @param walksPerVertex the number of walks starting in each vertex.
+     * @param sink the consumer of the walks.
+     */
+    public void generate(int walksPerVertex, WalkSink sink) {
+        var lock = new Object();
+        run(walksPerVertex, (chunk, from, count, buffer) -> {
+            synchronized (lock) {
+                sink.accept(chunk, buffer, count);
+            }
+        });
+    }
+
+    /**
+     * Generates the walks and writes them in a text file, one walk per line,
+     * the vertex numbers being separated by spaces. The walks are formatted in
+     * parallel, the lines appear in the order in which the chunks are
+     * completed. The missing vertices of the truncated walks are not written.
+     *
+     * @param walksPerVertex the number of walks starting in each vertex.
+     * @param out the output stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void write(int walksPerVertex, OutputStream out) throws IOException {
+        var lock = new Object();
+        try {
+            run(walksPerVertex, (chunk, from, count, buffer) -> {
+                var sb = new StringBuilder(count * walkLength * 8);
+                for (int w = 0; w < count; w++) {
+                    for (int i = 0, pos = w * walkLength; i < walkLength && buffer[pos + i] >= 0; i++) {
+                        if (i > 0) {
+                            sb.append(' ');
+                        }
+                        sb.append(buffer[pos + i]);
+                    }
+                    sb.append('\n');
+                }
+                byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+                synchronized (lock) {
+                    try {
+                        out.write(bytes);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    private int numWalks(int walksPerVertex) {
+        if (walksPerVertex < 0) {
+            throw new IllegalArgumentException("Invalid number of walks: " + walksPerVertex);
+        }
+        long numWalks = (long) walksPerVertex * graph.numVertices();
+        if (numWalks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many walks: " + numWalks);
+        }
+        return (int) numWalks;
+    }
+
+    //receives a chunk of walks, starting at the index from, in a worker thread
+    private interface ChunkHandler {
+
+        void accept(int chunk, int from, int count, int[] buffer);
+    }
+
+    private void run(int walksPerVertex, ChunkHandler handler) {
+        int numWalks = numWalks(walksPerVertex);
+        if (numWalks == 0) {
+            return;
+        }
+        if (offsets == null) {
+            init();
+        }
+        int numChunks = (numWalks + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int numTasks = Math.min(numThreads, numChunks);
+        var next = new AtomicInteger();
+        List<Callable<Object>> tasks = new ArrayList<>(numTasks);
+        for (int t = 0; t < numTasks; t++) {
+            tasks.add(() -> {
+                int[] buffer = new int[CHUNK_SIZE * walkLength];
+                int c;
+                while ((c = next.getAndIncrement()) < numChunks) {
+                    var rnd = new SplittableRandom(seed + c * GOLDEN_GAMMA);
+                    int from = c * CHUNK_SIZE;
+                    int count = Math.min(CHUNK_SIZE, numWalks - from);
+                    for (int w = 0; w < count; w++) {
+                        walk((from + w) % vertices.length, rnd, buffer, w * walkLength);
+                    }
+                    handler.accept(c, from, count, buffer);
+                }
+                return null;
+            });
+        }
+        if (numTasks == 1) {
+            try {
+                tasks.get(0).call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        } else {
+            invokeAll(tasks);
+        }
+    }
+
+    //creates a walk starting in the vertex with the index si
+    private void walk(int si, SplittableRandom rnd, int[] buffer, int pos) {
+        boolean secondOrder = p != 1 || q != 1;
+        double maxFactor = Math.max(1, Math.max(1 / p, 1 / q));
+        int prev = -1;
+        int vi = si;
+        buffer[pos] = vertices[vi];
+        for (int i = 1; i < walkLength; i++) {
+            int from = offsets[vi], degree = offsets[vi + 1] - from;
+            if (degree == 0) {
+                Arrays.fill(buffer, pos + i, pos + walkLength, -1);
+                return;
+            }
+            int ui;
+            while (true) {
+                ui = targets[sample(from, degree, rnd)];
+                if (!secondOrder || prev < 0) {
+                    break;
+                }
+                double factor = ui == prev ? 1 / p : (isAdjacent(prev, ui) ? 1 : 1 / q);
+                if (rnd.nextDouble() * maxFactor < factor) {
+                    break;
+                }
+            }
+            prev = vi;
+            vi = ui;
+            buffer[pos + i] = vertices[vi];
+        }
+    }
+
+    //returns the position of the chosen edge
+    private int sample(int from, int degree, SplittableRandom rnd) {
+        int k = from + rnd.nextInt(degree);
+        if (prob == null || rnd.nextDouble() < prob[k]) {
+            return k;
+        }
+        return from + alias[k];
+    }
+
+    //binary search in the sorted successors of vi
+    private boolean isAdjacent(int vi, int ui) {
+        return Arrays.binarySearch(targets, offsets[vi], offsets[vi + 1], ui) >= 0;
+    }
+
+    private void init() {
+        int n = graph.numVertices();
+        var succ = AdjacencyArrays.successors(graph, weighted);
+        this.vertices = graph.vertices();
+        this.offsets = succ.offsets();
+        this.targets = succ.targets().clone();
+        double[] weights = weighted ? succ.weights().clone() : null;
+        //sort the successors of each vertex, together with their weights
+        for (int vi = 0; vi < n; vi++) {
+            int from = offsets[vi], to = offsets[vi + 1];
+            if (weights == null) {
+                Arrays.sort(targets, from, to);
+                continue;
+            }
+            long[] keys = new long[to - from];
+            for (int k = from; k < to; k++) {
+                keys[k - from] = ((long) targets[k] << 32) | (k - from);
+            }
+            Arrays.sort(keys);
+            double[] w = Arrays.copyOfRange(weights, from, to);
+            for (int k = from; k < to; k++) {
+                long key = keys[k - from];
+                targets[k] = (int) (key >>> 32);
+                weights[k] = w[(int) key];
+            }
+        }
+        this.prob = null;
+        this.alias = null;
+        if (weights != null) {
+            createAliasTables(n, weights);
+        }
+    }
+
+    //Vose's alias method, for each vertex
+    private void createAliasTables(int n, double[] weights) {
+        this.prob = new double[targets.length];
+        this.alias = new int[targets.length];
+        int[] small = new int[0];
+        int[] large = new int[0];
+        double[] scaled = new double[0];
+        for (int vi = 0; vi < n; vi++) {
+            int from = offsets[vi], degree = offsets[vi + 1] - from;
+            if (degree == 0) {
+                continue;
+            }
+            if (small.length < degree) {
+                small = new int[degree];
+                large = new int[degree];
+                scaled = new double[degree];
+            }
+            double sum = 0;
+            for (int k = 0; k < degree; k++) {
+                double w = weights[from + k];
+                if (!(w > 0) || w == Double.POSITIVE_INFINITY) {
+                    throw new IllegalArgumentException("Invalid edge weight: " + w);
+                }
+                sum += w;
+            }
+            int numSmall = 0, numLarge = 0;
+            for (int k = 0; k < degree; k++) {
+                scaled[k] = weights[from + k] * degree / sum;
+                if (scaled[k] < 1) {
+                    small[numSmall++] = k;
+                } else {
+                    large[numLarge++] = k;
+                }
+            }
+            while (numSmall > 0 && numLarge > 0) {
+                int s = small[--numSmall];
+                int l = large[--numLarge];
+                prob[from + s] = scaled[s];
+                alias[from + s] = l;
+                scaled[l] = (scaled[l] + scaled[s]) - 1;
+                if (scaled[l] < 1) {
+                    small[numSmall++] = l;
+                } else {
+                    large[numLarge++] = l;
+                }
+            }
+            //the remaining ones are (numerically) equal to 1
+            while (numLarge > 0) {
+                prob[from + large[--numLarge]] = 1;
+            }
+            while (numSmall > 0) {
+                prob[from + small[--numSmall]] = 1;
+            }
+        }
+    }
+
+    private void invokeAll(List<Callable<Object>> tasks) {
+        try {
+            for (Future<?> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.util;
+
+import org.graph4j.Graph;
+
+/**
+ * A read-only snapshot of the adjacency lists of a graph, using vertex indices
+ * instead of vertex numbers, stored in two flat arrays (compressed sparse row
+ * format). The neighbors of the vertex with the index {@code vi} are
+ * {@code targets()[offsets()[vi]]}, ..., {@code targets()[offsets()[vi+1]-1]}.
+ *
+ * <p>
+ * Iterating over the neighbors of a vertex using these arrays creates no
+ * objects and it is safe to be performed concurrently, by multiple threads.
+ * The snapshot does not reflect the modifications of the graph made after its
+ * creation.
+ *
+ * @author Cristian Frăsinaru
+ */
+public class AdjacencyArrays {
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    private AdjacencyArrays(int[] offsets, int[] targets, double[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Creates the adjacency arrays of the successors of each vertex (the
+     * neighbors, in case of undirected graphs), without the edge weights.
+     *
+     * @param graph the input graph.
+     * @return the adjacency arrays of the successors.
+     */
+    public static AdjacencyArrays successors(Graph graph) {
+        return successors(graph, false);
+    }
+
+    /**
+     * Creates the adjacency arrays of the successors of each vertex (the
+     * neighbors, in case of undirected graphs).
+     *
+     * @param graph the input graph.
+     * @param withWeights specifies if the edge weights should be stored.
+     * @return the adjacency arrays of the successors.
+     */
+    public static AdjacencyArrays successors(Graph graph, boolean withWeights) {
+        int n = graph.numVertices();
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + graph.degree(graph.vertexAt(i));
+        }
+        int[] targets = new int[offsets[n]];
+        double[] weights = withWeights ? new double[offsets[n]] : null;
+        for (int i = 0; i < n; i++) {
+            int pos = offsets[i];
+            for (var it = graph.neighborIterator(graph.vertexAt(i)); it.hasNext();) {
+                targets[pos] = graph.indexOf(it.next());
+                if (withWeights) {
+                    weights[pos] = it.getEdgeWeight();
+                }
+                pos++;
+            }
+        }
+        return new AdjacencyArrays(offsets, targets, weights);
+    }
+
+    /**
+     * Creates the adjacency arrays of the predecessors of each vertex (the
+     * neighbors, in case of undirected graphs), without the edge weights.
+     *
+     * @param graph the input graph.
+     * @return the adjacency arrays of the predecessors.
+     */
+    public static AdjacencyArrays predecessors(Graph graph) {
+        return predecessors(graph, false);
+    }
+
+    /**
+     * Creates the adjacency arrays of the predecessors of each vertex (the
+     * neighbors, in case of undirected graphs).
+     *
+     * @param graph the input graph.
+     * @param withWeights specifies if the edge weights should be stored.
+     * @return the adjacency arrays of the predecessors.
+     */
+    public static AdjacencyArrays predecessors(Graph graph, boolean withWeights) {
+        var succ = successors(graph, withWeights);
+        if (!graph.isDirected()) {
+            return succ;
+        }
+        return succ.transpose();
+    }
+
+    /**
+     * Creates the adjacency arrays of the transpose graph, in which the
+     * direction of all the edges is reversed.
+     *
+     * @return the adjacency arrays of the transpose graph.
+     */
+    public AdjacencyArrays transpose() {
+        int n = numVertices();
+        int[] tOffsets = new int[n + 1];
+        for (int ui : targets) {
+            tOffsets[ui + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            tOffsets[i + 1] += tOffsets[i];
+        }
+        int[] next = new int[n];
+        System.arraycopy(tOffsets, 0, next, 0, n);
+        int[] tTargets = new int[targets.length];
+        double[] tWeights = weights != null ? new double[targets.length] : null;
+        for (int vi = 0; vi < n; vi++) {
+            for (int pos = offsets[vi]; pos < offsets[vi + 1]; pos++) {
+                int p = next[targets[pos]]++;
+                tTargets[p] = vi;
+                if (tWeights != null) {
+                    tWeights[p] = weights[pos];
+                }
+            }
+        }
+        return new AdjacencyArrays(tOffsets, tTargets, tWeights);
+    }
+
+    /**
+     *
+     * @return the number of vertices.
+     */
+    public int numVertices() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the number of entries in the adjacency lists, that is the number
+     * of edges for directed graphs, or twice the number of edges for
+     * undirected ones.
+     *
+     * @return the number of entries in the adjacency lists.
+     */
+    public int numEntries() {
+        return targets.length;
+    }
+
+    /**
+     *
+     * @param vi a vertex index.
+     * @return the number of entries in the adjacency list of the vertex.
+     */
+    public int degree(int vi) {
+        return offsets[vi + 1] - offsets[vi];
+    }
+
+    /**
+     * Returns the offsets array, of length {@code n+1}. The array is not
+     * copied, so it should not be modified.
+     *
+     * @return the offsets of the adjacency lists in the targets array.
+     */
+    public int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * Returns the targets array, containing the indices of the neighbors of all
+     * vertices. The array is not copied, so it should not be modified.
+     *
+     * @return the targets array.
+     */
+    public int[] targets() {
+        return targets;
+    }
+
+    /**
+     * Returns the weights of the edges, parallel to the targets array, or
+     * {@code null} if the weights were not requested. The array is not copied,
+     * so it should not be modified.
+     *
+     * @return the weights array, or {@code null}.
+     */
+    public double[] weights() {
+        return weights;
+    }
+}
@@ -36,9 +36,9 @@ import java.util.Arrays;
  */
 public class UnionFind {
 
-    private final int numVertices;
+    private int numVertices;
     private boolean pathCompression;
-    private final int[] parent;
+    private int[] parent;
     private int numSets;
 
     /**
@@ -120,6 +120,33 @@ public class UnionFind {
         numSets--;
     }
 
+    /**
+     * Adds a new singleton set, containing the vertex index
+     * <code>numVertices</code>, which is then incremented. It is used when a
+     * vertex is added to the graph.
+     *
+     * @return the vertex index contained in the new set.
+     */
+    public int add() {
+        if (numVertices == parent.length) {
+            parent = Arrays.copyOf(parent, Math.max(8, 2 * numVertices));
+        }
+        parent[numVertices] = -1;
+        numSets++;
+        return numVertices++;
+    }
+
+    /**
+     * Returns the number of elements of the set containing the given vertex
+     * index.
+     *
+     * @param vi a vertex index.
+     * @return the size of the set containing vi.
+     */
+    public int size(int vi) {
+        return -parent[find(vi)];
+    }
+
     /**
      * Returns the number of disjoint sets in the data structure.
      *
@@ -215,6 +215,17 @@ public class VertexHeap implements Iterable<Integer> {
         return true;
     }
 
+    /**
+     * Removes all the keys from the heap. The complexity is given by the
+     * current size of the heap, and not by the number of vertices in the graph.
+     */
+    public void clear() {
+        for (int pos = 1; pos <= size; pos++) {
+            positions[keys[pos]] = 0;
+        }
+        size = 0;
+    }
+
     private void swap(int pos1, int pos2) {
         int temp = keys[pos1];
         keys[pos1] = keys[pos2];
@@ -16,14 +16,17 @@
  */
 package org.graph4j.connectivity;
 
+import java.util.Random;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
+import org.graph4j.Graph;
 import org.graph4j.GraphBuilder;
 import org.graph4j.GraphTests;
 import org.graph4j.GraphUtils;
 import org.graph4j.generators.CycleGenerator;
 import org.graph4j.generators.GraphGenerator;
 import org.graph4j.generators.PathGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
 import org.graph4j.util.VertexSet;
 
 /**
@@ -103,4 +106,64 @@ public class ConnectivityTest {
     }
             
    
+
+    @Test
+    public void parallelConnectivity() {
+        int n = 5000;
+        var graphs = new Graph[]{
+            new RandomGnpGraphGenerator(n, 0.8 / n).createGraph(),
+            new RandomGnpGraphGenerator(n, 1.5 / n).createGraph(),
+            new RandomGnpGraphGenerator(n, 1.0 / n).createDigraph(),
+            GraphBuilder.numVertices(7).addEdges("0-1,1-2,3-4,3-5").buildGraph()};
+        for (var g : graphs) {
+            var expected = new ConnectivityAlgorithm(GraphUtils.createSupportGraph(g)).getConnectedSets();
+            for (int numThreads : new int[]{1, 4}) {
+                var alg = new ParallelConnectivityAlgorithm(g, numThreads);
+                assertEquals(expected, alg.getConnectedSets());
+                assertEquals(expected.size(), alg.countConnectedComponents());
+                int[] comp = alg.getVertexComponents();
+                for (var e : g.edges()) {
+                    assertEquals(comp[g.indexOf(e.source())], comp[g.indexOf(e.target())]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void incrementalConnectivity() {
+        int n = 300;
+        var g = GraphBuilder.numVertices(n).buildGraph();
+        var ic = new IncrementalConnectivity(g);
+        var rnd = new Random(1);
+        for (int k = 0; k < 400; k++) {
+            ic.addEdge(rnd.nextInt(n), rnd.nextInt(n));
+            if (k % 50 == 0) {
+                int v = ic.addVertex();
+                ic.addEdge(v, rnd.nextInt(n));
+            }
+            if (k % 40 == 0) {
+                var sets = new ConnectivityAlgorithm(g).getConnectedSets();
+                assertEquals(sets.size(), ic.numComponents());
+                for (var set : sets) {
+                    int v = set.vertices()[0];
+                    assertEquals(set.size(), ic.componentSize(v));
+                    for (int u : set.vertices()) {
+                        assertTrue(ic.isConnected(v, u));
+                    }
+                }
+            }
+        }
+        assertEquals(1, ic.numRebuilds());
+        //deletions trigger a rebuild
+        for (var e : g.edges()) {
+            if (rnd.nextInt(3) == 0) {
+                ic.removeEdge(e.source(), e.target());
+            }
+        }
+        assertEquals(new ConnectivityAlgorithm(g).countConnectedComponents(), ic.numComponents());
+        assertEquals(2, ic.numRebuilds());
+        g.addEdge(0, 1);
+        assertTrue(ic.isConnected(0, 1));
+        assertEquals(3, ic.numRebuilds());
+    }
 }
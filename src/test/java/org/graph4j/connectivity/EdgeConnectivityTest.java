@@ -20,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.graph4j.GraphBuilder;
 import org.graph4j.generators.GraphGenerator;
+import org.graph4j.util.IntArrays;
 
 /**
  *
@@ -119,4 +120,37 @@ public class EdgeConnectivityTest {
         }
     }
     
+    @Test
+    public void gomoryHu() {
+        var g = GraphGenerator.randomGnp(30, 0.2);
+        var alg = new EdgeConnectivityAlgorithm(g);
+        for (int numThreads : new int[]{1, 4}) {
+            var tree = new GomoryHuTree(g, numThreads);
+            assertEquals(g.numVertices() - 1, tree.getTree().numEdges());
+            for (int s : g.vertices()) {
+                for (int t : g.vertices()) {
+                    if (s == t) {
+                        continue;
+                    }
+                    int x = alg.countMaximumDisjointPaths(s, t);
+                    assertEquals(x, tree.getMinimumCutValue(s, t));
+                    var cut = tree.getMinimumCut(s, t);
+                    assertEquals(x, cut.size());
+                    assertTrue(IntArrays.contains(cut.leftSide(), s));
+                    assertFalse(IntArrays.contains(cut.leftSide(), t));
+                }
+            }
+        }
+        //weighted
+        var h = GraphBuilder.numVertices(4).buildGraph();
+        h.addEdge(0, 1, 3);
+        h.addEdge(1, 2, 1);
+        h.addEdge(2, 3, 4);
+        h.addEdge(3, 0, 2);
+        var tree = new GomoryHuTree(h);
+        assertEquals(3, tree.getMinimumCutValue(0, 2));
+        assertEquals(4, tree.getMinimumCutValue(0, 1));
+        assertEquals(3, tree.getMinimumCut().weight());
+    }
+
 }
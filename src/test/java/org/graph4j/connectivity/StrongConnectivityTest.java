@@ -16,9 +16,12 @@
  */
 package org.graph4j.connectivity;
 
+import java.util.HashSet;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
+import org.graph4j.Digraph;
 import org.graph4j.GraphBuilder;
+import org.graph4j.generators.RandomGnpGraphGenerator;
 
 /**
  *
@@ -51,6 +54,33 @@ public class StrongConnectivityTest {
         assertEquals(3, alg.getStronglyConnectedSets().size());
     }
 
+    @Test
+    public void pearceAndParallel() {
+        var graphs = new Digraph[]{
+            new RandomGnpGraphGenerator(5000, 1.2 / 5000).createDigraph(),
+            new RandomGnpGraphGenerator(5000, 3.0 / 5000).createDigraph(),
+            new RandomGnpGraphGenerator(300, 0.1).createDigraph(),
+            GraphBuilder.numVertices(8).addEdges("0-1,1-2,2-3,3-2,3-4,4-3,4-5,2-5,5-6,6-5,1-6,1-7,7-0,7-6").buildDigraph()};
+        for (var g : graphs) {
+            var expected = new HashSet<>(new TarjanStrongConnectivity(g).getStronglyConnectedSets());
+            var algs = new StrongConnectivityBase[]{
+                new PearceStrongConnectivity(g),
+                new ParallelStrongConnectivity(g, 1),
+                new ParallelStrongConnectivity(g, 4)};
+            for (var alg : algs) {
+                assertEquals(expected, new HashSet<>(alg.getStronglyConnectedSets()));
+                assertEquals(expected.size(), alg.numComponents());
+                assertEquals(expected.size() == 1, alg.isStronglyConnected());
+            }
+        }
+        //the components found by Pearce's algorithm are in reverse topological order
+        var g = graphs[0];
+        int[] comp = new PearceStrongConnectivity(g).getVertexComponents();
+        for (var e : g.edges()) {
+            assertTrue(comp[g.indexOf(e.source())] >= comp[g.indexOf(e.target())]);
+        }
+    }
+
     private void testSCC() {
         //var g = GraphBuilder.numVertices(6).addEdges("0-1,1-2,2-3,3-4,4-5,5-0").buildDigraph();
         //var g = GraphBuilder.numVertices(6).addEdges("0-1,1-2,2-3,3-4,4-5,5-3,2-0").buildDigraph();
@@ -19,6 +19,7 @@ package org.graph4j.connectivity;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.graph4j.GraphBuilder;
+import org.graph4j.GraphTests;
 import org.graph4j.generators.GraphGenerator;
 
 /**
@@ -91,4 +92,27 @@ public class VertexConnectivityTest {
         }
     }
 
+    @Test
+    public void parallelMinimumCut() {
+        var g = GraphGenerator.randomGnp(25, 0.4);
+        var alg = new VertexConnectivityAlgorithm(g);
+        int expected = Integer.MAX_VALUE;
+        for (int s : g.vertices()) {
+            for (int t : g.vertices()) {
+                if (s != t && !g.containsEdge(s, t)) {
+                    expected = Math.min(expected, alg.countMaximumDisjointPaths(s, t));
+                }
+            }
+        }
+        for (int numThreads : new int[]{1, 4}) {
+            var cut = new VertexConnectivityAlgorithm(g, numThreads).getMinimumCut();
+            assertEquals(expected, cut.size());
+            var h = g.copy();
+            for (int v : cut.vertices()) {
+                h.removeVertex(v);
+            }
+            assertFalse(GraphTests.isConnected(h));
+        }
+    }
+
 }
@@ -16,15 +16,36 @@
  */
 package org.graph4j.core;
 
+import java.io.ByteArrayOutputStream;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.Test;
 import org.graph4j.Edge;
+import org.graph4j.Graph;
 import org.graph4j.GraphBuilder;
 import org.graph4j.generators.GraphGenerator;
+import org.graph4j.generators.EdgeWeightsGenerator;
+import org.graph4j.generators.RandomDAGGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+import org.graph4j.shortestpath.BFSSingleSourceShortestPath;
 import org.graph4j.traversal.BFSIterator;
 import org.graph4j.traversal.DFSIterator;
+import org.graph4j.traversal.DFSTraverser;
+import org.graph4j.traversal.DFSVisitor;
+import org.graph4j.traversal.DirectionOptimizingBFS;
+import org.graph4j.traversal.IntBFSTraverser;
+import org.graph4j.traversal.IntDFSTraverser;
+import org.graph4j.traversal.IntSearchVisitor;
 import org.graph4j.traversal.LexBFSIterator;
+import org.graph4j.traversal.ParallelBFS;
+import org.graph4j.traversal.PartitionRefinementSearch;
+import org.graph4j.traversal.RandomWalkGenerator;
+import org.graph4j.traversal.ParallelTopologicalSort;
+import org.graph4j.traversal.TopologicalOrderIterator;
+import org.graph4j.traversal.SearchNode;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  *
@@ -125,4 +146,303 @@ public class IteratorTest {
         }
         assertEquals(n, k);
     }
+
+    @Test
+    public void testDirectionOptimizingBFS() {
+        int n = 2000;
+        var graphs = new Graph[]{
+            new RandomGnpGraphGenerator(n, 0.005).createGraph(),
+            new RandomGnpGraphGenerator(n, 0.002).createDigraph()};
+        for (var g : graphs) {
+            double[] dist = new BFSSingleSourceShortestPath(g, 0).getPathWeights();
+            for (int numThreads : new int[]{1, 4}) {
+                var bfs = new DirectionOptimizingBFS(g, numThreads);
+                bfs.traverse(0);
+                int[] level = bfs.levels();
+                int[] parent = bfs.parents();
+                if (!g.isDirected()) {
+                    assertTrue(bfs.numBottomUpSteps() > 0);
+                }
+                for (int i = 0; i < n; i++) {
+                    assertEquals(dist[i], level[i] < 0 ? Double.POSITIVE_INFINITY : level[i]);
+                    if (level[i] > 0) {
+                        assertEquals(level[i] - 1, level[parent[i]]);
+                        assertTrue(g.containsEdge(g.vertexAt(parent[i]), g.vertexAt(i)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIntBFSTraverser() {
+        int n = 500;
+        var graphs = new Graph[]{
+            new RandomGnpGraphGenerator(n, 0.005).createGraph(),
+            new RandomGnpGraphGenerator(n, 0.003).createDigraph()};
+        for (var g : graphs) {
+            double[] dist = new BFSSingleSourceShortestPath(g, 0).getPathWeights();
+            var bfs = new IntBFSTraverser(g);
+            int[] treeEdges = new int[1];
+            bfs.traverseComponent(0, new IntSearchVisitor() {
+                @Override
+                public void treeEdge(int v, int u) {
+                    treeEdges[0]++;
+                }
+            });
+            int[] level = bfs.levels();
+            int[] parent = bfs.parents();
+            int reached = 0;
+            for (int i = 0; i < n; i++) {
+                assertEquals(dist[i], level[i] < 0 ? Double.POSITIVE_INFINITY : level[i]);
+                if (level[i] >= 0) {
+                    reached++;
+                }
+                if (level[i] > 0) {
+                    assertEquals(level[i] - 1, level[parent[i]]);
+                    assertTrue(g.containsEdge(g.vertexAt(parent[i]), g.vertexAt(i)));
+                }
+            }
+            assertEquals(reached, bfs.numVisited());
+            assertEquals(reached - 1, treeEdges[0]);
+            bfs.traverse(0);
+            assertEquals(n, bfs.numVisited());
+        }
+    }
+
+    @Test
+    public void testIntDFSTraverser() {
+        int n = 300;
+        var graphs = new Graph[]{
+            new RandomGnpGraphGenerator(n, 0.02).createGraph(),
+            new RandomGnpGraphGenerator(n, 0.01).createDigraph()};
+        for (var g : graphs) {
+            //tree, back, forward, cross
+            int[] expected = new int[4];
+            new DFSTraverser(g).traverse(new DFSVisitor() {
+                @Override
+                public void treeEdge(SearchNode from, SearchNode to) {
+                    expected[0]++;
+                }
+
+                @Override
+                public void backEdge(SearchNode from, SearchNode to) {
+                    expected[1]++;
+                }
+
+                @Override
+                public void forwardEdge(SearchNode from, SearchNode to) {
+                    expected[2]++;
+                }
+
+                @Override
+                public void crossEdge(SearchNode from, SearchNode to) {
+                    expected[3]++;
+                }
+            });
+            int[] actual = new int[4];
+            var dfs = new IntDFSTraverser(g);
+            dfs.traverse(new IntSearchVisitor() {
+                @Override
+                public void treeEdge(int v, int u) {
+                    actual[0]++;
+                }
+
+                @Override
+                public void backEdge(int v, int u) {
+                    actual[1]++;
+                }
+
+                @Override
+                public void forwardEdge(int v, int u) {
+                    actual[2]++;
+                }
+
+                @Override
+                public void crossEdge(int v, int u) {
+                    actual[3]++;
+                }
+            });
+            assertArrayEquals(expected, actual);
+            assertEquals(n, dfs.numVisited());
+            int[] order = dfs.order();
+            int[] finish = dfs.finishOrder();
+            int[] parent = dfs.parents();
+            for (int i = 0; i < n; i++) {
+                if (parent[i] >= 0) {
+                    assertTrue(order[parent[i]] < order[i]);
+                    assertTrue(finish[parent[i]] > finish[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelBFS() {
+        int n = 3000;
+        var graphs = new Graph[]{
+            new RandomGnpGraphGenerator(n, 0.004).createGraph(),
+            new RandomGnpGraphGenerator(n, 0.001).createDigraph()};
+        for (var g : graphs) {
+            for (int numThreads : new int[]{1, 4}) {
+                var bfs = new ParallelBFS(g, numThreads);
+                for (int source : new int[]{0, 1, n - 1}) {
+                    double[] dist = new BFSSingleSourceShortestPath(g, source).getPathWeights();
+                    bfs.traverse(source);
+                    int[] level = bfs.levels();
+                    int[] parent = bfs.parents();
+                    int reached = 0;
+                    for (int i = 0; i < n; i++) {
+                        assertEquals(dist[i], level[i] < 0 ? Double.POSITIVE_INFINITY : level[i]);
+                        if (level[i] >= 0) {
+                            reached++;
+                        }
+                        if (level[i] > 0) {
+                            assertEquals(level[i] - 1, level[parent[i]]);
+                            assertTrue(g.containsEdge(g.vertexAt(parent[i]), g.vertexAt(i)));
+                        }
+                    }
+                    assertEquals(reached, bfs.numVisited());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelTopologicalSort() {
+        int n = 5000;
+        var g = new RandomDAGGenerator(n, 0.002).createDAG();
+        int[] expected = new int[n];
+        int maxLevel = 0;
+        for (var it = new TopologicalOrderIterator(g); it.hasNext();) {
+            int vi = g.indexOf(it.next());
+            expected[vi] = it.level();
+            maxLevel = Math.max(maxLevel, expected[vi]);
+        }
+        for (int numThreads : new int[]{1, 4}) {
+            var topo = new ParallelTopologicalSort(g, numThreads);
+            assertArrayEquals(expected, topo.levels());
+            assertEquals(maxLevel, topo.criticalPathLength());
+            int[] position = new int[n];
+            int[] order = topo.order();
+            for (int i = 0; i < n; i++) {
+                position[order[i]] = i;
+            }
+            for (var e : g.edges()) {
+                assertTrue(position[g.indexOf(e.source())] < position[g.indexOf(e.target())]);
+            }
+            int count = 0;
+            for (int[] batch : topo.getLevels()) {
+                count += batch.length;
+            }
+            assertEquals(n, count);
+        }
+        g.addEdge(g.vertexAt(n - 1), g.vertexAt(0));
+        g.addEdge(g.vertexAt(0), g.vertexAt(n - 1));
+        var cyclic = new ParallelTopologicalSort(g);
+        assertThrows(IllegalArgumentException.class, () -> cyclic.order());
+        //the error is not hidden by the first attempt
+        assertThrows(IllegalArgumentException.class, () -> cyclic.order());
+        assertThrows(IllegalArgumentException.class, () -> cyclic.numLevels());
+        assertThrows(IllegalArgumentException.class, () -> cyclic.getLevels());
+    }
+
+    @Test
+    public void testPartitionRefinementLexBFS() {
+        int n = 60;
+        var g = new RandomGnpGraphGenerator(n, 0.1).createGraph();
+        var search = new PartitionRefinementSearch(g);
+        int[] order = search.lexBFS(0);
+        int[] pos = search.positions();
+        //for a < b < c, if ac is an edge and ab is not, there is d < a adjacent to b but not to c
+        for (int a = 0; a < n; a++) {
+            for (int b = a + 1; b < n; b++) {
+                for (int c = b + 1; c < n; c++) {
+                    if (g.containsEdge(order[a], order[c]) && !g.containsEdge(order[a], order[b])) {
+                        boolean found = false;
+                        for (int d = 0; d < a && !found; d++) {
+                            found = g.containsEdge(order[d], order[b]) && !g.containsEdge(order[d], order[c]);
+                        }
+                        assertTrue(found);
+                    }
+                }
+            }
+        }
+        int[] level = search.levels();
+        int[] parent = search.parents();
+        double[] dist = new BFSSingleSourceShortestPath(g, 0).getPathWeights();
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, pos[g.indexOf(order[i])]);
+            if (dist[i] != Double.POSITIVE_INFINITY) {
+                assertEquals(dist[i], level[i]);
+            }
+            if (parent[i] >= 0) {
+                assertTrue(pos[parent[i]] < pos[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testPartitionRefinementMCS() {
+        int n = 200;
+        var g = new RandomGnpGraphGenerator(n, 0.05).createGraph();
+        int[] order = new PartitionRefinementSearch(g).maximumCardinality(0);
+        int[] count = new int[n];
+        boolean[] visited = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            int vi = g.indexOf(order[i]);
+            for (int ui = 0; ui < n; ui++) {
+                assertTrue(visited[ui] || count[ui] <= count[vi]);
+            }
+            visited[vi] = true;
+            for (int u : g.neighbors(order[i])) {
+                count[g.indexOf(u)]++;
+            }
+        }
+    }
+
+    @Test
+    public void testRandomWalks() throws Exception {
+        int n = 500, length = 20;
+        var g = new RandomGnpGraphGenerator(n, 0.02).createGraph();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+        for (int k = 0; k < 3; k++) {
+            var gen = new RandomWalkGenerator(g, length);
+            gen.setSeed(123);
+            gen.setWeighted(k > 0);
+            if (k == 2) {
+                gen.setNode2VecParameters(0.5, 2);
+            }
+            gen.setNumThreads(1);
+            int[] walks = gen.generate(3);
+            gen.setNumThreads(4);
+            assertArrayEquals(walks, gen.generate(3));
+            assertEquals(3 * n * length, walks.length);
+            for (int w = 0; w < 3 * n; w++) {
+                int pos = w * length;
+                assertEquals(g.vertexAt(w % n), walks[pos]);
+                for (int i = 1; i < length && walks[pos + i] >= 0; i++) {
+                    assertTrue(g.containsEdge(walks[pos + i - 1], walks[pos + i]));
+                }
+            }
+        }
+        //weight-proportional transitions
+        var star = GraphBuilder.numVertices(3).addEdges("0-1,0-2").buildGraph();
+        star.setEdgeWeight(0, 1, 1);
+        star.setEdgeWeight(0, 2, 3);
+        var gen = new RandomWalkGenerator(star, 2);
+        gen.setWeighted(true);
+        gen.setSeed(1);
+        int[] walks = gen.generate(4000);
+        int count = 0;
+        for (int w = 0; w < walks.length; w += 6) {
+            if (walks[w + 1] == 2) {
+                count++;
+            }
+        }
+        assertEquals(0.75, count / 4000.0, 0.03);
+        var out = new ByteArrayOutputStream();
+        gen.write(10, out);
+        assertEquals(30, out.toString().lines().count());
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.graph4j.Digraph;
+import org.graph4j.Graph;
+import org.graph4j.GraphBuilder;
+import org.graph4j.generators.EdgeWeightsGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class AStarTest {
+
+    public AStarTest() {
+    }
+
+    @Test
+    public void landmarksUndirected() {
+        int n = 50;
+        Graph g = new RandomGnpGraphGenerator(n, 0.1).createGraph();
+        EdgeWeightsGenerator.randomDoubles(g, 0, 10);
+        var alt = new AStarLandmarkEstimator(g, 4);
+        assertEquals(4, alt.getLandmarks().length);
+        var dijkstra = new DijkstraShortestPathHeap(g, 0);
+        for (int t = 1; t < n; t++) {
+            var astar = new AStarAlgorithm(g, 0, t, alt);
+            assertEquals(dijkstra.getPathWeight(t), astar.getPathWeight(), 1e-9);
+        }
+    }
+
+    @Test
+    public void landmarksDirected() {
+        int n = 50;
+        Digraph g = new RandomGnpGraphGenerator(n, 0.1).createDigraph();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 100);
+        var alt = new AStarLandmarkEstimator(g, new int[]{1, 2, 3});
+        for (int s = 0; s < 5; s++) {
+            var dijkstra = new DijkstraShortestPathHeap(g, s);
+            for (int t = 0; t < n; t++) {
+                var astar = new AStarAlgorithm(g, s, t, alt);
+                assertEquals(dijkstra.getPathWeight(t), astar.getPathWeight());
+            }
+        }
+    }
+
+    @Test
+    public void landmarksUndirectedBound() {
+        int n = 40;
+        Graph g = new RandomGnpGraphGenerator(n, 0.15).createGraph();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 20);
+        int landmark = 5;
+        var alt = new AStarLandmarkEstimator(g, new int[]{landmark});
+        var dijkstra = new DijkstraShortestPathHeap(g, landmark);
+        for (int v = 0; v < n; v++) {
+            for (int t = 0; t < n; t++) {
+                double dv = dijkstra.getPathWeight(v);
+                double dt = dijkstra.getPathWeight(t);
+                if (dv == Double.POSITIVE_INFINITY || dt == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                assertEquals(Math.abs(dt - dv), alt.estimate(v, t), 1e-4);
+            }
+        }
+    }
+
+    @Test
+    public void landmarksNegativeWeights() {
+        Digraph g = GraphBuilder.numVertices(4).addEdges("0-1,1-2,2-3,3-0").buildDigraph();
+        g.setEdgeWeight(0, 1, -1);
+        assertThrows(IllegalArgumentException.class,
+                () -> new AStarLandmarkEstimator(g, new int[]{0, 2}));
+    }
+
+    @Test
+    public void landmarksPersistence() throws IOException {
+        int n = 30;
+        Digraph g = new RandomGnpGraphGenerator(n, 0.2).createDigraph();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+        var alt = new AStarLandmarkEstimator(g, 3);
+        var out = new ByteArrayOutputStream();
+        alt.write(out);
+        var copy = AStarLandmarkEstimator.read(g, new ByteArrayInputStream(out.toByteArray()));
+        assertArrayEquals(alt.getLandmarks(), copy.getLandmarks());
+        for (int v = 0; v < n; v++) {
+            for (int t = 0; t < n; t++) {
+                assertEquals(alt.estimate(v, t), copy.estimate(v, t));
+            }
+        }
+    }
+
+    @Test
+    public void bidirectional() {
+        int n = 60;
+        for (boolean directed : new boolean[]{false, true}) {
+            var gen = new RandomGnpGraphGenerator(n, 0.08);
+            Graph g = directed ? gen.createDigraph() : gen.createGraph();
+            EdgeWeightsGenerator.randomDoubles(g, 0, 10);
+            var alt = new AStarLandmarkEstimator(g, 4);
+            for (int s = 0; s < 5; s++) {
+                var dijkstra = new DijkstraShortestPathHeap(g, s);
+                for (int t = 0; t < n; t++) {
+                    var astar = new BidirectionalAStar(g, s, t, alt);
+                    assertEquals(dijkstra.getPathWeight(t), astar.getPathWeight(), 1e-9);
+                    var path = astar.findPath();
+                    if (path != null) {
+                        assertEquals(s, path.get(0));
+                        assertEquals(t, path.get(path.numVertices() - 1));
+                        assertEquals(dijkstra.getPathWeight(t), path.computeEdgesWeight(), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+}
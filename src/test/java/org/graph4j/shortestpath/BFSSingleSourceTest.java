@@ -55,4 +55,25 @@ public class BFSSingleSourceTest {
         }
     }
 
+    @Test
+    public void bidirectional() {
+        int n = 40;
+        for (int i = 0; i < 10; i++) {
+            var gen = new RandomGnpGraphGenerator(n, 0.06);
+            var g = i % 2 == 0 ? gen.createDigraph() : gen.createGraph();
+            for (int v = 0; v < n; v += 7) {
+                var bfs = new BFSSingleSourceShortestPath(g, v);
+                for (int u = 0; u < n; u++) {
+                    var alg = new BidirectionalBFS(g, v, u);
+                    assertEquals(bfs.getPathWeight(u), alg.getPathWeight());
+                    Path p = alg.findPath();
+                    if (p != null) {
+                        assertTrue(p.isValid());
+                        assertEquals(v, p.get(0));
+                        assertEquals(u, p.get(p.numVertices() - 1));
+                    }
+                }
+            }
+        }
+    }
 }
@@ -25,7 +25,10 @@ import org.graph4j.shortestpath.DijkstraShortestPathDefault;
 import org.graph4j.shortestpath.FloydWarshallShortestPath;
 import org.graph4j.shortestpath.JohnsonShortestPath;
 import org.graph4j.generators.EdgeWeightsGenerator;
+import org.graph4j.generators.RandomDAGGenerator;
 import org.graph4j.generators.RandomGnpGraphGenerator;
+import java.util.Random;
+import org.graph4j.Digraph;
 
 /**
  *
@@ -74,4 +77,95 @@ public class BellmanFordTest {
         assertEquals(x, z);
         assertEquals(x, t);
     }
+
+    //negative weights, but no negative cycles
+    private Digraph createDigraph(int n, double p) {
+        var g = new RandomGnpGraphGenerator(n, p).createDigraph();
+        var random = new Random();
+        double[] potential = new double[n];
+        for (int i = 0; i < n; i++) {
+            potential[i] = random.nextInt(20);
+        }
+        for (var e : g.edges()) {
+            g.setEdgeWeight(e.source(), e.target(), random.nextInt(10) + potential[e.source()] - potential[e.target()]);
+        }
+        return g;
+    }
+
+    @Test
+    public void negativeWeights() {
+        int n = 600;
+        var g = createDigraph(n, 0.01);
+        double[] expected = new BellmanFordShortestPath(g, 0).getPathWeights();
+        var queue = new BellmanFordQueueShortestPath(g, 0);
+        var parallel = new ParallelBellmanFordShortestPath(g, 0, 4);
+        assertArrayEquals(expected, queue.getPathWeights());
+        assertArrayEquals(expected, parallel.getPathWeights());
+        for (int v = 0; v < n; v++) {
+            if (expected[v] < Double.POSITIVE_INFINITY) {
+                assertEquals(expected[v], queue.findPath(v).computeEdgesWeight());
+                assertEquals(expected[v], parallel.findPath(v).computeEdgesWeight());
+            }
+        }
+    }
+
+    @Test
+    public void negativeCycle() {
+        int n = 600;
+        var g = createDigraph(n, 0.01);
+        g.addVertex(n);
+        g.addVertex(n + 1);
+        g.addEdge(0, n, 0);
+        g.addEdge(n, n + 1, -1000);
+        g.addEdge(n + 1, n, 0);
+        var algs = new SingleSourceShortestPath[]{
+            new BellmanFordShortestPath(g, 0),
+            new BellmanFordQueueShortestPath(g, 0),
+            new ParallelBellmanFordShortestPath(g, 0, 4)};
+        for (var alg : algs) {
+            var e = assertThrows(NegativeCycleException.class, () -> alg.getPathWeights());
+            assertTrue(e.getCycle().computeEdgesWeight() < 0);
+        }
+    }
+
+    @Test
+    public void dag() {
+        int n = 100;
+        Digraph g = new RandomDAGGenerator(n, 0.1).createDAG();
+        EdgeWeightsGenerator.randomIntegers(g, -10, 10);
+        Digraph neg = g.copy();
+        for (var it = neg.edgeIterator(); it.hasNext();) {
+            var e = it.next();
+            neg.setEdgeWeight(e.source(), e.target(), -e.weight());
+        }
+        for (int s = 0; s < n; s += 10) {
+            var bf = new BellmanFordQueueShortestPath(g, s);
+            var bfNeg = new BellmanFordQueueShortestPath(neg, s);
+            var shortest = new DAGShortestPath(g, s);
+            var longest = new DAGShortestPath(g, s, true);
+            for (int t = 0; t < n; t++) {
+                assertEquals(bf.getPathWeight(t), shortest.getPathWeight(t));
+                double w = bfNeg.getPathWeight(t);
+                assertEquals(w == Double.POSITIVE_INFINITY ? w : 0 - w, longest.getPathWeight(t), 0);
+                Path p = longest.findPath(t);
+                if (p != null) {
+                    assertEquals(longest.getPathWeight(t), p.computeEdgesWeight());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parallelDag() {
+        int n = 4000;
+        Digraph g = new RandomDAGGenerator(n, 0.0005).createDAG();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+        for (boolean longest : new boolean[]{false, true}) {
+            for (int s = 0; s < n; s += 1000) {
+                var seq = new DAGShortestPath(g, s, longest);
+                var par = new ParallelDAGShortestPath(g, s, longest, 4);
+                assertArrayEquals(seq.getPathWeights(), par.getPathWeights());
+            }
+        }
+    }
 }
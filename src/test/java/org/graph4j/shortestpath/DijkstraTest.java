@@ -16,7 +16,10 @@
  */
 package org.graph4j.shortestpath;
 
+import java.util.Arrays;
+import java.util.Random;
 import org.graph4j.Digraph;
+import org.graph4j.Graph;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.graph4j.util.Path;
@@ -68,4 +71,213 @@ public class DijkstraTest {
         assertEquals(x1, x3);
     }
 
+    @Test
+    public void manyToMany() {
+        int n = 40;
+        Digraph g = new RandomGnpGraphGenerator(n, 0.1).createDigraph();
+        EdgeWeightsGenerator.randomIntegers(g, 0, n);
+        int[] sources = {0, 5, 7, 12};
+        int[] targets = {1, 5, 20, 30, 39};
+        var alg = new DijkstraManyToManyShortestPath(g, sources, targets, 2);
+        double[] weights = alg.getPathWeights();
+        assertEquals(sources.length * targets.length, weights.length);
+        for (int i = 0; i < sources.length; i++) {
+            var dijkstra = new DijkstraShortestPathHeap(g, sources[i]);
+            for (int j = 0; j < targets.length; j++) {
+                double w = dijkstra.getPathWeight(targets[j]);
+                assertEquals(w, weights[i * targets.length + j]);
+                assertEquals(w, alg.getPathWeight(sources[i], targets[j]));
+            }
+        }
+    }
+
+
+    @Test
+    public void dynamic() {
+        var random = new Random();
+        int n = 200;
+        var graphs = new Graph[]{
+            new RandomGnpGraphGenerator(n, 0.03).createDigraph(),
+            new RandomGnpGraphGenerator(n, 0.03).createGraph()};
+        for (var g : graphs) {
+            EdgeWeightsGenerator.randomIntegers(g, 1, 20);
+            var edges = g.edges();
+            var alg = new DynamicDijkstraShortestPath(g, 0);
+            alg.getPathWeights();
+            for (int round = 0; round < 30; round++) {
+                for (int k = 0; k < 10; k++) {
+                    var e = edges[random.nextInt(edges.length)];
+                    alg.setEdgeWeight(e.source(), e.target(), 1 + random.nextInt(30));
+                }
+                double[] expected = new DijkstraShortestPathHeap(g, 0).getPathWeights();
+                assertArrayEquals(expected, alg.getPathWeights());
+                for (int v = 0; v < n; v++) {
+                    if (expected[v] != Double.POSITIVE_INFINITY) {
+                        assertEquals(expected[v], alg.findPath(v).computeEdgesWeight());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shortestPathTree() {
+        int n = 60;
+        var g = new RandomGnpGraphGenerator(n, 0.05).createDigraph();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+        g.removeVertex(0); //vertex numbers and indices are different
+        int source = 1;
+        var algs = new SingleSourceShortestPath[]{
+            new DijkstraShortestPathHeap(g, source),
+            new BellmanFordShortestPath(g, source),
+            new BellmanFordQueueShortestPath(g, source)};
+        for (var alg : algs) {
+            var tree = alg.getShortestPathTree();
+            int[] offsets = new int[g.numVertices() + 1];
+            int[] flat = tree.exportPaths(offsets);
+            for (int v : g.vertices()) {
+                int vi = g.indexOf(v);
+                var path = alg.findPath(v);
+                assertEquals(alg.getPathWeight(v), tree.getPathWeight(v));
+                if (path == null || (path.isEmpty() && v != source)) {
+                    assertFalse(tree.isReachable(v));
+                    assertNull(tree.findPath(v));
+                    assertFalse(tree.pathIterator(v).hasNext());
+                    assertEquals(offsets[vi], offsets[vi + 1]);
+                    continue;
+                }
+                assertEquals(path.computeEdgesWeight(), tree.findPath(v).computeEdgesWeight());
+                assertEquals(tree.getPathLength(v) + 1, offsets[vi + 1] - offsets[vi]);
+                var it = tree.pathIterator(v);
+                for (int pos = offsets[vi + 1] - 1; pos >= offsets[vi]; pos--) {
+                    assertEquals(flat[pos], it.nextInt());
+                }
+                assertFalse(it.hasNext());
+                assertEquals(source, flat[offsets[vi]]);
+            }
+        }
+
+        var bfs = new BFSSingleSourceShortestPath(g, source);
+        var tree = bfs.getShortestPathTree();
+        for (int v : g.vertices()) {
+            double d = bfs.getPathWeight(v);
+            assertEquals(d == Double.POSITIVE_INFINITY ? -1 : (int) d, tree.getPathLength(v));
+            if (tree.isReachable(v)) {
+                assertEquals(tree.getPathLength(v), bfs.findPath(v).length());
+            }
+        }
+    }
+
+    @Test
+    public void treeSnapshot() {
+        int n = 40;
+        var g = new RandomGnpGraphGenerator(n, 0.1).createDigraph();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+        int source = 0;
+        var tree = new DijkstraShortestPathHeap(g, source).getShortestPathTree();
+        double[] weights = new double[n];
+        int[] lengths = new int[n];
+        for (int v = 0; v < n; v++) {
+            weights[v] = tree.getPathWeight(v);
+            lengths[v] = tree.getPathLength(v);
+        }
+        g.removeVertex(5); //the last vertex takes its index
+        for (int v = 0; v < n; v++) {
+            assertEquals(weights[v], tree.getPathWeight(v));
+            assertEquals(lengths[v], tree.getPathLength(v));
+        }
+    }
+
+    @Test
+    public void cache() {
+        int n = 30;
+        Graph g = new RandomGnpGraphGenerator(n, 0.2).createGraph();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+        long treeSize = 20L * n + 64;
+        for (var policy : ShortestPathCache.EvictionPolicy.values()) {
+            var cache = new ShortestPathCache(g, 3 * treeSize, policy);
+            for (int k = 0; k < 3; k++) {
+                for (int s = 0; s < 5; s++) {
+                    var dijkstra = new DijkstraShortestPathHeap(g, s);
+                    for (int t = 0; t < n; t++) {
+                        assertEquals(dijkstra.getPathWeight(t), cache.getPathWeight(s, t));
+                    }
+                }
+            }
+            assertEquals(3, cache.size());
+            assertTrue(cache.memoryUsage() <= 3 * treeSize);
+            assertTrue(cache.hitCount() > 0);
+
+            //the cache is invalidated when the graph changes
+            long count = g.modificationCount();
+            int v = g.vertexAt(0);
+            int u = g.neighbors(v)[0];
+            g.setEdgeWeight(v, u, 0);
+            assertTrue(g.modificationCount() > count);
+            assertEquals(0, cache.size());
+            assertEquals(0, cache.getPathWeight(v, u));
+            g.removeEdge(v, u);
+            assertEquals(new DijkstraShortestPathHeap(g, v).getPathWeight(u), cache.getPathWeight(v, u));
+            g.addEdge(v, u, 1);
+
+            //resetting all the weights at once
+            cache.getPathWeight(v, u);
+            g.resetEdgeData(Graph.WEIGHT, 5);
+            assertEquals(0, cache.size());
+            assertEquals(new DijkstraShortestPathHeap(g, v).getPathWeight(u), cache.getPathWeight(v, u));
+            EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+        }
+    }
+
+    @Test
+    public void multiSource() {
+        int n = 50;
+        for (boolean directed : new boolean[]{false, true}) {
+            var gen = new RandomGnpGraphGenerator(n, 0.08);
+            Graph g = directed ? gen.createDigraph() : gen.createGraph();
+            EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+            int[] sources = {0, 10, 20, 30};
+            double[] offsets = {0, 2, 0, 5};
+            var alg = new DijkstraMultiSourceShortestPath(g, sources, offsets);
+
+            //the same distances using a super-source
+            Graph h = g.copy();
+            int super0 = h.addVertex();
+            for (int k = 0; k < sources.length; k++) {
+                h.addEdge(super0, sources[k], offsets[k]);
+            }
+            var dijkstra = new DijkstraShortestPathHeap(h, super0);
+            int count = 0;
+            for (var region : alg.getVoronoiRegions()) {
+                count += region.size();
+            }
+            for (int v = 0; v < n; v++) {
+                assertEquals(dijkstra.getPathWeight(v), alg.getPathWeight(v));
+                int s = alg.getNearestSource(v);
+                if (s < 0) {
+                    assertNull(alg.findPath(v));
+                    continue;
+                }
+                count--;
+                Path p = alg.findPath(v);
+                assertEquals(s, p.get(0));
+                int k = Arrays.binarySearch(sources, s);
+                assertEquals(alg.getPathWeight(v), offsets[k] + p.computeEdgesWeight());
+                assertTrue(alg.getVoronoiRegions().get(k).contains(v));
+            }
+            assertEquals(0, count);
+        }
+    }
+
+    @Test
+    public void multiSourceThroughSource() {
+        //the source 2 is reached more cheaply from the source 0
+        var g = GraphBuilder.numVertices(3).addEdges("0-1,1-2").buildGraph();
+        var alg = new DijkstraMultiSourceShortestPath(g, new int[]{0, 2}, new double[]{0, 5});
+        assertEquals(2, alg.getPathWeight(2));
+        assertEquals(0, alg.getNearestSource(2));
+        assertEquals(1, alg.getPredecessor(2));
+        assertEquals(-1, alg.getPredecessor(0));
+        assertEquals(3, alg.findPath(2).numVertices());
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.graph4j.GraphBuilder;
+import org.graph4j.generators.EdgeWeightsGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class FloydWarshallTest {
+
+    public FloydWarshallTest() {
+    }
+
+    @Test
+    public void blocked() {
+        int n = 70;
+        var g = new RandomGnpGraphGenerator(n, 0.1).createDigraph();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 20);
+        var fw = new FloydWarshallShortestPath(g);
+        var blocked = new BlockedFloydWarshallShortestPath(g, 16, 3);
+        double[][] expected = fw.getPathWeights();
+        double[] actual = blocked.getFlatPathWeights();
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                assertEquals(expected[i][j], actual[i * n + j]);
+                var path = blocked.findPath(i, j);
+                if (expected[i][j] < Double.POSITIVE_INFINITY) {
+                    assertEquals(expected[i][j], path.computeEdgesWeight());
+                } else {
+                    assertEquals(0, path.numVertices());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void blockedNegativeCycle() {
+        var g = GraphBuilder.numVertices(4).buildDigraph();
+        g.addEdge(0, 1, 1);
+        g.addEdge(1, 2, -3);
+        g.addEdge(2, 1, 1);
+        g.addEdge(2, 3, 1);
+        var alg = new BlockedFloydWarshallShortestPath(g, 2, 2);
+        assertThrows(NegativeCycleException.class, () -> alg.getPathWeight(0, 3));
+    }
+}
@@ -16,6 +16,10 @@
  */
 package org.graph4j.shortestpath;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.graph4j.util.Path;
@@ -45,7 +49,7 @@ public class JohnsonTest {
         assertEquals(1, alg.getPathWeight(0, 2));
     }
 
-    //@Test
+    @Test
     public void cross() {
         int n = 20;
         var g = new RandomGnpGraphGenerator(n, Math.random()).createGraph();
@@ -58,12 +62,41 @@ public class JohnsonTest {
             for (int j = 0; j < n; j++) {
                 double w1 = alg1.getPathWeight(i, j);
                 double w2 = alg2.getPathWeight(i, j);
-                if (Math.abs(w1 - w2) >= eps) {
-                    System.out.println(w1 + " != " + w2);
-                }
-                assertTrue(Math.abs(w1 - w2) < eps);
+                assertEquals(w2, w1, eps); //also when both are infinite
             }
         }
 
     }
+
+    @Test
+    public void rows() throws IOException {
+        int n = 30;
+        var g = new RandomGnpGraphGenerator(n, 0.2).createDigraph();
+        EdgeWeightsGenerator.randomIntegers(g, -2, 10);
+        for (var e : g.edges()) {
+            if (e.source() > e.target()) {
+                //no negative cycles
+                g.setEdgeWeight(e.source(), e.target(), 2 * n);
+            }
+        }
+        var alg = new JohnsonShortestPath(g);
+        double[][] expected = new FloydWarshallShortestPath(g).getPathWeights();
+        double[][] actual = new double[n][];
+        alg.computeRows((source, row) -> actual[source] = row.clone(), 3);
+        for (int i = 0; i < n; i++) {
+            assertArrayEquals(expected[i], actual[i], 1e-9);
+        }
+        var file = Files.createTempFile("johnson", ".bin");
+        try {
+            alg.writeRows(file);
+            var buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.nativeOrder());
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    assertEquals(expected[i][j], buffer.getDouble(), 1e-9);
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.graph4j.Graph;
+import org.graph4j.GraphBuilder;
+import org.graph4j.generators.EdgeWeightsGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class KShortestPathsTest {
+
+    public KShortestPathsTest() {
+    }
+
+    //the weights of all the simple paths from v to t
+    private void simplePaths(Graph g, int v, int t, double weight, boolean[] onPath, List<Double> result) {
+        if (v == t) {
+            result.add(weight);
+            return;
+        }
+        onPath[v] = true;
+        for (var it = g.neighborIterator(v); it.hasNext();) {
+            int u = it.next();
+            if (!onPath[u]) {
+                simplePaths(g, u, t, weight + it.getEdgeWeight(), onPath, result);
+            }
+        }
+        onPath[v] = false;
+    }
+
+    @Test
+    public void yen() {
+        int n = 9;
+        var g = new RandomGnpGraphGenerator(n, 0.4).createDigraph();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+        List<Double> expected = new ArrayList<>();
+        simplePaths(g, 0, n - 1, 0, new boolean[n], expected);
+        Collections.sort(expected);
+        for (int numThreads : new int[]{1, 4}) {
+            var alg = new YenKShortestPaths(g, 0, n - 1, numThreads);
+            var paths = alg.nextPaths(Integer.MAX_VALUE);
+            assertEquals(expected.size(), paths.size());
+            assertEquals(paths.size(), new HashSet<>(paths).size());
+            for (int i = 0; i < paths.size(); i++) {
+                var path = paths.get(i);
+                assertTrue(path.isValid());
+                assertEquals(0, path.firstVertex());
+                assertEquals(n - 1, path.lastVertex());
+                assertEquals(expected.get(i), path.computeEdgesWeight());
+            }
+        }
+    }
+
+    @Test
+    public void yenUndirected() {
+        var g = GraphBuilder.numVertices(4).addEdges("0-1,1-3,0-2,2-3,1-2").buildGraph();
+        var paths = new YenKShortestPaths(g, 0, 3).nextPaths(10);
+        assertEquals(4, paths.size());
+        assertEquals(2, paths.get(0).length());
+        assertEquals(3, paths.get(3).length());
+    }
+
+    @Test
+    public void eppstein() {
+        int n = 30, k = 200;
+        var g = new RandomGnpGraphGenerator(n, 0.2).createDigraph();
+        EdgeWeightsGenerator.randomIntegers(g, 1, 10);
+        //the k shortest walks, by a search that reaches each vertex at most k times
+        List<Double> expected = new ArrayList<>();
+        int[] count = new int[n];
+        var pq = new PriorityQueue<double[]>((a, b) -> Double.compare(a[0], b[0]));
+        pq.add(new double[]{0, 0});
+        while (!pq.isEmpty() && expected.size() < k) {
+            double[] e = pq.poll();
+            int v = (int) e[1];
+            if (++count[v] > k) {
+                continue;
+            }
+            if (v == n - 1) {
+                expected.add(e[0]);
+            }
+            for (var it = g.neighborIterator(v); it.hasNext();) {
+                int u = it.next();
+                pq.add(new double[]{e[0] + it.getEdgeWeight(), u});
+            }
+        }
+        var walks = new EppsteinKShortestPaths(g, 0, n - 1).nextPaths(k);
+        assertEquals(expected.size(), walks.size());
+        for (int i = 0; i < walks.size(); i++) {
+            var walk = walks.get(i);
+            assertTrue(walk.isValid());
+            assertEquals(0, walk.get(0));
+            assertEquals(n - 1, walk.get(walk.numVertices() - 1));
+            assertEquals(expected.get(i), walk.computeEdgesWeight());
+        }
+        assertEquals(walks.size(), new HashSet<>(walks).size());
+    }
+
+    @Test
+    public void noPath() {
+        var g = GraphBuilder.numVertices(3).addEdges("0-1").buildDigraph();
+        assertFalse(new YenKShortestPaths(g, 0, 2).hasNext());
+        assertFalse(new EppsteinKShortestPaths(g, 0, 2).hasNext());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.graph4j.Graph;
+import org.graph4j.GraphBuilder;
+import org.graph4j.generators.GraphGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+import org.graph4j.metrics.GraphMetrics;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class MultiSourceBFSTest {
+
+    public MultiSourceBFSTest() {
+    }
+
+    private void check(Graph g, MultiSourceBFS alg) {
+        int n = g.numVertices();
+        double[][] expected = new BFSAllPairsShortestPath(g).getPathWeights();
+        var matrix = alg.distances();
+        int[] ecc = alg.eccentricities();
+        for (int i = 0; i < n; i++) {
+            double max = 0;
+            for (int j = 0; j < n; j++) {
+                int d = matrix.get(i, j);
+                assertEquals(expected[i][j], d == DistanceMatrix.INFINITY ? Double.POSITIVE_INFINITY : d);
+                max = Math.max(max, expected[i][j]);
+            }
+            assertEquals(max, ecc[i] == DistanceMatrix.INFINITY ? Double.POSITIVE_INFINITY : ecc[i]);
+        }
+    }
+
+    @Test
+    public void randomDigraph() {
+        var g = new RandomGnpGraphGenerator(150, 0.02).createDigraph();
+        check(g, new MultiSourceBFS(g, 2, 3));
+        check(g, new MultiSourceBFS(g));
+    }
+
+    @Test
+    public void randomGraph() {
+        var g = new RandomGnpGraphGenerator(100, 0.03).createGraph();
+        var alg = new MultiSourceBFS(g);
+        check(g, alg);
+        assertEquals(1, alg.distances().bytesPerEntry());
+        double[] ecc = new GraphMetrics(g).eccentricities();
+        int[] expected = alg.eccentricities();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(expected[i] == DistanceMatrix.INFINITY ? Double.POSITIVE_INFINITY : expected[i], ecc[i]);
+        }
+    }
+
+    @Test
+    public void longPath() {
+        int n = 300;
+        var g = GraphBuilder.numVertices(n).buildDigraph();
+        for (int i = 0; i < n - 1; i++) {
+            g.addEdge(i, i + 1);
+        }
+        var alg = new MultiSourceBFS(g);
+        var matrix = alg.distances(new int[]{0, 5});
+        assertEquals(2, matrix.bytesPerEntry());
+        assertEquals(n - 1, matrix.get(0, n - 1));
+        assertEquals(DistanceMatrix.INFINITY, matrix.get(1, 0));
+        check(g, alg);
+
+        var path = GraphGenerator.path(n);
+        check(path, new MultiSourceBFS(path));
+    }
+
+    @Test
+    public void metrics() {
+        var g = new RandomGnpGraphGenerator(80, 0.05).createGraph();
+        var alg = new MultiSourceBFS(g);
+        double[][] dist = new BFSAllPairsShortestPath(g).getPathWeights();
+        int n = g.numVertices();
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (dist[i][j] != Double.POSITIVE_INFINITY) {
+                    sum += dist[i][j];
+                }
+            }
+        }
+        assertEquals(sum / (n * (n - 1)), alg.averagePathLength(), 1e-9);
+        assertEquals(sum / (n * (n - 1)), new GraphMetrics(g).averagePathLength(), 1e-9);
+        double[] closeness = alg.closenessCentralities();
+        for (int i = 0; i < n; i++) {
+            double s = 0;
+            int r = 0;
+            for (int j = 0; j < n; j++) {
+                if (dist[i][j] != Double.POSITIVE_INFINITY) {
+                    s += dist[i][j];
+                    r++;
+                }
+            }
+            assertEquals(s == 0 ? 0 : (r - 1) / s, closeness[i], 1e-9);
+        }
+    }
+}
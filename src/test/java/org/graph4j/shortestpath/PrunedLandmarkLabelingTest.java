@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2024 Cristian Frăsinaru and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.graph4j.shortestpath;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.graph4j.Graph;
+import org.graph4j.generators.EdgeWeightsGenerator;
+import org.graph4j.generators.RandomGnpGraphGenerator;
+
+/**
+ *
+ * @author Cristian Frăsinaru
+ */
+public class PrunedLandmarkLabelingTest {
+
+    public PrunedLandmarkLabelingTest() {
+    }
+
+    @Test
+    public void unweighted() {
+        int n = 200;
+        Graph g = new RandomGnpGraphGenerator(n, 0.02).createGraph();
+        var bfs = new BFSAllPairsShortestPath(g);
+        for (int numThreads : new int[]{1, 4}) {
+            var pll = new PrunedLandmarkLabeling(g, numThreads);
+            for (int u = 0; u < n; u++) {
+                for (int v = 0; v < n; v++) {
+                    assertEquals(bfs.getPathWeight(u, v), pll.distance(u, v));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void weighted() throws IOException {
+        int n = 150;
+        Graph g = new RandomGnpGraphGenerator(n, 0.03).createGraph();
+        EdgeWeightsGenerator.randomIntegers(g, 0, 20);
+        var pll = new PrunedLandmarkLabeling(g, 3);
+        var out = new ByteArrayOutputStream();
+        pll.write(out);
+        var copy = PrunedLandmarkLabeling.read(g, new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(pll.numLabelEntries(), copy.numLabelEntries());
+        for (int u = 0; u < n; u++) {
+            var dijkstra = new DijkstraShortestPathHeap(g, u);
+            for (int v = 0; v < n; v++) {
+                assertEquals(dijkstra.getPathWeight(v), pll.distance(u, v));
+                assertEquals(dijkstra.getPathWeight(v), copy.distance(u, v));
+            }
+        }
+    }
+}